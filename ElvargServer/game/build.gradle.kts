@@ -1,5 +1,6 @@
 plugins {
     application
+    alias(libs.plugins.jmh)
 }
 
 application {
@@ -20,10 +21,49 @@ dependencies {
         implementation(joda)
         implementation(dynamodb.enhanced)
         implementation(netty.all)
+        implementation(fastutil)
     }
     runtimeOnly(project(":plugin"))
 }
 
+// Run with ./gradlew :game:jmh, optionally -Pjmh.includes=<regex> to pick benchmarks.
+// Benchmarks load data from ../data/, the same way the server does when it's started from game/.
+// Pass -Pjmh.results=<file> to keep the results of a run, to compare them against a later one.
+jmh {
+    jmhVersion.set(lib.versions.jmh)
+    includes.set(listOfNotNull(project.findProperty("jmh.includes")?.toString()))
+    resultFormat.set("JSON")
+    project.findProperty("jmh.results")?.let { resultsFile.set(file(it)) }
+    profilers.set(listOf("gc"))
+}
+
+// Run with ./gradlew :game:simulate -Pbots=<amount> -Pticks=<amount> -Pmix=<pvp>:<skilling>:<walking>.
+tasks.register<JavaExec>("simulate") {
+    group = "application"
+    description = "Runs the world headlessly with player bots and reports its throughput."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.elvarg.game.simulation.Simulation")
+    args = listOf("bots" to "500", "ticks" to "1000", "mix" to "1:1:1")
+        .map { (name, default) -> project.findProperty(name)?.toString() ?: default }
+}
+
+// Run with ./gradlew :game:bakeCollision whenever the maps in ../data/clipping/ change.
+tasks.register<JavaExec>("bakeCollision") {
+    group = "application"
+    description = "Bakes the collision and map objects of every region into a snapshot the server loads at startup."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.elvarg.game.collision.CollisionSnapshotBuilder")
+    maxHeapSize = "2g"
+}
+
+// Run with ./gradlew :game:packDefinitions whenever the item, npc or drop definitions in ../data/definitions/ change.
+tasks.register<JavaExec>("packDefinitions") {
+    group = "application"
+    description = "Packs the item, npc and drop definitions into binary files the server loads at startup."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.elvarg.game.definition.DefinitionPackBuilder")
+}
+
 tasks.named<Jar>("jar") {
     duplicatesStrategy = DuplicatesStrategy.EXCLUDE
 }
@@ -0,0 +1,79 @@
+package com.elvarg.game.collision;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.game.model.Location;
+
+/**
+ * Measures the collision lookups done for every step of every route, by
+ * checking random tiles and directions around Edgeville.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegionManagerBenchmark {
+
+    private static final Location CENTER = new Location(3094, 3491);
+
+    /**
+     * The amount of tiles checked by every invocation.
+     */
+    private static final int TILES = 1024;
+
+    private final Location[] tiles = new Location[TILES];
+    private final int[] directions = new int[TILES];
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        RegionManager.init();
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                RegionManager.loadMapFiles(CENTER.getX() + (x * 64), CENTER.getY() + (y * 64));
+            }
+        }
+        Random random = new Random(0);
+        for (int i = 0; i < TILES; i++) {
+            tiles[i] = CENTER.transform(random.nextInt(129) - 64, random.nextInt(129) - 64);
+            directions[i] = random.nextInt(8);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public int getClipping() {
+        int clipping = 0;
+        for (Location tile : tiles) {
+            clipping ^= RegionManager.getClipping(tile.getX(), tile.getY(), tile.getZ(), null);
+        }
+        return clipping;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TILES)
+    public int canMove() {
+        int walkable = 0;
+        for (int i = 0; i < TILES; i++) {
+            if (RegionManager.canMove(tiles[i], directions[i], null)) {
+                walkable++;
+            }
+        }
+        return walkable;
+    }
+}
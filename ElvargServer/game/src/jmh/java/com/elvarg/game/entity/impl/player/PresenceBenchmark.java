@@ -0,0 +1,121 @@
+package com.elvarg.game.entity.impl.player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.util.Misc;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Simulates every player logging in at once, for example after a restart,
+ * and compares looking up the players to notify through the
+ * {@link PresenceService} against scanning every online player's friend list
+ * the way {@code PlayerRelations.updateLists} used to.
+ * <p>
+ * Online friends are looked up in a map by long username, like the index
+ * which {@link com.elvarg.game.entity.impl.MobileList} keeps. Only the
+ * lookups are measured, the packets which would be sent are not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class PresenceBenchmark {
+
+    /**
+     * The amount of players logging in.
+     */
+    @Param({ "2000" })
+    public int logins;
+
+    /**
+     * The amount of friends every player has.
+     */
+    @Param({ "20", "200" })
+    public int friends;
+
+    private Player[] players;
+
+    /**
+     * The friend lists in the form they used to be stored in.
+     */
+    private List<List<Long>> legacyFriendLists;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(0);
+        players = new Player[logins];
+        for (int i = 0; i < logins; i++) {
+            String username = "player" + i;
+            players[i] = new Player(null);
+            players[i].setUsername(username).setLongUsername(Misc.stringToLong(username));
+        }
+        legacyFriendLists = new ArrayList<>(logins);
+        for (Player player : players) {
+            List<Long> legacy = new ArrayList<>(friends);
+            while (player.getRelations().getFriendList().size() < friends) {
+                long friend = players[random.nextInt(logins)].getLongUsername();
+                if (friend != player.getLongUsername() && player.getRelations().getFriendList().add(friend)) {
+                    legacy.add(friend);
+                }
+            }
+            legacyFriendLists.add(legacy);
+        }
+    }
+
+    @Benchmark
+    public int presenceLogins() {
+        PresenceService presence = new PresenceService();
+        Long2ObjectOpenHashMap<Player> online = new Long2ObjectOpenHashMap<>();
+        int notified = 0;
+        for (Player player : players) {
+            online.put(player.getLongUsername().longValue(), player);
+            presence.register(player);
+            notified += presence.getFollowers(player.getLongUsername()).size();
+            for (long friend : player.getRelations().getFriendList()) {
+                if (online.get(friend) != null) {
+                    notified++;
+                }
+            }
+        }
+        return notified;
+    }
+
+    @Benchmark
+    public int legacyLogins() {
+        List<Integer> online = new ArrayList<>(logins);
+        int notified = 0;
+        for (int i = 0; i < players.length; i++) {
+            online.add(i);
+            Long name = players[i].getLongUsername();
+            List<Long> friendList = legacyFriendLists.get(i);
+            for (int other : online) {
+                if (legacyFriendLists.get(other).contains(name)) {
+                    notified++;
+                }
+                if (friendList.contains(players[other].getLongUsername())) {
+                    notified++;
+                }
+            }
+        }
+        return notified;
+    }
+}
@@ -0,0 +1,148 @@
+package com.elvarg.game.entity.updating;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.game.GameBuilder;
+import com.elvarg.game.World;
+import com.elvarg.game.entity.impl.npc.NPC;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Animation;
+import com.elvarg.game.model.Location;
+import com.elvarg.net.PlayerBotSession;
+import com.elvarg.util.Misc;
+import com.elvarg.util.NpcIdentifiers;
+
+/**
+ * Measures {@link PlayerUpdating} and {@link NPCUpdating} for a synthetic
+ * crowd standing around Edgeville, the way the updating phase of
+ * {@link World#process()} runs them for every player once per tick.
+ * <p>
+ * The players use bot sessions, so the packets are built but never encoded.
+ * The crowd is updated a few times before measuring, so only steady state
+ * ticks are measured, in which a quarter of the crowd animates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdatingBenchmark {
+
+    /**
+     * The center of the crowd.
+     */
+    private static final Location CENTER = new Location(3094, 3491);
+
+    /**
+     * The maximum distance from the center the crowd stands at, in tiles.
+     */
+    private static final int SPREAD = 12;
+
+    private static final Animation ANIMATION = new Animation(866);
+
+    /**
+     * The amount of players in the crowd.
+     */
+    @Param({ "100", "500" })
+    public int players;
+
+    /**
+     * The amount of npcs in the crowd.
+     */
+    @Param({ "50" })
+    public int npcs;
+
+    private Player[] crowd;
+    private NPC[] npcCrowd;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        new GameBuilder().initialize(false);
+        Random random = new Random(0);
+        crowd = new Player[players];
+        for (int i = 0; i < players; i++) {
+            String username = "crowd" + i;
+            crowd[i] = new Player(new PlayerBotSession(), randomLocation(random));
+            crowd[i].setUsername(username).setLongUsername(Misc.stringToLong(username));
+            World.getPlayers().add(crowd[i]);
+        }
+        npcCrowd = new NPC[npcs];
+        for (int i = 0; i < npcs; i++) {
+            npcCrowd[i] = new NPC(NpcIdentifiers.MAN, randomLocation(random));
+            World.getNpcs().add(npcCrowd[i]);
+        }
+        for (int i = 0; i < 10; i++) {
+            updating();
+        }
+    }
+
+    private static Location randomLocation(Random random) {
+        return CENTER.transform(random.nextInt(SPREAD * 2 + 1) - SPREAD, random.nextInt(SPREAD * 2 + 1) - SPREAD);
+    }
+
+    @Benchmark
+    public void updating() {
+        flag();
+        for (Player player : crowd) {
+            PlayerUpdating.update(player);
+            NPCUpdating.update(player);
+        }
+        reset();
+    }
+
+    @Benchmark
+    public void playerUpdating() {
+        flag();
+        for (Player player : crowd) {
+            PlayerUpdating.update(player);
+        }
+        reset();
+    }
+
+    @Benchmark
+    public void npcUpdating() {
+        flag();
+        for (Player player : crowd) {
+            NPCUpdating.update(player);
+        }
+        reset();
+    }
+
+    /**
+     * Makes a different quarter of the crowd animate every tick.
+     */
+    private void flag() {
+        tick++;
+        for (int i = tick & 3; i < crowd.length; i += 4) {
+            crowd[i].performAnimation(ANIMATION);
+        }
+        for (int i = tick & 3; i < npcCrowd.length; i += 4) {
+            npcCrowd[i].performAnimation(ANIMATION);
+        }
+    }
+
+    private void reset() {
+        for (Player player : crowd) {
+            player.resetUpdating();
+        }
+        for (NPC npc : npcCrowd) {
+            npc.resetUpdating();
+        }
+    }
+}
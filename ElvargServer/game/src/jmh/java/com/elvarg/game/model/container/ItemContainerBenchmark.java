@@ -0,0 +1,92 @@
+package com.elvarg.game.model.container;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.game.definition.loader.impl.ItemDefinitionLoader;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Item;
+import com.elvarg.game.model.container.impl.Bank;
+import com.elvarg.game.model.container.impl.Inventory;
+import com.elvarg.util.ItemIdentifiers;
+
+/**
+ * Measures the {@link ItemContainer} operations behind inventory and bank
+ * interactions. Nothing is refreshed, so no packets are built.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemContainerBenchmark {
+
+    /**
+     * Items which don't stack, and the stackable coins.
+     */
+    private static final int[] ITEMS = { ItemIdentifiers.BRONZE_AXE, ItemIdentifiers.LOBSTER,
+            ItemIdentifiers.RUNE_SCIMITAR, ItemIdentifiers.COINS };
+
+    private Player player;
+    private Inventory inventory;
+    private Bank bank;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        new ItemDefinitionLoader().load();
+        player = new Player(null);
+        inventory = player.getInventory();
+        bank = player.getBank(0);
+    }
+
+    @Benchmark
+    public int fillInventory() {
+        inventory.resetItems();
+        for (int i = 0; i < inventory.capacity(); i++) {
+            inventory.add(new Item(ITEMS[i % ITEMS.length]), false);
+        }
+        return inventory.getFreeSlots();
+    }
+
+    @Benchmark
+    public int sortInventory() {
+        fillInventory();
+        // Empty every other slot, as when dropping items.
+        for (int slot = 0; slot < inventory.capacity(); slot += 2) {
+            inventory.setItem(slot, new Item(-1, 0));
+        }
+        inventory.sortItems();
+        return inventory.getFreeSlots();
+    }
+
+    @Benchmark
+    public int depositAndWithdraw() {
+        fillInventory();
+        bank.resetItems();
+        for (int slot = 0; slot < inventory.capacity(); slot++) {
+            Item item = inventory.getItems()[slot];
+            if (item.getId() > 0) {
+                inventory.switchItem(bank, item.clone(), slot, false, false);
+            }
+        }
+        for (int slot = 0; slot < ITEMS.length; slot++) {
+            Item item = bank.getItems()[slot];
+            if (item.getId() > 0) {
+                bank.switchItem(inventory, item.clone(), slot, true, false);
+            }
+        }
+        return bank.getFreeSlots();
+    }
+}
@@ -0,0 +1,236 @@
+package com.elvarg.game.model.movement.path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.entity.impl.Mobile;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+/**
+ * A copy of the walk route search and attackable tile lookup of
+ * {@link PathFinder} as they were before the search buffers were introduced,
+ * kept as a baseline for {@link PathFinderBenchmark}.
+ */
+final class LegacyPathFinder {
+
+    private LegacyPathFinder() {
+    }
+
+    static int calculateWalkRoute(Mobile entity, int destX, int destY) {
+        int[][] directions = new int[104][104];
+        int[][] distanceValues = new int[104][104];
+        int[] routeStepsX = new int[4096];
+        int[] routeStepsY = new int[4096];
+
+        for (int l2 = 0; l2 < 104; l2++) {
+            for (int i3 = 0; i3 < 104; i3++) {
+                directions[l2][i3] = 0;
+                distanceValues[l2][i3] = 0x5f5e0ff;
+            }
+        }
+
+        int localX = entity.getLocation().getLocalX();
+        int localY = entity.getLocation().getLocalY();
+        int baseX = localX;
+        int baseY = localY;
+        int destinationX = destX - (entity.getLocation().getRegionX() << 3);
+        int destinationY = destY - (entity.getLocation().getRegionY() << 3);
+        directions[localX][localY] = 99;
+        distanceValues[localX][localY] = 0;
+        int tail = 0;
+        int queueIndex = 0;
+        routeStepsX[tail] = localX;
+        routeStepsY[tail++] = localY;
+        boolean route = false;
+        int queueSizeX = routeStepsX.length;
+        int height = entity.getLocation().getZ();
+        PrivateArea area = entity.getPrivateArea();
+        int steps = 0;
+        while (queueIndex != tail) {
+            baseX = routeStepsX[queueIndex];
+            baseY = routeStepsY[queueIndex];
+            queueIndex = (queueIndex + 1) % queueSizeX;
+            int absoluteX = (entity.getLocation().getRegionX() << 3) + baseX;
+            int absoluteY = (entity.getLocation().getRegionY() << 3) + baseY;
+
+            if (baseX == destinationX && baseY == destinationY) {
+                route = true;
+                break;
+            }
+
+            int priceValue = distanceValues[baseX][baseY] + 1;
+
+            if (baseX > 0 && directions[baseX - 1][baseY] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & PathFinder.WEST) == 0) {
+                routeStepsX[tail] = baseX - 1;
+                routeStepsY[tail] = baseY;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX - 1][baseY] = 2;
+                distanceValues[baseX - 1][baseY] = priceValue;
+            }
+            if (baseX < 103 && directions[baseX + 1][baseY] == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & PathFinder.EAST) == 0) {
+                routeStepsX[tail] = baseX + 1;
+                routeStepsY[tail] = baseY;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX + 1][baseY] = 8;
+                distanceValues[baseX + 1][baseY] = priceValue;
+            }
+            if (baseY > 0 && directions[baseX][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & PathFinder.SOUTH) == 0) {
+                routeStepsX[tail] = baseX;
+                routeStepsY[tail] = baseY - 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX][baseY - 1] = 1;
+                distanceValues[baseX][baseY - 1] = priceValue;
+            }
+            if (baseY < 103 && directions[baseX][baseY + 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & PathFinder.NORTH) == 0) {
+                routeStepsX[tail] = baseX;
+                routeStepsY[tail] = baseY + 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX][baseY + 1] = 4;
+                distanceValues[baseX][baseY + 1] = priceValue;
+            }
+            if (baseX > 0 && baseY > 0 && directions[baseX - 1][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY - 1, height, area) & PathFinder.SOUTHWEST) == 0
+                    && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & PathFinder.WEST) == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & PathFinder.SOUTH) == 0) {
+                routeStepsX[tail] = baseX - 1;
+                routeStepsY[tail] = baseY - 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX - 1][baseY - 1] = 3;
+                distanceValues[baseX - 1][baseY - 1] = priceValue;
+            }
+            if (baseX < 103 && baseY > 0 && directions[baseX + 1][baseY - 1] == 0
+                    && (RegionManager.getClipping(absoluteX + 1, absoluteY - 1, height, area) & PathFinder.SOUTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & PathFinder.EAST) == 0
+                    && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & PathFinder.SOUTH) == 0) {
+                routeStepsX[tail] = baseX + 1;
+                routeStepsY[tail] = baseY - 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX + 1][baseY - 1] = 9;
+                distanceValues[baseX + 1][baseY - 1] = priceValue;
+            }
+            if (baseX > 0 && baseY < 103 && directions[baseX - 1][baseY + 1] == 0
+                    && (RegionManager.getClipping(absoluteX - 1, absoluteY + 1, height, area) & PathFinder.NORTHWEST) == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & PathFinder.WEST) == 0
+                    && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & PathFinder.NORTH) == 0) {
+                routeStepsX[tail] = baseX - 1;
+                routeStepsY[tail] = baseY + 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX - 1][baseY + 1] = 6;
+                distanceValues[baseX - 1][baseY + 1] = priceValue;
+            }
+            if (baseX < 103 && baseY < 103 && directions[baseX + 1][baseY + 1] == 0
+                    && (RegionManager.getClipping(absoluteX + 1, absoluteY + 1, height, area) & PathFinder.NORTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & PathFinder.EAST) == 0
+                    && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & PathFinder.NORTH) == 0) {
+                routeStepsX[tail] = baseX + 1;
+                routeStepsY[tail] = baseY + 1;
+                tail = (tail + 1) % queueSizeX;
+                directions[baseX + 1][baseY + 1] = 12;
+                distanceValues[baseX + 1][baseY + 1] = priceValue;
+            }
+        }
+
+        if (!route) {
+            int cost = 100;
+            for (int range = 1; range < 5 && !route; range++) {
+                for (int xOffset = destinationX - range; xOffset <= destinationX + range; xOffset++) {
+                    for (int yOffset = destinationY - range; yOffset <= destinationY + range; yOffset++) {
+                        if (xOffset >= 0 && yOffset >= 0 && xOffset < 104 && yOffset < 104 && distanceValues[xOffset][yOffset] < cost) {
+                            cost = distanceValues[xOffset][yOffset];
+                            baseX = xOffset;
+                            baseY = yOffset;
+                            route = true;
+                        }
+                    }
+                }
+            }
+            if (!route) {
+                return -1;
+            }
+        }
+
+        queueIndex = 0;
+        routeStepsX[queueIndex] = baseX;
+        routeStepsY[queueIndex++] = baseY;
+
+        int l5;
+        for (int dirc = l5 = directions[baseX][baseY]; baseX != localX || baseY != localY; dirc = directions[baseX][baseY]) {
+            if (dirc != l5) {
+                l5 = dirc;
+                routeStepsX[queueIndex] = baseX;
+                routeStepsY[queueIndex++] = baseY;
+            }
+            if ((dirc & 2) != 0)
+                baseX++;
+            else if ((dirc & 8) != 0)
+                baseX--;
+            if ((dirc & 1) != 0)
+                baseY++;
+            else if ((dirc & 4) != 0)
+                baseY--;
+        }
+
+        if (queueIndex > 25)
+            queueIndex = 25;
+        while (queueIndex-- > 0) {
+            int absX = entity.getLocation().getRegionX() * 8 + routeStepsX[queueIndex];
+            int absY = entity.getLocation().getRegionY() * 8 + routeStepsY[queueIndex];
+            entity.getMovementQueue().addStep(new Location(absX, absY, height));
+            steps++;
+        }
+        return steps;
+    }
+
+    static Location getClosestAttackableTile(Mobile attacker, Mobile defender, int distance) {
+        PrivateArea privateArea = attacker.getPrivateArea();
+        Location targetLocation = defender.getLocation();
+
+        if (distance == 1) {
+            final int size = attacker.size();
+            final int followingSize = defender.size();
+            final Location current = attacker.getLocation();
+
+            List<Location> tiles = new ArrayList<>();
+            List<Location> outerTiles = Arrays.stream(defender.outterTiles()).toList();
+            for (Location tile : outerTiles) {
+                if (!RegionManager.canMove(attacker.getLocation(), tile, size, size, privateArea) || RegionManager.blocked(tile, privateArea)) {
+                    continue;
+                }
+                if (attacker.useProjectileClipping() && !RegionManager.canProjectileAttack(tile, targetLocation, size, privateArea)) {
+                    continue;
+                }
+                tiles.add(tile);
+            }
+
+            if (!tiles.isEmpty()) {
+                tiles.sort((l1, l2) -> {
+                    int distance1 = l1.getDistance(current);
+                    int distance2 = l2.getDistance(current);
+                    if (distance1 == distance2 && size == 1 && followingSize == 1) {
+                        if (l1.isPerpendicularTo(current)) {
+                            return -1;
+                        } else if (l2.isPerpendicularTo(current)) {
+                            return 1;
+                        }
+                    }
+                    return distance1 - distance2;
+                });
+                return tiles.get(0);
+            }
+        }
+
+        Optional<Location> tile = Optional.empty();
+        while (tile.isEmpty()) {
+            List<Location> possibleTiles = PathFinder.getTilesForDistance(targetLocation, distance);
+            tile = possibleTiles.stream()
+                    .filter(t -> !RegionManager.blocked(t, attacker.getPrivateArea()))
+                    .filter(t -> RegionManager.canProjectileAttack(attacker, t, targetLocation))
+                    .min(Comparator.comparing(attacker.getLocation()::getDistance));
+            if (distance == 1) {
+                break;
+            }
+            distance = Math.max(distance - 1, 1);
+        }
+        return tile.orElse(null);
+    }
+}
@@ -0,0 +1,81 @@
+package com.elvarg.game.model.movement.path;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.entity.impl.npc.NPC;
+import com.elvarg.game.model.Location;
+
+/**
+ * Compares {@link PathFinder} against {@link LegacyPathFinder}. Run with the
+ * {@code gc} profiler to compare the allocation rate as well as the latency.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathFinderBenchmark {
+
+    /**
+     * The start of every route, in Edgeville.
+     */
+    private static final Location START = new Location(3094, 3491);
+
+    /**
+     * The distance on both axes between the start and the destination.
+     */
+    @Param({ "5", "20" })
+    public int distance;
+
+    private NPC walker;
+    private NPC target;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        RegionManager.init();
+        for (int x = -1; x <= 1; x++) {
+            for (int y = -1; y <= 1; y++) {
+                RegionManager.loadMapFiles(START.getX() + (x * 64), START.getY() + (y * 64));
+            }
+        }
+        walker = new NPC(0, START.clone());
+        target = new NPC(0, START.transform(distance, distance));
+    }
+
+    @Benchmark
+    public int walkRoute() {
+        walker.getMovementQueue().reset();
+        return PathFinder.calculateRoute(walker, 0, START.getX() + distance, START.getY() + distance, 0, 0, 0, 0, true);
+    }
+
+    @Benchmark
+    public int legacyWalkRoute() {
+        walker.getMovementQueue().reset();
+        return LegacyPathFinder.calculateWalkRoute(walker, START.getX() + distance, START.getY() + distance);
+    }
+
+    @Benchmark
+    public Location attackableTile() {
+        return PathFinder.getClosestAttackableTile(walker, target, 1);
+    }
+
+    @Benchmark
+    public Location legacyAttackableTile() {
+        return LegacyPathFinder.getClosestAttackableTile(walker, target, 1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.elvarg.net.codec;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.net.NetworkConstants;
+import com.elvarg.net.PlayerBotSession;
+import com.elvarg.net.packet.Packet;
+import com.elvarg.net.packet.PacketType;
+import com.elvarg.net.security.IsaacRandom;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Encodes packets with the {@link PacketEncoder} and decodes them again with
+ * the {@link PacketDecoder}, both ciphered by an {@link IsaacRandom} from the
+ * same seed, the way the client and the server pair them up.
+ * <p>
+ * The codecs run in {@link EmbeddedChannel}s, so the time includes a small,
+ * constant amount of pipeline overhead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketCodecBenchmark {
+
+    /**
+     * A packet which has a variable size on both sides, so it can be decoded
+     * after being encoded.
+     */
+    private static final int OPCODE = 12;
+
+    private static final int[] SEED = { 0x1234, 0x5678, 0x9abc, 0xdef0 };
+
+    /**
+     * The size of the payload, in bytes.
+     */
+    @Param({ "8", "200" })
+    public int size;
+
+    private ByteBuf payload;
+    private EmbeddedChannel encoder;
+    private EmbeddedChannel decoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        payload = Unpooled.buffer(size);
+        for (int i = 0; i < size; i++) {
+            payload.writeByte(i);
+        }
+        encoder = new EmbeddedChannel(new PacketEncoder(new IsaacRandom(SEED)));
+        decoder = new EmbeddedChannel(new PacketDecoder(new IsaacRandom(SEED)));
+
+        // The decoder drops everything until the session has a player.
+        PlayerBotSession session = new PlayerBotSession();
+        session.setPlayer(new Player(session));
+        decoder.attr(NetworkConstants.SESSION_KEY).set(session);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoder.finishAndReleaseAll();
+        decoder.finishAndReleaseAll();
+        payload.release();
+    }
+
+    @Benchmark
+    public int roundTrip() {
+        encoder.writeOutbound(new Packet(OPCODE, PacketType.VARIABLE, payload.retainedDuplicate()));
+        ByteBuf encoded = encoder.readOutbound();
+        decoder.writeInbound(encoded);
+        Packet decoded = decoder.readInbound();
+        int opcode = decoded.getOpcode();
+        decoded.release();
+        return opcode;
+    }
+}
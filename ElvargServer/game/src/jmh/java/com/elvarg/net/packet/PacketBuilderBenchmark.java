@@ -0,0 +1,74 @@
+package com.elvarg.net.packet;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elvarg.net.packet.PacketBuilder.AccessType;
+
+/**
+ * Measures {@link PacketBuilder#putBits(int, int)} by writing the bit block
+ * of an updating packet, the way {@code PlayerUpdating} does for every local
+ * player and every player which is added.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketBuilderBenchmark {
+
+    /**
+     * The amount of mobiles in the bit block.
+     */
+    @Param({ "20", "79" })
+    public int mobiles;
+
+    @Benchmark
+    public int movementBits() {
+        PacketBuilder builder = new PacketBuilder(81, PacketType.VARIABLE_SHORT);
+        builder.initializeAccess(AccessType.BIT);
+        builder.putBits(8, mobiles);
+        for (int i = 0; i < mobiles; i++) {
+            // A running mobile with an update block.
+            builder.putBits(1, 1);
+            builder.putBits(2, 2);
+            builder.putBits(3, i & 7);
+            builder.putBits(3, (i + 1) & 7);
+            builder.putBits(1, 1);
+        }
+        builder.initializeAccess(AccessType.BYTE);
+        int size = builder.buffer().writerIndex();
+        builder.release();
+        return size;
+    }
+
+    @Benchmark
+    public int addBits() {
+        PacketBuilder builder = new PacketBuilder(81, PacketType.VARIABLE_SHORT);
+        builder.initializeAccess(AccessType.BIT);
+        builder.putBits(8, 0);
+        for (int i = 0; i < mobiles; i++) {
+            builder.putBits(11, i + 1);
+            builder.putBit(true);
+            builder.putBit(true);
+            builder.putBits(5, i & 31);
+            builder.putBits(5, (i * 7) & 31);
+        }
+        builder.putBits(11, 2047);
+        builder.initializeAccess(AccessType.BYTE);
+        int size = builder.buffer().writerIndex();
+        builder.release();
+        return size;
+    }
+}
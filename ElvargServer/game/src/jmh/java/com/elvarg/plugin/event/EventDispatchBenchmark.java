@@ -0,0 +1,70 @@
+package com.elvarg.plugin.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kotlin.Unit;
+import kotlin.jvm.JvmClassMappingKt;
+
+/**
+ * Measures dispatching a gameplay event to synchronous listeners, and the
+ * cost of the check done for events nobody listens for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    public static final class ListenedEvent implements Event {
+    }
+
+    public static final class UnheardEvent implements Event {
+    }
+
+    @Param({ "1", "8" })
+    public int listeners;
+
+    private final ListenedEvent event = new ListenedEvent();
+
+    private int handled;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < listeners; i++) {
+            new EventListener<>(JvmClassMappingKt.getKotlinClass(ListenedEvent.class)).thenSync(e -> {
+                handled++;
+                return Unit.INSTANCE;
+            }).submit();
+        }
+    }
+
+    @Benchmark
+    public int dispatch() {
+        EventManager.INSTANCE.dispatch(event);
+        return handled;
+    }
+
+    @Benchmark
+    public boolean unheard() {
+        if (EventManager.INSTANCE.hasListeners(UnheardEvent.class)) {
+            EventManager.INSTANCE.dispatch(new UnheardEvent());
+            return true;
+        }
+        return false;
+    }
+}
@@ -1,15 +1,17 @@
 package com.elvarg.game;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.elvarg.game.collision.RegionManager;
 import com.elvarg.game.content.clan.ClanChatManager;
 import com.elvarg.game.content.minigames.MinigameHandler;
+import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.elvarg.game.definition.loader.impl.*;
 import com.elvarg.game.task.impl.CombatPoisonEffect.CombatPoisonData;
 import com.elvarg.plugin.PluginManager;
 import com.elvarg.util.BackgroundLoader;
+import com.elvarg.util.BackgroundLoader.Task;
 import com.elvarg.util.PlayerPunishment;
 
 /**
@@ -33,12 +35,21 @@ public class GameBuilder {
      * @throws Exception if any issues occur while starting the network.
      */
     public void initialize() throws Exception {
+        initialize(true);
+    }
+
+    /**
+     * Initializes this game builder, optionally without starting the game
+     * engine. A headless world, such as a {@link com.elvarg.game.simulation.Simulation},
+     * processes itself instead.
+     *
+     * @param startEngine whether the game engine should be started.
+     * @throws Exception if any issues occur while starting the network.
+     */
+    public void initialize(boolean startEngine) throws Exception {
         // Setup systems
         Systems.init();
 
-        // Start immediate tasks..
-        RegionManager.init();
-
         // Start background tasks..
         backgroundLoader.init(createBackgroundTasks());
 
@@ -47,7 +58,9 @@ public class GameBuilder {
         // Start global tasks..
 
         // Start game engine..
-        new GameEngine().init();
+        if (startEngine) {
+            new GameEngine().init();
+        }
 
         // Make sure the background tasks loaded properly..
         if (!backgroundLoader.awaitCompletion())
@@ -55,28 +68,34 @@ public class GameBuilder {
     }
 
     /**
-     * Returns a queue containing all of the background tasks that will be executed
-     * by the background loader. Please note that the loader may use multiple
-     * threads to load the utilities concurrently, so utilities that depend on each
-     * other <b>must</b> be executed in the same task to ensure thread safety.
+     * Returns a list containing all of the background tasks that will be executed
+     * by the background loader. The loader uses multiple threads to load the
+     * utilities concurrently, so a task <b>must</b> depend on every task whose
+     * results it uses. Tasks which register objects or npcs, or load regions, also
+     * depend on each other, as those collections aren't thread safe. Definitions
+     * are loaded through {@link DefinitionLoader#load()} rather than
+     * {@link DefinitionLoader#run()}, so that a failure fails the task.
      *
-     * @return the queue of background tasks.
+     * @return the list of background tasks.
      */
-    public Queue<Runnable> createBackgroundTasks() {
-        Queue<Runnable> tasks = new ArrayDeque<>();
-        tasks.add(ClanChatManager::init);
-        tasks.add(CombatPoisonData::init);
-        tasks.add(PlayerPunishment::init);
+    public List<Task> createBackgroundTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task("clans", ClanChatManager::init));
+        tasks.add(new Task("poisons", CombatPoisonData::init));
+        tasks.add(new Task("punishments", PlayerPunishment::init));
+        tasks.add(new Task("regions", RegionManager::init));
 
         // Load definitions..
-        tasks.add(new ObjectSpawnDefinitionLoader());
-        tasks.add(new ItemDefinitionLoader());
-        tasks.add(new ShopDefinitionLoader());
-        tasks.add(new NpcDefinitionLoader());
-        tasks.add(new NpcDropDefinitionLoader());
-        tasks.add(new NpcSpawnDefinitionLoader());
-        tasks.add(new GroundItemDefinitionLoader());
-        tasks.add(MinigameHandler::init);
+        tasks.add(new Task("items", new ItemDefinitionLoader()::load));
+        tasks.add(new Task("shops", new ShopDefinitionLoader()::load));
+        tasks.add(new Task("npcs", new NpcDefinitionLoader()::load));
+        tasks.add(new Task("drops", new NpcDropDefinitionLoader()::load));
+
+        // Spawn the world..
+        tasks.add(new Task("object spawns", new ObjectSpawnDefinitionLoader()::load, "regions"));
+        tasks.add(new Task("npc spawns", new NpcSpawnDefinitionLoader()::load, "regions", "npcs", "object spawns"));
+        tasks.add(new Task("ground items", new GroundItemDefinitionLoader()::load, "items"));
+        tasks.add(new Task("minigames", MinigameHandler::init, "regions", "object spawns", "npc spawns"));
     //    tasks.add(new NPCSpawnDumper());        
         return tasks;
     }
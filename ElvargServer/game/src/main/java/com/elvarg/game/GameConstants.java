@@ -42,6 +42,11 @@ public class GameConstants {
 	 */
 	public static final String CLIPPING_DIRECTORY = "../data/clipping/";
 
+	/**
+	 * The directory the tick profiler dumps its histograms to.
+	 */
+	public static final String PROFILING_DIRECTORY = "../data/profiling/";
+
 	/**
 	 * The method used to save/load players.
 	 *
@@ -49,6 +54,29 @@ public class GameConstants {
 	 */
 	public static final PlayerPersistence PLAYER_PERSISTENCE = new JSONFilePlayerPersistence(); // new DynamoDBPlayerPersistence();
 
+	/**
+	 * The amount of threads which write player saves. Every player is always
+	 * written by the same thread.
+	 */
+	public static final int PLAYER_SAVE_THREADS = 2;
+
+	/**
+	 * The amount of pending player saves at which a warning is logged, as the
+	 * writes are falling behind.
+	 */
+	public static final int PLAYER_SAVE_BACKLOG_WARNING = 500;
+
+	/**
+	 * The delay before a failed player save is retried, in milliseconds.
+	 */
+	public static final long PLAYER_SAVE_RETRY_DELAY = 5000;
+
+	/**
+	 * The maximum time the shutdown hook waits for pending player saves to be
+	 * written, in seconds.
+	 */
+	public static final long PLAYER_SAVE_SHUTDOWN_TIMEOUT = 30;
+
 	/**
 	 * The flag that determines if processing should be parallelized, improving the
 	 * performance of the server times {@code n} (where
@@ -57,11 +85,52 @@ public class GameConstants {
 	 */
 	public static final boolean CONCURRENCY = (Runtime.getRuntime().availableProcessors() > 1);
 
+	/**
+	 * The flag that determines if player logic (movement, combat, aggression and
+	 * areas) should be processed in parallel, partitioned by location. Timers and
+	 * packets are still handled on the game thread, and interactions with
+	 * entities in another partition, as well as npc aggression, areas, Bounty
+	 * Hunter and synchronous events, are deferred to the game thread until every
+	 * partition has finished.
+	 */
+	public static final boolean PARTITIONED_PLAYER_PROCESSING = false;
+
+	/**
+	 * The size of a player processing partition, as a shift of the absolute
+	 * coordinates. {@code 3} partitions by chunk (8x8 tiles), {@code 6} by
+	 * region (64x64 tiles).
+	 */
+	public static final int PLAYER_PARTITION_SHIFT = 3;
+
+	/**
+	 * The flag that determines if npcs in regions without any players nearby
+	 * should sleep instead of being processed every cycle.
+	 */
+	public static final boolean NPC_DORMANCY = true;
+
+	/**
+	 * The amount of cycles without a player nearby before a region's npcs go to
+	 * sleep.
+	 */
+	public static final int NPC_DORMANCY_DELAY = 100;
+
 	/**
 	 * The game engine cycle rate in milliseconds.
 	 */
 	public static final int GAME_ENGINE_PROCESSING_CYCLE_RATE = 600;
 
+	/**
+	 * The flag that determines if the tick profiler is enabled on startup. It
+	 * can be toggled in-game with the {@code ::profiler} command.
+	 */
+	public static final boolean TICK_PROFILING = true;
+
+	/**
+	 * The amount of game cycles between every dump of the tick profiler's
+	 * histograms, {@code 1000} being roughly ten minutes.
+	 */
+	public static final int TICK_PROFILER_DUMP_INTERVAL = 1000;
+
 	/**
 	 * The maximum amount of iterations for a queue/list that should occur each
 	 * cycle.
@@ -1,6 +1,7 @@
 package com.elvarg.game;
 
 import com.elvarg.game.content.clan.ClanChatManager;
+import com.elvarg.game.profiling.TickProfiler;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import java.util.concurrent.Executors;
@@ -30,12 +31,15 @@ public final class GameEngine implements Runnable {
 
     @Override
     public void run() {
+        long start = System.nanoTime();
         try {
             World.process();
         } catch (Throwable e) {
             e.printStackTrace();
             World.savePlayers();
             ClanChatManager.save();
+        } finally {
+            TickProfiler.endTick(System.nanoTime() - start);
         }
     }
 }
\ No newline at end of file
@@ -6,23 +6,32 @@ import com.elvarg.game.entity.impl.MobileList;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGround;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGroundManager;
 import com.elvarg.game.entity.impl.npc.NPC;
+import com.elvarg.game.entity.impl.npc.RegionActivity;
 import com.elvarg.game.entity.impl.object.GameObject;
 import com.elvarg.game.entity.impl.object.MapObjects;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.impl.player.PresenceService;
+import com.elvarg.game.entity.impl.player.persistence.PlayerSaveService;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
 import com.elvarg.game.entity.updating.NPCUpdating;
 import com.elvarg.game.entity.updating.PlayerUpdating;
 import com.elvarg.game.entity.updating.sync.GameSyncExecutor;
 import com.elvarg.game.entity.updating.sync.GameSyncTask;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.Graphic;
 import com.elvarg.game.model.GraphicHeight;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.commands.impl.Players;
+import com.elvarg.game.profiling.TickProfiler;
 import com.elvarg.game.task.TaskManager;
+import com.elvarg.net.packet.BroadcastService;
+import com.elvarg.net.packet.PacketSender;
 import com.elvarg.util.Misc;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.elvarg.game.GameConstants.PLAYER_PERSISTENCE;
 
@@ -91,18 +100,51 @@ public class World {
 	 */
 	private static GameSyncExecutor executor = new GameSyncExecutor();
 
+	/**
+	 * The executor for partitioned player processing, or {@code null} if
+	 * {@link GameConstants#PARTITIONED_PLAYER_PROCESSING} is disabled.
+	 */
+	private static RegionPartitionExecutor partitionExecutor = GameConstants.PARTITIONED_PLAYER_PROCESSING
+			? new RegionPartitionExecutor() : null;
+
+	/**
+	 * The tracker which puts npcs in regions without players to sleep.
+	 */
+	private static RegionActivity regionActivity = new RegionActivity();
+
+	/**
+	 * The service which writes player saves off the game thread.
+	 */
+	private static PlayerSaveService saveService = new PlayerSaveService(PLAYER_PERSISTENCE);
+
+	/**
+	 * The online players and the friend lists they are on.
+	 */
+	private static PresenceService presence = new PresenceService();
+
+	/**
+	 * The amount of times the world has been processed.
+	 */
+	private static long ticks;
+
 	/**
 	 * Processes the world.
 	 */
 	public static void process() {
+		long start = System.nanoTime();
+		ticks++;
+
 		// Process all active {@link Task}s..
 		TaskManager.process();
+		start = TickProfiler.phase("tasks", start);
 
 		// Process all minigames
 		MinigameHandler.process();
+		start = TickProfiler.phase("minigames", start);
 
 		// Process all ground items..
 		ItemOnGroundManager.process();
+		start = TickProfiler.phase("ground items", start);
 
 		// Add pending players..
 		for (int i = 0; i < GameConstants.QUEUED_LOOP_THRESHOLD; i++) {
@@ -113,6 +155,7 @@ public class World {
 			World.getPlayerByName(player.getUsername()).ifPresent(e -> e.requestLogout());
 			getPlayers().add(player);
 		}
+		start = TickProfiler.phase("login queue", start);
 
 		// Deregister queued players.
 		int amount = 0;
@@ -128,6 +171,7 @@ public class World {
 			}
 			amount++;
 		}
+		start = TickProfiler.phase("logout queue", start);
 
 		// Add pending Npcs..
 		for (int i = 0; i < GameConstants.QUEUED_LOOP_THRESHOLD; i++) {
@@ -144,41 +188,72 @@ public class World {
 				break;
 			getNpcs().remove(npc);
 		}
+		start = TickProfiler.phase("npc queues", start);
 
 		// Handle synchronization tasks.
-		executor.sync(new GameSyncTask(true, false) {
-			@Override
-			public void execute(int index) {
-				Player player = players.get(index);
+		if (partitionExecutor != null) {
+			executor.sync(new GameSyncTask("player incoming", true, false) {
+				@Override
+				public void execute(int index) {
+					Player player = players.get(index);
+					try {
+						player.processIncoming();
+					} catch (Exception e) {
+						e.printStackTrace();
+						player.requestLogout();
+					}
+				}
+			});
+
+			start = System.nanoTime();
+			partitionExecutor.process(players, player -> {
 				try {
-					player.process();
+					player.processLogic();
 				} catch (Exception e) {
 					e.printStackTrace();
 					player.requestLogout();
 				}
-			}
-		});
+			});
+			TickProfiler.phase("player logic", start);
+		} else {
+			executor.sync(new GameSyncTask("player logic", true, false) {
+				@Override
+				public void execute(int index) {
+					Player player = players.get(index);
+					try {
+						player.process();
+					} catch (Exception e) {
+						e.printStackTrace();
+						player.requestLogout();
+					}
+				}
+			});
+		}
 
-		executor.sync(new GameSyncTask(false, false) {
+		regionActivity.update(players);
+		executor.sync(new GameSyncTask("npc logic", false, false) {
 			@Override
 			public void execute(int index) {
 				NPC npc = npcs.get(index);
 				try {
-					npc.process();
+					regionActivity.process(npc);
 				} catch (Exception e) {
 					e.printStackTrace();
 				}
 			}
 		});
 
-		executor.sync(new GameSyncTask(true) {
+		executor.sync(new GameSyncTask("updating", true) {
 			@Override
 			public void execute(int index) {
 				Player player = players.get(index);
 				synchronized (player) {
 					try {
+						long start = System.nanoTime();
 						PlayerUpdating.update(player);
+						start = TickProfiler.accumulate("player updating", start);
 						NPCUpdating.update(player);
+						TickProfiler.accumulate("npc updating", start);
 					} catch (Exception e) {
 						e.printStackTrace();
 						player.requestLogout();
@@ -187,14 +262,13 @@ public class World {
 			}
 		});
 
-		executor.sync(new GameSyncTask(true) {
+		executor.sync(new GameSyncTask("flush", true) {
 			@Override
 			public void execute(int index) {
 				Player player = players.get(index);
 				synchronized (player) {
 					try {
 						player.resetUpdating();
-						player.setCachedUpdateBlock(null);
 						player.getSession().flush();
 					} catch (Exception e) {
 						e.printStackTrace();
@@ -204,7 +278,7 @@ public class World {
 			}
 		});
 
-		executor.sync(new GameSyncTask(false) {
+		executor.sync(new GameSyncTask("npc reset", false) {
 			@Override
 			public void execute(int index) {
 				NPC npc = npcs.get(index);
@@ -220,14 +294,27 @@ public class World {
 	}
 
 	/**
-	 * Gets a player by their username.
+	 * Gets a player by their username. This can be called from any thread.
 	 *
 	 * @param username
 	 *            The username of the player.
 	 * @return The player with the matching username.
 	 */
 	public static Optional<Player> getPlayerByName(String username) {
-		return players.search(p -> p != null && p.getUsername().equals(Misc.formatText(username)));
+		return Optional.ofNullable(players.getByUsername(Misc.formatText(username)));
+	}
+
+	/**
+	 * Gets a player by the long form of their username, the way they're kept
+	 * in friend and ignore lists. This must only be called on the game thread.
+	 *
+	 * @param username
+	 *            The long form of the username of the player, see
+	 *            {@link Misc#stringToLong(String)}.
+	 * @return The player with the matching username.
+	 */
+	public static Optional<Player> getPlayerByLongUsername(long username) {
+		return Optional.ofNullable(players.getByLongUsername(username));
 	}
 
 	/**
@@ -237,7 +324,7 @@ public class World {
 	 *            The message to broadcast.
 	 */
 	public static void sendMessage(String message) {
-		players.forEach(p -> p.getPacketSender().sendMessage(message));
+		BroadcastService.sendMessage(message, players);
 	}
 
 	/**
@@ -247,15 +334,40 @@ public class World {
 	 *            The message to broadcast.
 	 */
 	public static void sendStaffMessage(String message) {
-		players.stream().filter(p -> !Objects.isNull(p) && p.isStaff())
-				.forEach(p -> p.getPacketSender().sendMessage(message));
+		BroadcastService.sendMessage(message, players.stream().filter(p -> !Objects.isNull(p) && p.isStaff())
+				.collect(Collectors.toList()));
 	}
 
 	/**
-	 * Saves all players in the game.
+	 * Saves all players in the game. The saves are written asynchronously,
+	 * see {@link PlayerSaveService#flush(long, TimeUnit)}.
 	 */
 	public static void savePlayers() {
-		players.forEach(PLAYER_PERSISTENCE::save);
+		players.forEach(saveService::save);
+	}
+
+	public static RegionActivity getRegionActivity() {
+		return regionActivity;
+	}
+
+	public static PlayerSaveService getSaveService() {
+		return saveService;
+	}
+
+	public static PresenceService getPresence() {
+		return presence;
+	}
+
+	/**
+	 * @return the amount of times the world has been processed, see
+	 *         {@link com.elvarg.util.TickStopwatch}.
+	 */
+	public static long getTicks() {
+		return ticks;
+	}
+
+	public static GameSyncExecutor getSyncExecutor() {
+		return executor;
 	}
 
 	public static MobileList<Player> getPlayers() {
@@ -316,6 +428,9 @@ public class World {
 	 * @param position
 	 */
 	public static void sendLocalGraphics(int id, Location position, GraphicHeight graphicHeight) {
-		players.stream().filter(Objects::nonNull).filter(p -> p.getLocation().isWithinDistance(position, 32)).forEach(p -> p.getPacketSender().sendGraphic(new Graphic(id, graphicHeight), position));
+		List<Player> viewers = BroadcastService.getLocalPlayers(position, 32);
+		if (!viewers.isEmpty()) {
+			BroadcastService.send(position, PacketSender.buildGraphic(new Graphic(id, graphicHeight), position), viewers);
+		}
 	}
 }
@@ -0,0 +1,194 @@
+package com.elvarg.game.collision;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.entity.impl.object.GameObject;
+import com.elvarg.game.entity.impl.object.MapObjects;
+import com.elvarg.game.model.Location;
+
+/**
+ * The static collision of the world and the objects in its maps, baked ahead
+ * of time by the {@link CollisionSnapshotBuilder} and memory-mapped at
+ * startup. Loading a region from a snapshot copies its clipping and creates
+ * its objects, rather than decompressing and decoding its map files and
+ * working out the clipping of every object.
+ * <p>
+ * A snapshot starts with a header holding the {@link #VERSION}, the checksum
+ * of the maps and object definitions it was baked from and a table of the
+ * offset of every region. Every region then holds a mask of the heights which
+ * have clipping, the clipping of those heights and its objects.
+ */
+public final class CollisionSnapshot {
+
+    /**
+     * The file snapshots are baked to and loaded from.
+     */
+    public static final String FILE = GameConstants.CLIPPING_DIRECTORY + "collision.snapshot";
+
+    /**
+     * The version of the format, which has to change whenever the format or
+     * the way collision is baked does.
+     */
+    private static final int VERSION = 1;
+
+    private static final int MAGIC = 0x434f4c53;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int TILES = Region.SIZE * Region.SIZE;
+
+    /**
+     * The mapped snapshot.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The offset of every region in the snapshot, indexed by region id, or
+     * {@code -1} for regions which aren't in it.
+     */
+    private final int[] offsets;
+
+    private CollisionSnapshot(ByteBuffer buffer, int[] offsets) {
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Memory-maps a snapshot.
+     *
+     * @param file     the snapshot.
+     * @param checksum the checksum of the maps and object definitions which
+     *                 are in use.
+     * @return the snapshot, or {@code null} if it doesn't exist or was baked
+     *         from other maps or by another version.
+     * @throws IOException if the snapshot couldn't be read.
+     */
+    public static CollisionSnapshot open(Path file, int checksum) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != checksum) {
+            return null;
+        }
+        int[] offsets = new int[1 << 16];
+        Arrays.fill(offsets, -1);
+        int regions = buffer.getInt(12);
+        for (int i = 0; i < regions; i++) {
+            int entry = HEADER_SIZE + i * 8;
+            offsets[buffer.getInt(entry)] = buffer.getInt(entry + 4);
+        }
+        return new CollisionSnapshot(buffer, offsets);
+    }
+
+    /**
+     * Loads a region from this snapshot, copying its clipping and adding its
+     * objects to the {@link MapObjects} without adding their clipping again.
+     *
+     * @param region the region.
+     */
+    void load(Region region) {
+        int offset = offsets[region.getRegionId()];
+        if (offset == -1) {
+            return;
+        }
+        ByteBuffer buffer = this.buffer.duplicate();
+        buffer.position(offset);
+        int heights = buffer.get();
+        for (int height = 0; height < Region.HEIGHTS; height++) {
+            if ((heights & (1 << height)) == 0) {
+                continue;
+            }
+            int[] clips = new int[TILES];
+            IntBuffer ints = buffer.asIntBuffer();
+            ints.get(clips);
+            buffer.position(buffer.position() + TILES * 4);
+            region.setClips(height, clips);
+        }
+        int absX = (region.getRegionId() >> 8) * Region.SIZE;
+        int absY = (region.getRegionId() & 0xff) * Region.SIZE;
+        int objects = buffer.getInt();
+        for (int i = 0; i < objects; i++) {
+            int id = buffer.getInt();
+            int position = buffer.getShort() & 0xffff;
+            int hash = buffer.get() & 0xff;
+            Location location = new Location(absX + (position >> 6 & 0x3f), absY + (position & 0x3f), position >> 12);
+            MapObjects.add(new GameObject(id, location, hash >> 2, hash & 0x3, null), false);
+        }
+    }
+
+    /**
+     * Writes a snapshot of regions which have been loaded.
+     *
+     * @param file     the file to write the snapshot to.
+     * @param checksum the checksum of the maps and object definitions the
+     *                 regions were loaded from.
+     * @param regions  the regions.
+     * @param objects  the objects of every region, by region id.
+     * @throws IOException if the snapshot couldn't be written.
+     */
+    static void write(Path file, int checksum, List<Region> regions, Map<Integer, List<GameObject>> objects)
+            throws IOException {
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(blocks);
+        int[] offsets = new int[regions.size()];
+        int dataStart = HEADER_SIZE + regions.size() * 8;
+        for (int i = 0; i < regions.size(); i++) {
+            Region region = regions.get(i);
+            offsets[i] = dataStart + out.size();
+
+            int heights = 0;
+            for (int height = 0; height < Region.HEIGHTS; height++) {
+                if (region.getClips(height) != null) {
+                    heights |= 1 << height;
+                }
+            }
+            out.writeByte(heights);
+            for (int height = 0; height < Region.HEIGHTS; height++) {
+                int[] clips = region.getClips(height);
+                if (clips != null) {
+                    for (int clip : clips) {
+                        out.writeInt(clip);
+                    }
+                }
+            }
+
+            List<GameObject> regionObjects = objects.getOrDefault(region.getRegionId(), List.of());
+            out.writeInt(regionObjects.size());
+            for (GameObject object : regionObjects) {
+                Location location = object.getLocation();
+                out.writeInt(object.getId());
+                out.writeShort(location.getZ() << 12 | (location.getX() & 0x3f) << 6 | (location.getY() & 0x3f));
+                out.writeByte(object.getType() << 2 | object.getFace() & 0x3);
+            }
+        }
+
+        try (DataOutputStream snapshot = new DataOutputStream(Files.newOutputStream(file))) {
+            snapshot.writeInt(MAGIC);
+            snapshot.writeInt(VERSION);
+            snapshot.writeInt(checksum);
+            snapshot.writeInt(regions.size());
+            for (int i = 0; i < regions.size(); i++) {
+                snapshot.writeInt(regions.get(i).getRegionId());
+                snapshot.writeInt(offsets[i]);
+            }
+            blocks.writeTo(snapshot);
+        }
+    }
+}
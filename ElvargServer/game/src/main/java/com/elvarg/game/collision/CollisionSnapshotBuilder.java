@@ -0,0 +1,61 @@
+package com.elvarg.game.collision;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.elvarg.Server;
+import com.elvarg.game.entity.impl.object.GameObject;
+import com.elvarg.game.entity.impl.object.MapObjects;
+import com.elvarg.game.model.Location;
+
+/**
+ * Bakes a {@link CollisionSnapshot} by loading every region from its map
+ * files. Run with {@code ./gradlew :game:bakeCollision} whenever the maps or
+ * object definitions change, a snapshot which doesn't match them is ignored
+ * by the server.
+ */
+public final class CollisionSnapshotBuilder {
+
+    public static void main(String[] args) {
+        try {
+            long start = System.currentTimeMillis();
+            RegionManager.init(false);
+
+            // Every region is loaded before any is written, as the objects on
+            // the edge of a region can clip the tiles of its neighbours.
+            List<Region> regions = new ArrayList<>();
+            for (int regionId = 0; regionId < 1 << 16; regionId++) {
+                Region region = RegionManager.getRegion(regionId);
+                if (region != null) {
+                    RegionManager.loadMapFiles((regionId >> 8) * Region.SIZE, (regionId & 0xff) * Region.SIZE);
+                    regions.add(region);
+                }
+            }
+
+            Map<Integer, List<GameObject>> objects = new HashMap<>();
+            int objectCount = 0;
+            for (List<GameObject> list : MapObjects.mapObjects.values()) {
+                for (GameObject object : list) {
+                    Location location = object.getLocation();
+                    objects.computeIfAbsent(RegionManager.calculateRegionId(location.getX(), location.getY()),
+                            regionId -> new ArrayList<>()).add(object);
+                    objectCount++;
+                }
+            }
+
+            Path file = Paths.get(args.length > 0 ? args[0] : CollisionSnapshot.FILE);
+            CollisionSnapshot.write(file, RegionManager.getMapsChecksum(), regions, objects);
+            Server.getLogger().info("Baked " + regions.size() + " regions and " + objectCount + " objects into "
+                    + file + " (" + Files.size(file) / 1024 + " KB) in " + (System.currentTimeMillis() - start) + "ms.");
+            System.exit(0);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
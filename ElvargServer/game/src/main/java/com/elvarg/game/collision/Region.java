@@ -25,14 +25,26 @@ public class Region {
     private final int objectFile;
 
     /**
-     * The clipping in this region.
+     * The size of a region on both axes, in tiles.
      */
-    public int[][][] clips = new int[4][][];
+    public static final int SIZE = 64;
+
+    /**
+     * The amount of heights in a region.
+     */
+    public static final int HEIGHTS = 4;
+
+    /**
+     * The clipping in this region, by height and then by
+     * {@link #index(int, int)}. A height is only allocated once clipping is
+     * added to it.
+     */
+    private final int[][] clips = new int[HEIGHTS][];
 
     /**
      * Has this region been loaded?
      */
-    private boolean loaded;
+    private volatile boolean loaded;
 
     /**
      * Creates a new region.
@@ -68,14 +80,11 @@ public class Region {
      * @return
      */
     public int getClip(int x, int y, int height) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
-        if (height < 0 || height >= 4)
-            height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
+        int[] clip = clips[height(height)];
+        if (clip == null) {
+            return 0;
         }
-        return clips[height][x - regionAbsX][y - regionAbsY];
+        return clip[index(x, y)];
     }
 
     /**
@@ -87,14 +96,7 @@ public class Region {
      * @param shift
      */
     public void addClip(int x, int y, int height, int shift) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
-        if (height < 0 || height >= 4)
-            height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
-        }
-        clips[height][x - regionAbsX][y - regionAbsY] |= shift;
+        clipsFor(height)[index(x, y)] |= shift;
     }
 
     /**
@@ -106,14 +108,51 @@ public class Region {
      * @param shift
      */
     public void removeClip(int x, int y, int height, int shift) {
-        int regionAbsX = (regionId >> 8) * 64;
-        int regionAbsY = (regionId & 0xff) * 64;
-        if (height < 0 || height >= 4)
-            height = 0;
-        if (clips[height] == null) {
-            clips[height] = new int[64][64];
+        clipsFor(height)[index(x, y)] &= ~shift;
+    }
+
+    /**
+     * Gets the clipping of a height, allocating it if it hasn't been yet.
+     */
+    private int[] clipsFor(int height) {
+        height = height(height);
+        int[] clip = clips[height];
+        if (clip == null) {
+            clips[height] = clip = new int[SIZE * SIZE];
         }
-        clips[height][x - regionAbsX][y - regionAbsY] &= ~shift;
+        return clip;
+    }
+
+    /**
+     * Gets the clipping of a height, or {@code null} if none was added to it.
+     */
+    int[] getClips(int height) {
+        return clips[height];
+    }
+
+    /**
+     * Replaces the clipping of a height, as baked into a
+     * {@link CollisionSnapshot}.
+     */
+    void setClips(int height, int[] clip) {
+        clips[height] = clip;
+    }
+
+    /**
+     * Gets the height the clipping of an absolute height is stored at. Heights
+     * outside of the map share the clipping of the ground.
+     */
+    private static int height(int height) {
+        return height < 0 || height >= HEIGHTS ? 0 : height;
+    }
+
+    /**
+     * Gets the index of an absolute tile in the clipping of a height. Regions
+     * are aligned to their size, so the local coordinates are the low bits of
+     * the absolute ones.
+     */
+    private static int index(int x, int y) {
+        return (x & (SIZE - 1)) << 6 | (y & (SIZE - 1));
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.elvarg.game.collision;
 
+import com.elvarg.Server;
 import com.elvarg.game.GameConstants;
 import com.elvarg.game.definition.ObjectDefinition;
 import com.elvarg.game.entity.impl.Mobile;
@@ -13,10 +14,13 @@ import com.elvarg.util.FileUtil;
 
 import javax.naming.OperationNotSupportedException;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
 
 /**
  * This manager handles all regions and their related functions, such as
@@ -41,17 +45,54 @@ public class RegionManager {
     public static final int OCEAN_TILE = 2097152;
 
     /**
-     * The map with all of our regions.
+     * The highest coordinate, exclusive, on both axes which can be in a region.
      */
-    public static Map<Integer, Region> regions = new HashMap<Integer, Region>();
+    private static final int MAP_SIZE = 256 * Region.SIZE;
+
+    /**
+     * All of our regions, indexed by their id.
+     */
+    private static final Region[] regions = new Region[1 << 16];
+
+    /**
+     * The checksum of the maps the regions were constructed from, see
+     * {@link #checksum(byte[])}.
+     */
+    private static int mapsChecksum;
+
+    /**
+     * The snapshot regions are loaded from, or {@code null} if they're loaded
+     * from their map files.
+     */
+    private static CollisionSnapshot snapshot;
+
+    /**
+     * The regions currently being loaded by {@link #loadMapFiles(Region)}, so
+     * clipping added while loading doesn't load the same region again. Only
+     * accessed while holding the lock on this class.
+     */
+    private static final Set<Region> loading = new HashSet<>();
 
     /**
      * Loads the client's map_index file and constructs new regions based on the
-     * data it holds.
+     * data it holds. Regions are loaded from the {@link CollisionSnapshot} if
+     * it was baked from the same maps and object definitions.
      *
      * @throws Exception
      */
     public static void init() throws Exception {
+        init(true);
+    }
+
+    /**
+     * Loads the client's map_index file and constructs new regions based on the
+     * data it holds.
+     *
+     * @param useSnapshot whether regions should be loaded from the
+     *                    {@link CollisionSnapshot} rather than their map files.
+     * @throws Exception
+     */
+    public static void init(boolean useSnapshot) throws Exception {
         // Load object definitions..
         ObjectDefinition.init();
         // Load regions..
@@ -66,30 +107,94 @@ public class RegionManager {
             int regionId = stream.readUShort();
             int terrainFile = stream.readUShort();
             int objectFile = stream.readUShort();
-            RegionManager.regions.put(regionId, new Region(regionId, terrainFile, objectFile));
+            regions[regionId] = new Region(regionId, terrainFile, objectFile);
+        }
+        mapsChecksum = checksum(data);
+
+        snapshot = useSnapshot ? CollisionSnapshot.open(Paths.get(CollisionSnapshot.FILE), mapsChecksum) : null;
+        if (snapshot != null) {
+            Server.getLogger().info("Loading regions from the collision snapshot.");
+        } else if (useSnapshot) {
+            Server.getLogger().info("No collision snapshot for the current maps, loading regions from their map files.");
         }
     }
 
+    /**
+     * Computes the checksum of everything the collision of the regions is
+     * worked out from: the map_index, every map file it refers to and the
+     * object definitions. A snapshot baked from other maps or objects is
+     * then ignored rather than loaded with stale clipping.
+     *
+     * @param mapIndex the contents of the map_index file.
+     * @return the checksum.
+     */
+    private static int checksum(byte[] mapIndex) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(mapIndex);
+        update(crc, GameConstants.CLIPPING_DIRECTORY + "loc.dat");
+        update(crc, GameConstants.CLIPPING_DIRECTORY + "loc.idx");
+        for (Region region : regions) {
+            if (region != null) {
+                update(crc, GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getTerrainFile() + ".dat");
+                update(crc, GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getObjectFile() + ".dat");
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void update(CRC32 crc, String file) throws IOException {
+        Path path = Paths.get(file);
+        if (Files.exists(path)) {
+            crc.update(Files.readAllBytes(path));
+        } else {
+            crc.update(0);
+        }
+    }
+
+    /**
+     * Gets the checksum of the maps the regions were constructed from.
+     */
+    static int getMapsChecksum() {
+        return mapsChecksum;
+    }
+
     /**
      * Attempts to get a {@link Region} based on an id.
      *
      * @param regionId
-     * @return
+     * @return the region, or {@code null} if there is none.
      */
-    public static Optional<Region> getRegion(int regionId) {
-        return Optional.ofNullable(regions.get(regionId));
+    public static Region getRegion(int regionId) {
+        if (regionId < 0 || regionId >= regions.length) {
+            return null;
+        }
+        return regions[regionId];
     }
 
     /**
-     * Attempts to get a {@link Region} based on coordinates.
+     * Attempts to get a {@link Region} based on coordinates, loading its map
+     * files if they haven't been yet.
      *
      * @param x
      * @param y
-     * @return
+     * @return the region, or {@code null} if there is none.
+     */
+    public static Region getRegion(int x, int y) {
+        Region region = regionAt(x, y);
+        if (region != null && !region.isLoaded()) {
+            loadMapFiles(region);
+        }
+        return region;
+    }
+
+    /**
+     * Gets the {@link Region} containing coordinates, without loading it.
      */
-    public static Optional<Region> getRegion(int x, int y) {
-        loadMapFiles(x, y);
-        return getRegion(calculateRegionId(x, y));
+    private static Region regionAt(int x, int y) {
+        if (x < 0 || y < 0 || x >= MAP_SIZE || y >= MAP_SIZE) {
+            return null;
+        }
+        return regions[(x >> 6) << 8 | (y >> 6)];
     }
 
 
@@ -499,12 +604,12 @@ public class RegionManager {
      */
     public static void addClipping(int x, int y, int height, int shift, PrivateArea privateArea) {
         if (privateArea != null) {
-            privateArea.setClip(new Location(x, y, height), shift);
+            privateArea.setClip(x, y, height, shift);
             return;
         }
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            r.get().addClip(x, y, height, shift);
+        Region region = getRegion(x, y);
+        if (region != null) {
+            region.addClip(x, y, height, shift);
         }
     }
 
@@ -518,12 +623,12 @@ public class RegionManager {
      */
     public static void removeClipping(int x, int y, int height, int shift, PrivateArea privateArea) {
         if (privateArea != null) {
-            privateArea.removeClip(new Location(x, y, height));
+            privateArea.removeClip(x, y, height);
             return;
         }
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            r.get().removeClip(x, y, height, shift);
+        Region region = getRegion(x, y);
+        if (region != null) {
+            region.removeClip(x, y, height, shift);
         }
     }
 
@@ -537,15 +642,15 @@ public class RegionManager {
      */
     public static int getClipping(int x, int y, int height, PrivateArea privateArea) {
         if (privateArea != null) {
-            int privateClip = privateArea.getClip(new Location(x, y, height));
+            int privateClip = privateArea.getClip(x, y, height);
             if (privateClip != 0) {
                 return privateClip;
             }
         }
 
-        Optional<Region> r = getRegion(x, y);
-        if (r.isPresent()) {
-            return r.get().getClip(x, y, height);
+        Region region = getRegion(x, y);
+        if (region != null) {
+            return region.getClip(x, y, height);
         }
         return 0;
     }
@@ -869,24 +974,46 @@ public class RegionManager {
      * Attemps to load the map files related to this region...
      */
     public static void loadMapFiles(int x, int y) {
+        getRegion(x, y);
+    }
+
+    /**
+     * Loads the map files of a region. Synchronized so that regions can safely
+     * be loaded while players are processed in parallel. The region is only
+     * marked as loaded once its clipping has been filled, so other threads
+     * never see it half loaded.
+     *
+     * @param region the region to load.
+     */
+    private static synchronized void loadMapFiles(Region region) {
+        if (region.isLoaded() || !loading.add(region)) {
+            return;
+        }
         try {
-            int regionX = x >> 3;
-            int regionY = y >> 3;
-            int regionId = ((regionX / 8) << 8) + (regionY / 8);
-            Optional<Region> r = getRegion(regionId);
-            if (!r.isPresent()) {
-                return;
-            }
-            if (r.get().isLoaded()) {
+            decodeMapFiles(region);
+        } finally {
+            loading.remove(region);
+            region.setLoaded(true);
+        }
+    }
+
+    /**
+     * Fills the clipping of a region from the snapshot or its map files.
+     *
+     * @param region the region to decode.
+     */
+    private static void decodeMapFiles(Region region) {
+        try {
+            if (snapshot != null) {
+                snapshot.load(region);
                 return;
             }
-            r.get().setLoaded(true);
 
             // Attempt to create streams..
             byte[] oFileData = CompressionUtil.gunzip(
-                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + r.get().getObjectFile() + ".dat"));
+                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getObjectFile() + ".dat"));
             byte[] gFileData = CompressionUtil.gunzip(
-                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + r.get().getTerrainFile() + ".dat"));
+                    FileUtil.readFile(GameConstants.CLIPPING_DIRECTORY + "maps/" + region.getTerrainFile() + ".dat"));
 
             // Don't allow ground file to be invalid..
             if (gFileData == null) {
@@ -895,8 +1022,8 @@ public class RegionManager {
 
             // Read values using our streams..
             Buffer groundStream = new Buffer(gFileData);
-            int absX = (r.get().getRegionId() >> 8) * 64;
-            int absY = (r.get().getRegionId() & 0xff) * 64;
+            int absX = (region.getRegionId() >> 8) * 64;
+            int absY = (region.getRegionId() & 0xff) * 64;
             byte[][][] heightMap = new byte[4][64][64];
             for (int z = 0; z < 4; z++) {
                 for (int tileX = 0; tileX < 64; tileX++) {
@@ -241,9 +241,10 @@ public class ClanChatManager {
 			rightsPrefix = "<img=" + player.getDonatorRights().getSpriteId() + ">";
 		}
 		
+		long name = player.getLongUsername();
 		for (Player memberPlayer : clan.getMembers()) {
 			if (memberPlayer != null) {
-				if (memberPlayer.getRelations().getIgnoreList().contains(player.getLongUsername()))
+				if (memberPlayer.getRelations().getIgnoreList().contains(name))
 					continue;
 
 			memberPlayer.getPacketSender().sendSpecialMessage(player.getUsername(), 16, (clanPrefix + nameColor
@@ -633,8 +634,9 @@ public class ClanChatManager {
 			clan = player.getCurrentClanChat();
 		} else if (button >= 38752 && button <= 38951) {
 			int index = button - 38752;
-			if (index < player.getRelations().getFriendList().size()) {
-				target = Misc.formatPlayerName(Misc.longToString(player.getRelations().getFriendList().get(index)));
+			long[] friends = player.getRelations().getFriendList().toLongArray();
+			if (index < friends.length) {
+				target = Misc.formatPlayerName(Misc.longToString(friends[index]));
 				clan = getClanChat(player);
 				if (clan == null) {
 					player.getPacketSender().sendMessage("Please enable your clanchat before changing ranks.");
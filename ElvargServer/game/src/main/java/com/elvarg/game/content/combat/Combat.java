@@ -15,16 +15,23 @@ import com.elvarg.game.content.combat.ranged.RangedData.RangedWeapon;
 import com.elvarg.game.content.minigames.impl.CastleWars;
 import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.SecondsTimer;
 import com.elvarg.game.model.dialogues.entries.impl.StatementDialogue;
-import com.elvarg.util.Stopwatch;
+import com.elvarg.util.TickStopwatch;
 import com.elvarg.util.timers.TimerKey;
 
 public class Combat {
+
+    /**
+     * The amount of ticks after being attacked until the attacker is reset.
+     */
+    public static final int ATTACKER_TIMEOUT = TickStopwatch.toTicks(6000);
+
     private final Mobile character;
     private final HitQueue hitQueue;
     private final Map<Player, HitDamageCache> damageMap = new HashMap<>();
-    private final Stopwatch lastAttack = new Stopwatch();
+    private final TickStopwatch lastAttack = new TickStopwatch();
     private final SecondsTimer poisonImmunityTimer = new SecondsTimer();
     private final SecondsTimer fireImmunityTimer = new SecondsTimer();
     private final SecondsTimer teleblockTimer = new SecondsTimer();
@@ -72,7 +79,7 @@ public class Combat {
         hitQueue.process(character);
 
         // Reset attacker if we haven't been attacked in 6 seconds.
-        if (lastAttack.elapsed(6000)) {
+        if (lastAttack.elapsed(ATTACKER_TIMEOUT)) {
             setUnderAttack(null);
             return;
         }
@@ -90,6 +97,13 @@ public class Combat {
             return;
         }
 
+        if (!RegionPartitionExecutor.isLocal(target)) {
+            // The target is being processed by another partition, attack once they're done
+            boolean deferredInstant = instant;
+            RegionPartitionExecutor.submit(target, () -> performNewAttack(deferredInstant));
+            return;
+        }
+
         // Fetch the combat method the character will be attacking with
         method = CombatFactory.getMethod(character);
 
@@ -419,7 +433,7 @@ public class Combat {
         return prayerBlockTimer;
     }
 
-    public Stopwatch getLastAttack() {
+    public TickStopwatch getLastAttack() {
         return lastAttack;
     }
 }
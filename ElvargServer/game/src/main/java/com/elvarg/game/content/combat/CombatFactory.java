@@ -28,6 +28,7 @@ import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.npc.NPCMovementCoordinator.CoordinateState;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.Animation;
 import com.elvarg.game.model.EffectTimer;
 import com.elvarg.game.model.Flag;
@@ -48,6 +49,8 @@ import com.elvarg.game.task.TaskManager;
 import com.elvarg.game.task.impl.CombatPoisonEffect;
 import com.elvarg.game.task.impl.CombatPoisonEffect.CombatPoisonData;
 import com.elvarg.game.task.impl.CombatPoisonEffect.PoisonType;
+import com.elvarg.plugin.event.EventManager;
+import com.elvarg.plugin.event.impl.HitEvent;
 import com.elvarg.util.ItemIdentifiers;
 import com.elvarg.util.Misc;
 import com.elvarg.util.NpcIdentifiers;
@@ -462,7 +465,7 @@ public class CombatFactory {
 		}
 
 		// Add this hit to the target's hitQueue
-		target.getCombat().getHitQueue().addPendingHit(qHit);
+		RegionPartitionExecutor.submit(target, () -> target.getCombat().getHitQueue().addPendingHit(qHit));
 	}
 
 	/**
@@ -526,6 +529,11 @@ public class CombatFactory {
 			target.getCombat().getHitQueue().addPendingDamage(qHit.getHits());
 		}
 
+		if (EventManager.INSTANCE.hasListeners(HitEvent.class)) {
+			HitEvent event = new HitEvent(qHit);
+			RegionPartitionExecutor.submit(() -> EventManager.INSTANCE.dispatch(event));
+		}
+
 		// Make sure to let the combat method know we finished the attack
 		// Only if this isn't custom hit (handleAfterHitEffects() will be false then)
 		if (qHit.handleAfterHitEffects()) {
@@ -2,6 +2,7 @@ package com.elvarg.game.content.combat.hit;
 
 import com.elvarg.game.content.combat.CombatFactory;
 import com.elvarg.game.entity.impl.Mobile;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.Flag;
 
 import java.util.*;
@@ -42,7 +43,8 @@ public class HitQueue {
 			}
 
 			if (hit.getAndDecrementDelay() <= 0) {
-				CombatFactory.executeHit(hit);
+				// Hits also affect the attacker, so wait for their partition if it's another one
+				RegionPartitionExecutor.submit(hit.getAttacker(), () -> CombatFactory.executeHit(hit));
 				iterator.remove();
 			}
 		}
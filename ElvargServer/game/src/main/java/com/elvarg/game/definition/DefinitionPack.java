@@ -0,0 +1,224 @@
+package com.elvarg.game.definition;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+import com.elvarg.Server;
+
+/**
+ * A binary copy of a json definition file, generated ahead of time by the
+ * {@link DefinitionPackBuilder} and memory-mapped when the definitions are
+ * loaded. Reading a pack is a lot cheaper than parsing the json it was
+ * generated from, which is only parsed if its pack is missing or stale.
+ * <p>
+ * A pack starts with a header holding the {@link #VERSION}, the checksum of
+ * the json it was generated from and the amount of definitions in it, which
+ * are written one after the other by the definition classes.
+ */
+public final class DefinitionPack {
+
+    /**
+     * The version of the format, which has to change whenever the format or
+     * the fields of a definition do.
+     */
+    private static final int VERSION = 1;
+
+    private static final int MAGIC = 0x44454650;
+
+    private static final int HEADER_SIZE = 16;
+
+    private DefinitionPack() {
+    }
+
+    public static ItemDefinition[] readItems(String json) throws IOException {
+        return read(json, ItemDefinition[]::new, ItemDefinition::read);
+    }
+
+    public static NpcDefinition[] readNpcs(String json) throws IOException {
+        return read(json, NpcDefinition[]::new, NpcDefinition::read);
+    }
+
+    public static NpcDropDefinition[] readDrops(String json) throws IOException {
+        return read(json, NpcDropDefinition[]::new, NpcDropDefinition::read);
+    }
+
+    public static void writeItems(String json, ItemDefinition[] definitions) throws IOException {
+        write(json, definitions, ItemDefinition::write);
+    }
+
+    public static void writeNpcs(String json, NpcDefinition[] definitions) throws IOException {
+        write(json, definitions, NpcDefinition::write);
+    }
+
+    public static void writeDrops(String json, NpcDropDefinition[] definitions) throws IOException {
+        write(json, definitions, NpcDropDefinition::write);
+    }
+
+    /**
+     * Gets the pack of a json definition file, which sits next to it.
+     *
+     * @param json the json definition file.
+     * @return the pack.
+     */
+    public static Path file(String json) {
+        int extension = json.lastIndexOf('.');
+        return Paths.get((extension == -1 ? json : json.substring(0, extension)) + ".pack");
+    }
+
+    /**
+     * Memory-maps the pack of a json definition file and reads every
+     * definition in it.
+     *
+     * @return the definitions, or {@code null} if there is no pack, it was
+     *         generated from another version of the json or by another
+     *         version of the server, or it is corrupt.
+     */
+    private static <T> T[] read(String json, IntFunction<T[]> array, Function<ByteBuffer, T> reader)
+            throws IOException {
+        Path file = file(json);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || buffer.getInt() != checksum(json)) {
+            return null;
+        }
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            Server.getLogger().warning("Ignoring corrupt definition pack " + file + ".");
+            return null;
+        }
+        try {
+            T[] definitions = array.apply(count);
+            for (int i = 0; i < definitions.length; i++) {
+                definitions[i] = reader.apply(buffer);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalStateException(buffer.remaining() + " bytes left over");
+            }
+            return definitions;
+        } catch (RuntimeException e) {
+            Server.getLogger().warning("Ignoring corrupt definition pack " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private static <T> void write(String json, T[] definitions, Encoder<T> encoder) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file(json))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(checksum(json));
+            out.writeInt(definitions.length);
+            for (T definition : definitions) {
+                encoder.write(definition, out);
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum of a json definition file.
+     */
+    private static int checksum(String json) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(Paths.get(json)));
+        return (int) crc.getValue();
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        check(buffer, length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    static int[] readInts(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        check(buffer, (long) length * 4);
+        int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * 4);
+        return values;
+    }
+
+    /**
+     * Makes sure a length read from a pack fits in what is left of it, so a
+     * corrupt length fails the read rather than allocating a huge array.
+     */
+    static void check(ByteBuffer buffer, long length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+    }
+
+    /**
+     * Enums are written by name, so reordering their constants doesn't break
+     * a pack.
+     */
+    static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    static <E extends Enum<E>> E readEnum(ByteBuffer buffer, Class<E> type) {
+        String name = readString(buffer);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    static void writeBooleans(DataOutputStream out, boolean... values) throws IOException {
+        int flags = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i]) {
+                flags |= 1 << i;
+            }
+        }
+        out.writeInt(flags);
+    }
+
+    @FunctionalInterface
+    private interface Encoder<T> {
+        void write(T definition, DataOutputStream out) throws IOException;
+    }
+}
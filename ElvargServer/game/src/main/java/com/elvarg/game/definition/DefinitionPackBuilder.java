@@ -0,0 +1,43 @@
+package com.elvarg.game.definition;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.elvarg.Server;
+import com.elvarg.game.definition.loader.impl.ItemDefinitionLoader;
+import com.elvarg.game.definition.loader.impl.NpcDefinitionLoader;
+import com.elvarg.game.definition.loader.impl.NpcDropDefinitionLoader;
+
+/**
+ * Generates the {@link DefinitionPack}s of the item, npc and drop definitions
+ * from their json. Run with {@code ./gradlew :game:packDefinitions} whenever
+ * the json changes, a pack which doesn't match its json is ignored by the
+ * server.
+ */
+public final class DefinitionPackBuilder {
+
+    public static void main(String[] args) {
+        try {
+            ItemDefinitionLoader items = new ItemDefinitionLoader();
+            DefinitionPack.writeItems(items.file(), items.parse());
+            log(items.file());
+
+            NpcDefinitionLoader npcs = new NpcDefinitionLoader();
+            DefinitionPack.writeNpcs(npcs.file(), npcs.parse());
+            log(npcs.file());
+
+            NpcDropDefinitionLoader drops = new NpcDropDefinitionLoader();
+            DefinitionPack.writeDrops(drops.file(), drops.parse());
+            log(drops.file());
+            System.exit(0);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static void log(String json) throws Exception {
+        Path pack = DefinitionPack.file(json);
+        Server.getLogger().info("Packed " + json + " into " + pack + " (" + Files.size(pack) / 1024 + " KB).");
+    }
+}
@@ -3,8 +3,9 @@ package com.elvarg.game.definition;
 import com.elvarg.game.content.combat.WeaponInterfaces.WeaponInterface;
 import com.elvarg.game.model.EquipmentType;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static com.elvarg.util.ItemIdentifiers.*;
 
@@ -16,9 +17,9 @@ import static com.elvarg.util.ItemIdentifiers.*;
 public class ItemDefinition {
 
     /**
-     * The map containing all our {@link ItemDefinition}s.
+     * All our {@link ItemDefinition}s, indexed by item id.
      */
-    public static final Map<Integer, ItemDefinition> definitions = new HashMap<Integer, ItemDefinition>();
+    public static ItemDefinition[] definitions = new ItemDefinition[0];
 
     /**
      * The default {@link ItemDefinition} that will be used.
@@ -61,7 +62,12 @@ public class ItemDefinition {
      * @return
      */
     public static ItemDefinition forId(int item) {
-        return definitions.getOrDefault(item, DEFAULT);
+        ItemDefinition[] definitions = ItemDefinition.definitions;
+        if (item < 0 || item >= definitions.length) {
+            return DEFAULT;
+        }
+        ItemDefinition definition = definitions[item];
+        return definition == null ? DEFAULT : definition;
     }
 
     public int getId() {
@@ -189,4 +195,70 @@ public class ItemDefinition {
     public int unNote() {
         return ItemDefinition.forId(id - 1).getName().equals(name) ? id - 1 : id;
     }
+
+    /**
+     * Writes this definition to a {@link DefinitionPack}.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        DefinitionPack.writeString(out, name);
+        DefinitionPack.writeString(out, examine);
+        DefinitionPack.writeEnum(out, weaponInterface);
+        DefinitionPack.writeEnum(out, equipmentType);
+        DefinitionPack.writeBooleans(out, doubleHanded, stackable, tradeable, dropable, sellable, noted);
+        out.writeInt(value);
+        out.writeInt(bloodMoneyValue);
+        out.writeInt(highAlch);
+        out.writeInt(lowAlch);
+        out.writeInt(dropValue);
+        out.writeInt(noteId);
+        out.writeInt(blockAnim);
+        out.writeInt(standAnim);
+        out.writeInt(walkAnim);
+        out.writeInt(runAnim);
+        out.writeInt(standTurnAnim);
+        out.writeInt(turn180Anim);
+        out.writeInt(turn90CWAnim);
+        out.writeInt(turn90CCWAnim);
+        out.writeDouble(weight);
+        DefinitionPack.writeInts(out, bonuses);
+        DefinitionPack.writeInts(out, requirements);
+    }
+
+    /**
+     * Reads a definition from a {@link DefinitionPack}.
+     */
+    static ItemDefinition read(ByteBuffer buffer) {
+        ItemDefinition definition = new ItemDefinition();
+        definition.id = buffer.getInt();
+        definition.name = DefinitionPack.readString(buffer);
+        definition.examine = DefinitionPack.readString(buffer);
+        definition.weaponInterface = DefinitionPack.readEnum(buffer, WeaponInterface.class);
+        definition.equipmentType = DefinitionPack.readEnum(buffer, EquipmentType.class);
+        int flags = buffer.getInt();
+        definition.doubleHanded = (flags & 0x1) != 0;
+        definition.stackable = (flags & 0x2) != 0;
+        definition.tradeable = (flags & 0x4) != 0;
+        definition.dropable = (flags & 0x8) != 0;
+        definition.sellable = (flags & 0x10) != 0;
+        definition.noted = (flags & 0x20) != 0;
+        definition.value = buffer.getInt();
+        definition.bloodMoneyValue = buffer.getInt();
+        definition.highAlch = buffer.getInt();
+        definition.lowAlch = buffer.getInt();
+        definition.dropValue = buffer.getInt();
+        definition.noteId = buffer.getInt();
+        definition.blockAnim = buffer.getInt();
+        definition.standAnim = buffer.getInt();
+        definition.walkAnim = buffer.getInt();
+        definition.runAnim = buffer.getInt();
+        definition.standTurnAnim = buffer.getInt();
+        definition.turn180Anim = buffer.getInt();
+        definition.turn90CWAnim = buffer.getInt();
+        definition.turn90CCWAnim = buffer.getInt();
+        definition.weight = buffer.getDouble();
+        definition.bonuses = DefinitionPack.readInts(buffer);
+        definition.requirements = DefinitionPack.readInts(buffer);
+        return definition;
+    }
 }
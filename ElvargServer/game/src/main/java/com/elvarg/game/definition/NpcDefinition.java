@@ -1,7 +1,8 @@
 package com.elvarg.game.definition;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Represents an npc's definition.
@@ -13,9 +14,9 @@ import java.util.Map;
 public class NpcDefinition {
 
     /**
-     * The map containing all our {@link ItemDefinition}s.
+     * All our {@link NpcDefinition}s, indexed by npc id.
      */
-    public static final Map<Integer, NpcDefinition> definitions = new HashMap<Integer, NpcDefinition>();
+    public static NpcDefinition[] definitions = new NpcDefinition[0];
 
     /**
      * The default {@link ItemDefinition} that will be used.
@@ -58,7 +59,12 @@ public class NpcDefinition {
      * @return
      */
     public static NpcDefinition forId(int item) {
-        return definitions.getOrDefault(item, DEFAULT);
+        NpcDefinition[] definitions = NpcDefinition.definitions;
+        if (item < 0 || item >= definitions.length) {
+            return DEFAULT;
+        }
+        NpcDefinition definition = definitions[item];
+        return definition == null ? DEFAULT : definition;
     }
 
     public int getId() {
@@ -161,4 +167,58 @@ public class NpcDefinition {
     public int getCombatFollowDistance() {
         return combatFollowDistance;
     }
+
+    /**
+     * Writes this definition to a {@link DefinitionPack}.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(id);
+        DefinitionPack.writeString(out, name);
+        DefinitionPack.writeString(out, examine);
+        out.writeInt(size);
+        out.writeInt(walkRadius);
+        DefinitionPack.writeBooleans(out, attackable, retreats, aggressive, aggressiveTolerance, poisonous, fightsBack);
+        out.writeInt(respawn);
+        out.writeInt(maxHit);
+        out.writeInt(hitpoints);
+        out.writeInt(attackSpeed);
+        out.writeInt(attackAnim);
+        out.writeInt(defenceAnim);
+        out.writeInt(deathAnim);
+        out.writeInt(combatLevel);
+        DefinitionPack.writeInts(out, stats);
+        out.writeInt(slayerLevel);
+        out.writeInt(combatFollowDistance);
+    }
+
+    /**
+     * Reads a definition from a {@link DefinitionPack}.
+     */
+    static NpcDefinition read(ByteBuffer buffer) {
+        NpcDefinition definition = new NpcDefinition();
+        definition.id = buffer.getInt();
+        definition.name = DefinitionPack.readString(buffer);
+        definition.examine = DefinitionPack.readString(buffer);
+        definition.size = buffer.getInt();
+        definition.walkRadius = buffer.getInt();
+        int flags = buffer.getInt();
+        definition.attackable = (flags & 0x1) != 0;
+        definition.retreats = (flags & 0x2) != 0;
+        definition.aggressive = (flags & 0x4) != 0;
+        definition.aggressiveTolerance = (flags & 0x8) != 0;
+        definition.poisonous = (flags & 0x10) != 0;
+        definition.fightsBack = (flags & 0x20) != 0;
+        definition.respawn = buffer.getInt();
+        definition.maxHit = buffer.getInt();
+        definition.hitpoints = buffer.getInt();
+        definition.attackSpeed = buffer.getInt();
+        definition.attackAnim = buffer.getInt();
+        definition.defenceAnim = buffer.getInt();
+        definition.deathAnim = buffer.getInt();
+        definition.combatLevel = buffer.getInt();
+        definition.stats = DefinitionPack.readInts(buffer);
+        definition.slayerLevel = buffer.getInt();
+        definition.combatFollowDistance = buffer.getInt();
+        return definition;
+    }
 }
@@ -3,8 +3,9 @@ package com.elvarg.game.definition;
 import com.elvarg.game.model.Item;
 import com.elvarg.util.RandomGen;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 
 /**
@@ -15,9 +16,10 @@ import java.util.Optional;
 public class NpcDropDefinition {
 
     /**
-     * The map containing all our {@link NpcDropDefinition}s.
+     * All our {@link NpcDropDefinition}s, indexed by the ids of the npcs
+     * which share them.
      */
-    public static Map<Integer, NpcDropDefinition> definitions = new HashMap<Integer, NpcDropDefinition>();
+    public static NpcDropDefinition[] definitions = new NpcDropDefinition[0];
     /**
      * The npcs which share this {@link NpcDropDefinition}.
      */
@@ -44,7 +46,8 @@ public class NpcDropDefinition {
      * @return
      */
     public static Optional<NpcDropDefinition> get(int npcId) {
-        NpcDropDefinition drop = definitions.get(npcId);
+        NpcDropDefinition[] definitions = NpcDropDefinition.definitions;
+        NpcDropDefinition drop = npcId >= 0 && npcId < definitions.length ? definitions[npcId] : null;
         if (drop != null) {
             return Optional.of(drop);
         }
@@ -83,6 +86,63 @@ public class NpcDropDefinition {
         return specialDrops;
     }
 
+    /**
+     * Writes this definition to a {@link DefinitionPack}.
+     */
+    void write(DataOutputStream out) throws IOException {
+        DefinitionPack.writeInts(out, npcIds);
+        out.writeInt(rdtChance);
+        writeDrops(out, alwaysDrops);
+        writeDrops(out, commonDrops);
+        writeDrops(out, uncommonDrops);
+        writeDrops(out, rareDrops);
+        writeDrops(out, veryRareDrops);
+        writeDrops(out, specialDrops);
+    }
+
+    /**
+     * Reads a definition from a {@link DefinitionPack}.
+     */
+    static NpcDropDefinition read(ByteBuffer buffer) {
+        NpcDropDefinition definition = new NpcDropDefinition();
+        definition.npcIds = DefinitionPack.readInts(buffer);
+        definition.rdtChance = buffer.getInt();
+        definition.alwaysDrops = readDrops(buffer);
+        definition.commonDrops = readDrops(buffer);
+        definition.uncommonDrops = readDrops(buffer);
+        definition.rareDrops = readDrops(buffer);
+        definition.veryRareDrops = readDrops(buffer);
+        definition.specialDrops = readDrops(buffer);
+        return definition;
+    }
+
+    private static void writeDrops(DataOutputStream out, NPCDrop[] drops) throws IOException {
+        if (drops == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(drops.length);
+        for (NPCDrop drop : drops) {
+            out.writeInt(drop.itemId);
+            out.writeInt(drop.minAmount);
+            out.writeInt(drop.maxAmount);
+            out.writeInt(drop.chance);
+        }
+    }
+
+    private static NPCDrop[] readDrops(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        DefinitionPack.check(buffer, (long) length * 16);
+        NPCDrop[] drops = new NPCDrop[length];
+        for (int i = 0; i < length; i++) {
+            drops[i] = new NPCDrop(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        }
+        return drops;
+    }
+
     /**
      * Represents a drop table and the random
      * required to hit it.
@@ -24,46 +24,38 @@
  */
 package com.elvarg.game.definition.loader.impl;
 
-import com.elvarg.Server;
 import com.elvarg.game.GameConstants;
 import com.elvarg.game.definition.GroundItemsDefinition;
+import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGround;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGroundManager;
 import com.elvarg.game.model.Item;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.Optional;
-import java.util.logging.Level;
 
-public class GroundItemDefinitionLoader implements Runnable {
+public class GroundItemDefinitionLoader extends DefinitionLoader {
 
-    public void run() {
-        try {
-            String fileLocation = GameConstants.DEFINITIONS_DIRECTORY + "ground_items.json";
-            long start = System.currentTimeMillis();
-
-            FileReader reader = reader = new FileReader(fileLocation);
-            GroundItemsDefinition[] defs = new Gson().fromJson(reader, GroundItemsDefinition[].class);
-            Arrays.stream(defs).forEach(definition -> {
-                ItemOnGround groundItem = new ItemOnGround(
-                        ItemOnGround.State.SEEN_BY_EVERYONE,
-                        Optional.of("ground_items_spawns"),
-                        definition.getLocation(), new Item(definition.getId(), definition.getAmt()), true,
-                        definition.getRespawn(),
-                        null
-                );
-                ItemOnGroundManager.register(groundItem);
-            });
-            reader.close();
-
-            long elapsed = System.currentTimeMillis() - start;
-            Server.getLogger().log(Level.INFO, "Loaded definitions for: " + fileLocation + " . It took " + elapsed  + " milliseconds. " + defs.length + " Ground items Loaded.");
-        } catch (IOException e) {
-            Server.getLogger().log(Level.SEVERE, "Unable to load world spawns.");
+    @Override
+    public void load() throws Throwable {
+        FileReader reader = new FileReader(file());
+        GroundItemsDefinition[] defs = new Gson().fromJson(reader, GroundItemsDefinition[].class);
+        for (GroundItemsDefinition definition : defs) {
+            ItemOnGround groundItem = new ItemOnGround(
+                    ItemOnGround.State.SEEN_BY_EVERYONE,
+                    Optional.of("ground_items_spawns"),
+                    definition.getLocation(), new Item(definition.getId(), definition.getAmt()), true,
+                    definition.getRespawn(),
+                    null
+            );
+            ItemOnGroundManager.register(groundItem);
         }
+        reader.close();
     }
 
+    @Override
+    public String file() {
+        return GameConstants.DEFINITIONS_DIRECTORY + "ground_items.json";
+    }
 }
@@ -1,23 +1,40 @@
 package com.elvarg.game.definition.loader.impl;
 
 import com.elvarg.game.GameConstants;
+import com.elvarg.game.definition.DefinitionPack;
 import com.elvarg.game.definition.ItemDefinition;
 import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
+import java.io.IOException;
 
 public class ItemDefinitionLoader extends DefinitionLoader {
 
     @Override
     public void load() throws Throwable {
-    	ItemDefinition.definitions.clear();
-        FileReader reader = new FileReader(file());
-        ItemDefinition[] defs = new Gson().fromJson(reader, ItemDefinition[].class);
+        ItemDefinition[] defs = DefinitionPack.readItems(file());
+        if (defs == null) {
+            defs = parse();
+        }
+        int size = 0;
+        for (ItemDefinition def : defs) {
+            size = Math.max(size, def.getId() + 1);
+        }
+        ItemDefinition[] definitions = new ItemDefinition[size];
         for (ItemDefinition def : defs) {
-            ItemDefinition.definitions.put(def.getId(), def);
+            definitions[def.getId()] = def;
+        }
+        ItemDefinition.definitions = definitions;
+    }
+
+    /**
+     * Parses the definitions from {@link #file()}.
+     */
+    public ItemDefinition[] parse() throws IOException {
+        try (FileReader reader = new FileReader(file())) {
+            return new Gson().fromJson(reader, ItemDefinition[].class);
         }
-        reader.close();
     }
 
     @Override
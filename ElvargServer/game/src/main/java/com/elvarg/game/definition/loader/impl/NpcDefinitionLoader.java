@@ -1,23 +1,40 @@
 package com.elvarg.game.definition.loader.impl;
 
 import com.elvarg.game.GameConstants;
+import com.elvarg.game.definition.DefinitionPack;
 import com.elvarg.game.definition.NpcDefinition;
 import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
+import java.io.IOException;
 
 public class NpcDefinitionLoader extends DefinitionLoader {
 
     @Override
     public void load() throws Throwable {
-    	NpcDefinition.definitions.clear();
-        FileReader reader = new FileReader(file());
-        NpcDefinition[] defs = new Gson().fromJson(reader, NpcDefinition[].class);
+        NpcDefinition[] defs = DefinitionPack.readNpcs(file());
+        if (defs == null) {
+            defs = parse();
+        }
+        int size = 0;
+        for (NpcDefinition def : defs) {
+            size = Math.max(size, def.getId() + 1);
+        }
+        NpcDefinition[] definitions = new NpcDefinition[size];
         for (NpcDefinition def : defs) {
-            NpcDefinition.definitions.put(def.getId(), def);
+            definitions[def.getId()] = def;
+        }
+        NpcDefinition.definitions = definitions;
+    }
+
+    /**
+     * Parses the definitions from {@link #file()}.
+     */
+    public NpcDefinition[] parse() throws IOException {
+        try (FileReader reader = new FileReader(file())) {
+            return new Gson().fromJson(reader, NpcDefinition[].class);
         }
-        reader.close();
     }
 
     @Override
@@ -1,25 +1,44 @@
 package com.elvarg.game.definition.loader.impl;
 
 import com.elvarg.game.GameConstants;
+import com.elvarg.game.definition.DefinitionPack;
 import com.elvarg.game.definition.NpcDropDefinition;
 import com.elvarg.game.definition.loader.DefinitionLoader;
 import com.google.gson.Gson;
 
 import java.io.FileReader;
+import java.io.IOException;
 
 public class NpcDropDefinitionLoader extends DefinitionLoader {
 
     @Override
     public void load() throws Throwable {
-    	NpcDropDefinition.definitions.clear();
-        FileReader reader = new FileReader(file());
-        NpcDropDefinition[] defs = new Gson().fromJson(reader, NpcDropDefinition[].class);
+        NpcDropDefinition[] defs = DefinitionPack.readDrops(file());
+        if (defs == null) {
+            defs = parse();
+        }
+        int size = 0;
+        for (NpcDropDefinition def : defs) {
+            for (int npcId : def.getNpcIds()) {
+                size = Math.max(size, npcId + 1);
+            }
+        }
+        NpcDropDefinition[] definitions = new NpcDropDefinition[size];
         for (NpcDropDefinition def : defs) {
             for (int npcId : def.getNpcIds()) {
-                NpcDropDefinition.definitions.put(npcId, def);
+                definitions[npcId] = def;
             }
         }
-        reader.close();
+        NpcDropDefinition.definitions = definitions;
+    }
+
+    /**
+     * Parses the definitions from {@link #file()}.
+     */
+    public NpcDropDefinition[] parse() throws IOException {
+        try (FileReader reader = new FileReader(file())) {
+            return new Gson().fromJson(reader, NpcDropDefinition[].class);
+        }
     }
 
     @Override
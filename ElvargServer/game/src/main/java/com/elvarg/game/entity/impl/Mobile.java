@@ -12,6 +12,7 @@ import com.elvarg.game.entity.Entity;
 import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.entity.updating.UpdateBlockCache;
 import com.elvarg.game.model.*;
 import com.elvarg.game.model.movement.MovementQueue;
 import com.elvarg.game.task.Task;
@@ -37,6 +38,7 @@ public abstract class Mobile extends Entity {
 	private Direction walkingDirection = Direction.NONE, runningDirection = Direction.NONE;
 	private Stopwatch lastCombat = new Stopwatch();
 	private UpdateFlag updateFlag = new UpdateFlag();
+	private final UpdateBlockCache updateBlocks = new UpdateBlockCache();
 	private Location positionToFace;
 	private Animation animation;
 	private Graphic graphic;
@@ -86,6 +88,16 @@ public abstract class Mobile extends Entity {
 	 */
 	private boolean registered;
 
+	/**
+	 * The spatial grid this entity is indexed in, if it's registered.
+	 */
+	private MobileGrid<?> grid;
+
+	/**
+	 * The key of the chunk this entity is indexed under in {@link #grid}.
+	 */
+	private long gridKey = -1;
+
 	/**
 	 * Constructs this character/entity
 	 *
@@ -109,6 +121,28 @@ public abstract class Mobile extends Entity {
 
 	public abstract PendingHit manipulateHit(PendingHit hit);
 
+	@Override
+	public Entity setLocation(Location location) {
+		super.setLocation(location);
+		MobileGrid<?> grid = this.grid;
+		if (grid != null) {
+			grid.move(this);
+		}
+		return this;
+	}
+
+	void setGrid(MobileGrid<?> grid) {
+		this.grid = grid;
+	}
+
+	long getGridKey() {
+		return gridKey;
+	}
+
+	void setGridKey(long gridKey) {
+		this.gridKey = gridKey;
+	}
+
 	/**
 	 * Teleports the character to a target location
 	 *
@@ -180,6 +214,7 @@ public abstract class Mobile extends Entity {
 	 */
 	public void resetUpdating() {
 		getUpdateFlag().reset();
+		updateBlocks.clear();
 		walkingDirection = Direction.NONE;
 		runningDirection = Direction.NONE;
 		needsPlacement = false;
@@ -371,6 +406,16 @@ public abstract class Mobile extends Entity {
 		return updateFlag;
 	}
 
+	/**
+	 * Gets the update blocks of this entity which have been encoded this
+	 * cycle, shared by every observer.
+	 *
+	 * @return the update block cache.
+	 */
+	public UpdateBlockCache getUpdateBlocks() {
+		return updateBlocks;
+	}
+
 	public MovementQueue getMovementQueue() {
 		return movementQueue;
 	}
@@ -0,0 +1,189 @@
+package com.elvarg.game.entity.impl;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.elvarg.game.model.Location;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * A spatial hash grid which buckets characters by the chunk (8x8 tiles) they
+ * are standing in. The grid is kept up to date by {@link MobileList} when
+ * characters are added or removed and by {@link Mobile#setLocation(Location)}
+ * when they move, so finding the characters around a location only requires
+ * looking at the few chunks surrounding it, regardless of how many characters
+ * are in the world.
+ * <p>
+ * Characters may move concurrently during the logic phase, so the buckets are
+ * concurrent sets. Chunks are never removed once created, and are created by
+ * copying the map, so the map can be read without locking while characters
+ * move.
+ *
+ * @param <E> the type of character being indexed.
+ */
+public final class MobileGrid<E extends Mobile> {
+
+    /**
+     * Sorts characters by their index, which is the order they are processed in.
+     */
+    private static final Comparator<Mobile> BY_INDEX = Comparator.comparingInt(Mobile::getIndex);
+
+    /**
+     * The characters in every chunk, mapped by the chunk's key. The map is
+     * never modified once published, see {@link #chunk(long)}.
+     */
+    private volatile Long2ObjectOpenHashMap<Set<E>> chunks = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Adds a character to the chunk it's standing in.
+     *
+     * @param e the character to add.
+     */
+    void add(E e) {
+        synchronized (e) {
+            long key = key(e.getLocation());
+            e.setGridKey(key);
+            chunk(key).add(e);
+            e.setGrid(this);
+        }
+    }
+
+    /**
+     * Removes a character from the chunk it was last standing in.
+     *
+     * @param e the character to remove.
+     */
+    void remove(E e) {
+        synchronized (e) {
+            Set<E> chunk = chunks.get(e.getGridKey());
+            if (chunk != null) {
+                chunk.remove(e);
+            }
+            e.setGrid(null);
+        }
+    }
+
+    /**
+     * Moves a character to the chunk it's now standing in, if it changed.
+     *
+     * @param mobile the character which moved.
+     */
+    @SuppressWarnings("unchecked")
+    void move(Mobile mobile) {
+        E e = (E) mobile;
+        synchronized (e) {
+            long key = key(e.getLocation());
+            long previous = e.getGridKey();
+            if (key == previous) {
+                return;
+            }
+            Set<E> chunk = chunks.get(previous);
+            if (chunk != null) {
+                chunk.remove(e);
+            }
+            e.setGridKey(key);
+            chunk(key).add(e);
+        }
+    }
+
+    /**
+     * Fills {@code out} with every character on the same height as
+     * {@code center} and within {@code distance} tiles of it on both axes,
+     * sorted by index. Only use this where the order matters, such as when
+     * only the first few characters are taken.
+     *
+     * @param center   the location to search around.
+     * @param distance the maximum distance, in tiles.
+     * @param out      the list to fill, which is cleared first.
+     */
+    public void getLocal(Location center, int distance, List<E> out) {
+        out.clear();
+        collect(center, distance, out);
+        out.sort(BY_INDEX);
+    }
+
+    /**
+     * Adds every character on the same height as {@code center} and within
+     * {@code distance} tiles of it on both axes to {@code out}, in no
+     * particular order.
+     *
+     * @param center   the location to search around.
+     * @param distance the maximum distance, in tiles.
+     * @param out      the collection to add the characters to.
+     */
+    public void collect(Location center, int distance, Collection<? super E> out) {
+        forEach(center, distance, out::add);
+    }
+
+    /**
+     * Performs {@code action} for every character on the same height as
+     * {@code center} and within {@code distance} tiles of it on both axes, in
+     * no particular order.
+     *
+     * @param center   the location to search around.
+     * @param distance the maximum distance, in tiles.
+     * @param action   the action to perform.
+     */
+    public void forEach(Location center, int distance, Consumer<? super E> action) {
+        Long2ObjectOpenHashMap<Set<E>> chunks = this.chunks;
+        int x = center.getX();
+        int y = center.getY();
+        int z = center.getZ();
+        for (int chunkX = (x - distance) >> 3; chunkX <= (x + distance) >> 3; chunkX++) {
+            for (int chunkY = (y - distance) >> 3; chunkY <= (y + distance) >> 3; chunkY++) {
+                Set<E> chunk = chunks.get(key(chunkX, chunkY, z));
+                if (chunk == null) {
+                    continue;
+                }
+                for (E e : chunk) {
+                    Location location = e.getLocation();
+                    if (location.getZ() == z && Math.abs(location.getX() - x) <= distance
+                            && Math.abs(location.getY() - y) <= distance) {
+                        action.accept(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the characters in a chunk, creating the chunk if it doesn't exist.
+     * Chunks are created on a copy of the map which then replaces it, as it
+     * may be read concurrently. Every chunk is only created once, so this is
+     * rare.
+     */
+    private Set<E> chunk(long key) {
+        Set<E> chunk = chunks.get(key);
+        if (chunk != null) {
+            return chunk;
+        }
+        synchronized (this) {
+            chunk = chunks.get(key);
+            if (chunk == null) {
+                Long2ObjectOpenHashMap<Set<E>> copy = new Long2ObjectOpenHashMap<>(chunks);
+                copy.put(key, chunk = ConcurrentHashMap.newKeySet());
+                chunks = copy;
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * Gets the key of the chunk a location is in.
+     */
+    private static long key(Location location) {
+        return key(location.getX() >> 3, location.getY() >> 3, location.getZ());
+    }
+
+    /**
+     * Gets the key of a chunk.
+     */
+    private static long key(int chunkX, int chunkY, int z) {
+        return ((long) z << 48) | ((long) (chunkX & 0xFFFFFF) << 24) | (chunkY & 0xFFFFFF);
+    }
+}
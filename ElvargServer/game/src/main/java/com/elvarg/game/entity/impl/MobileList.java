@@ -1,11 +1,16 @@
 package com.elvarg.game.entity.impl;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.elvarg.game.entity.impl.player.Player;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
 /**
  * A collection that provides functionality for storing and managing characters.
  * This list does not support the storage of elements with a value of
@@ -38,6 +43,20 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 	 * The size of this collection.
 	 */
 	private int size;
+	/**
+	 * The spatial grid which indexes the elements by location.
+	 */
+	private final MobileGrid<E> grid = new MobileGrid<>();
+	/**
+	 * The players within this collection, mapped by username. This is
+	 * concurrent, since logins are evaluated off the game thread.
+	 */
+	private final Map<String, E> usernames = new ConcurrentHashMap<>();
+	/**
+	 * The players within this collection, mapped by the long form of their
+	 * username. This is only accessed on the game thread.
+	 */
+	private final Long2ObjectOpenHashMap<E> longUsernames = new Long2ObjectOpenHashMap<>();
 
 	/**
 	 * Creates a new {@link MobileList}.
@@ -75,6 +94,8 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 			e.setRegistered(true);
 			e.setIndex(slot);
 			characters[slot] = e;
+			grid.add(e);
+			index(e);
 			e.onAdd();
 			size++;
 			return true;
@@ -98,6 +119,8 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 		if (e.isRegistered() && characters[e.getIndex()] != null) {
 			e.setRegistered(false);
 			characters[e.getIndex()] = null;
+			grid.remove(e);
+			unindex(e);
 			slotQueue.add(e.getIndex());
 			e.onRemove();
 			size--;
@@ -107,6 +130,68 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 		return false;
 	}
 
+	/**
+	 * Indexes an element by username if it's a player. A player who logs in
+	 * while a copy of them is still logging out replaces the copy in the
+	 * index.
+	 *
+	 * @param e
+	 *            the element which was added.
+	 */
+	private void index(E e) {
+		if (!e.isPlayer()) {
+			return;
+		}
+		Player player = e.getAsPlayer();
+		usernames.put(player.getUsername(), e);
+		if (player.getLongUsername() != null) {
+			longUsernames.put(player.getLongUsername().longValue(), e);
+		}
+	}
+
+	/**
+	 * Removes an element from the username index if it's a player, unless it
+	 * has already been replaced by another player.
+	 *
+	 * @param e
+	 *            the element which was removed.
+	 */
+	private void unindex(E e) {
+		if (!e.isPlayer()) {
+			return;
+		}
+		Player player = e.getAsPlayer();
+		usernames.remove(player.getUsername(), e);
+		if (player.getLongUsername() != null) {
+			longUsernames.remove(player.getLongUsername().longValue(), e);
+		}
+	}
+
+	/**
+	 * Gets the player in this collection with the given username. This can be
+	 * called from any thread.
+	 *
+	 * @param username
+	 *            the username, exactly as the player has it.
+	 * @return the player, or {@code null} if there is none.
+	 */
+	public E getByUsername(String username) {
+		return usernames.get(username);
+	}
+
+	/**
+	 * Gets the player in this collection with the given username. This must
+	 * only be called on the game thread.
+	 *
+	 * @param username
+	 *            the long form of the username, see
+	 *            {@link com.elvarg.util.Misc#stringToLong(String)}.
+	 * @return the player, or {@code null} if there is none.
+	 */
+	public E getByLongUsername(long username) {
+		return longUsernames.get(username);
+	}
+
 	/**
 	 * Determines if this collection contains the specified element.
 	 *
@@ -185,6 +270,16 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 		return characters[slot];
 	}
 
+	/**
+	 * Gets the spatial grid which indexes the elements in this collection by
+	 * location.
+	 *
+	 * @return the spatial grid.
+	 */
+	public MobileGrid<E> getGrid() {
+		return grid;
+	}
+
 	/**
 	 * Determines the amount of elements stored in this collection.
 	 *
@@ -238,6 +333,8 @@ public final class MobileList<E extends Mobile> implements Iterable<E> {
 	public void clear() {
 		forEach(this::remove);
 		characters = (E[]) new Mobile[capacity];
+		usernames.clear();
+		longUsernames.clear();
 		size = 0;
 	}
 
@@ -0,0 +1,167 @@
+package com.elvarg.game.entity.impl.grounditem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.elvarg.game.entity.impl.grounditem.ItemOnGround.State;
+import com.elvarg.game.model.Location;
+
+/**
+ * An index of the registered {@link ItemOnGround}s, so that finding the items
+ * around a location doesn't require looking at every item in the world.
+ * <p>
+ * Items which are seen by everyone are bucketed by the region (64x64 tiles)
+ * and height they are on. Items which are only seen by their owner are
+ * bucketed by owner instead, as nobody else can ever see or merge with them.
+ * Private items without an owner can't be seen by anyone, but are bucketed by
+ * region as well so that they're found once they go global. Items have to be
+ * moved whenever their state changes, see {@link ItemOnGround#setState(State)}.
+ */
+public final class GroundItemIndex {
+
+    /**
+     * The size of a region, as a shift of the absolute coordinates.
+     */
+    private static final int REGION_SHIFT = 6;
+
+    /**
+     * The global items in every region, mapped by the region's key.
+     */
+    private final Map<Long, List<ItemOnGround>> regions = new HashMap<>();
+
+    /**
+     * The private items of every owner, mapped by the owner's username.
+     */
+    private final Map<String, List<ItemOnGround>> owners = new HashMap<>();
+
+    /**
+     * Adds an item to the bucket matching its current state.
+     *
+     * @param item the item to add.
+     */
+    void add(ItemOnGround item) {
+        List<ItemOnGround> bucket = bucket(item, true);
+        if (bucket != null) {
+            bucket.add(item);
+        }
+    }
+
+    /**
+     * Removes an item from the bucket matching its current state.
+     *
+     * @param item the item to remove.
+     * @return {@code true} if the item was indexed.
+     */
+    boolean remove(ItemOnGround item) {
+        List<ItemOnGround> bucket = bucket(item, false);
+        if (bucket == null) {
+            return false;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == item) {
+                bucket.remove(i);
+                if (bucket.isEmpty()) {
+                    if (isRegional(item)) {
+                        regions.remove(key(item.getLocation()));
+                    } else {
+                        owners.remove(item.getOwner().get());
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the global items in the region containing {@code location}, on the
+     * same height. The returned list must not be modified.
+     *
+     * @param location the location.
+     * @return the global items in the region.
+     */
+    public List<ItemOnGround> getGlobal(Location location) {
+        return getGlobal(location.getX() >> REGION_SHIFT, location.getY() >> REGION_SHIFT, location.getZ());
+    }
+
+    /**
+     * Gets the private items of {@code owner}, anywhere in the world. The
+     * returned list must not be modified.
+     *
+     * @param owner the username of the owner.
+     * @return the private items of the owner.
+     */
+    public List<ItemOnGround> getOwned(String owner) {
+        return owners.getOrDefault(owner, Collections.emptyList());
+    }
+
+    /**
+     * Adds every global item within {@code distance} tiles of {@code center}
+     * on the same height, and every private item of {@code owner}, to
+     * {@code out}. The items added aren't filtered any further.
+     *
+     * @param center   the location to search around.
+     * @param distance the distance to search, in tiles.
+     * @param owner    the username of the owner, or {@code null}.
+     * @param out      the list to add the items to.
+     */
+    public void collect(Location center, int distance, String owner, List<ItemOnGround> out) {
+        int z = center.getZ();
+        for (int regionX = (center.getX() - distance) >> REGION_SHIFT; regionX <= (center.getX() + distance) >> REGION_SHIFT; regionX++) {
+            for (int regionY = (center.getY() - distance) >> REGION_SHIFT; regionY <= (center.getY() + distance) >> REGION_SHIFT; regionY++) {
+                out.addAll(getGlobal(regionX, regionY, z));
+            }
+        }
+        if (owner != null) {
+            out.addAll(getOwned(owner));
+        }
+    }
+
+    /**
+     * Gets the global items in a region.
+     */
+    private List<ItemOnGround> getGlobal(int regionX, int regionY, int z) {
+        return regions.getOrDefault(key(regionX, regionY, z), Collections.emptyList());
+    }
+
+    /**
+     * Gets the bucket an item belongs in, according to its current state.
+     *
+     * @param item   the item.
+     * @param create whether the bucket should be created if it doesn't exist.
+     * @return the bucket, or {@code null} if it doesn't exist.
+     */
+    private List<ItemOnGround> bucket(ItemOnGround item, boolean create) {
+        if (isRegional(item)) {
+            long key = key(item.getLocation());
+            return create ? regions.computeIfAbsent(key, k -> new ArrayList<>()) : regions.get(key);
+        }
+        String owner = item.getOwner().get();
+        return create ? owners.computeIfAbsent(owner, k -> new ArrayList<>()) : owners.get(owner);
+    }
+
+    /**
+     * Determines if an item is bucketed by region rather than by owner, which
+     * is the case for global items and private items without an owner.
+     */
+    private static boolean isRegional(ItemOnGround item) {
+        return item.getState() == State.SEEN_BY_EVERYONE || !item.getOwner().isPresent();
+    }
+
+    /**
+     * Gets the key of the region a location is in.
+     */
+    private static long key(Location location) {
+        return key(location.getX() >> REGION_SHIFT, location.getY() >> REGION_SHIFT, location.getZ());
+    }
+
+    /**
+     * Gets the key of a region.
+     */
+    private static long key(int regionX, int regionY, int z) {
+        return ((long) z << 48) | ((long) (regionX & 0xFFFFFF) << 24) | (regionY & 0xFFFFFF);
+    }
+}
@@ -168,7 +168,13 @@ public class ItemOnGround extends Entity {
     }
 
     public ItemOnGround setState(State state) {
+        // The index buckets items by state, so move this item along with it.
+        // Every registered item is indexed, unregistered ones aren't.
+        boolean indexed = state != this.state && ItemOnGroundManager.getIndex().remove(this);
         this.state = state;
+        if (indexed) {
+            ItemOnGroundManager.getIndex().add(this);
+        }
         return this;
     }
 
@@ -4,6 +4,7 @@ import java.util.*;
 
 import com.elvarg.game.World;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGround.State;
+import com.elvarg.game.entity.impl.player.KnownChunks;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Item;
 import com.elvarg.game.model.Location;
@@ -23,17 +24,47 @@ public class ItemOnGroundManager {
 	public static final int STATE_UPDATE_DELAY = 50; // 3 minutes = 300, 2 minutes = 200
 
 	/**
-	 * Handles what happens when a player enters a new region. We need to send all
-	 * the items related to that region.
+	 * The maximum amount of ground items sent in a single chunk packet.
+	 */
+	private static final int MAX_ITEMS_PER_PACKET = 500;
+
+	/**
+	 * The index of every registered {@link ItemOnGround}.
+	 */
+	private static final GroundItemIndex index = new GroundItemIndex();
+
+	/**
+	 * Handles what happens when a player enters a new region. We need to send the
+	 * items in every chunk the player's client doesn't know yet, see
+	 * {@link KnownChunks}.
 	 *
 	 * @param player
 	 *            The player whose changing region.
 	 */
 	public static void onRegionChange(Player player) {
-		Iterator<ItemOnGround> iterator = World.getItems().iterator();
-		for (; iterator.hasNext();) {
-			ItemOnGround item = iterator.next();
-			perform(player, item, OperationType.CREATE);
+		KnownChunks chunks = player.getKnownChunks();
+		int half = KnownChunks.MAP_SIZE / 2;
+		Location center = new Location(chunks.getBaseX() * 8 + half, chunks.getBaseY() * 8 + half, chunks.getZ());
+		List<ItemOnGround> items = new ArrayList<>();
+		index.collect(center, half, player.getUsername(), items);
+
+		// Group the items by chunk, so that each chunk is sent with a single packet.
+		Map<Integer, List<ItemOnGround>> pending = new TreeMap<>();
+		for (ItemOnGround item : items) {
+			if (item.isPendingRemoval() || player.getPrivateArea() != item.getPrivateArea()
+					|| !chunks.isPending(item.getLocation()) || !isVisible(player.getUsername(), item)) {
+				continue;
+			}
+			pending.computeIfAbsent(chunks.index(item.getLocation()), k -> new ArrayList<>()).add(item);
+		}
+		for (Map.Entry<Integer, List<ItemOnGround>> chunk : pending.entrySet()) {
+			int localX = (chunk.getKey() / KnownChunks.SIZE) * 8;
+			int localY = (chunk.getKey() % KnownChunks.SIZE) * 8;
+			List<ItemOnGround> chunkItems = chunk.getValue();
+			for (int i = 0; i < chunkItems.size(); i += MAX_ITEMS_PER_PACKET) {
+				player.getPacketSender().createGroundItems(localX, localY,
+						chunkItems.subList(i, Math.min(chunkItems.size(), i + MAX_ITEMS_PER_PACKET)));
+			}
 		}
 	}
 
@@ -59,6 +90,7 @@ public class ItemOnGroundManager {
 
 				// Remove!
 				iterator.remove();
+				index.remove(i);
 			}
 		}
 	}
@@ -78,11 +110,7 @@ public class ItemOnGroundManager {
 			}
 			break;
 		case SEEN_BY_EVERYONE:
-			for (Player player : World.getPlayers()) {
-				if (player == null)
-					continue;
-				perform(player, item, type);
-			}
+			World.getPlayers().getGrid().forEach(item.getLocation(), KnownChunks.MAP_SIZE, player -> perform(player, item, type));
 			break;
 		default:
 			break;
@@ -104,7 +132,7 @@ public class ItemOnGroundManager {
 		if (player.getPrivateArea() != item.getPrivateArea()) {
             return;
         }
-		if (item.getLocation().getDistance(player.getLocation()) > 64)
+		if (!player.getKnownChunks().contains(item.getLocation()))
 			return;
 		switch (type) {
 		case ALTER:
@@ -114,12 +142,8 @@ public class ItemOnGroundManager {
 			player.getPacketSender().deleteGroundItem(item);
 			break;
 		case CREATE:
-			if (!isOwner(player.getUsername(), item)) {
-				if (item.getState() == State.SEEN_BY_PLAYER)
-					return;
-				if (!item.getItem().getDefinition().isTradeable() || !item.getItem().getDefinition().isDropable())
-					return;
-			}
+			if (!isVisible(player.getUsername(), item))
+				return;
 			player.getPacketSender().createGroundItem(item);
 			break;
 		default:
@@ -144,6 +168,7 @@ public class ItemOnGroundManager {
 		// We didn't need to modify a previous item.
 		// Simply register the given item to the world..
 		World.getItems().add(item);
+		index.add(item);
 		ItemOnGroundManager.perform(item, OperationType.CREATE);
 	}
 
@@ -156,9 +181,22 @@ public class ItemOnGroundManager {
 	 * @return
 	 */
 	public static boolean merge(ItemOnGround item) {
-		Iterator<ItemOnGround> iterator = World.getItems().iterator();
-		for (; iterator.hasNext();) {
-			ItemOnGround item_ = iterator.next();
+		// Private items can only be merged into by their owner.
+		if (merge(item, index.getGlobal(item.getLocation()))) {
+			return true;
+		}
+		return item.getOwner().isPresent() && merge(item, index.getOwned(item.getOwner().get()));
+	}
+
+	/**
+	 * Attempts to merge an item with one of the given candidates.
+	 *
+	 * @param item
+	 * @param candidates
+	 * @return
+	 */
+	private static boolean merge(ItemOnGround item, List<ItemOnGround> candidates) {
+		for (ItemOnGround item_ : candidates) {
 			if (item_ == null || item_.isPendingRemoval() || item_.equals(item)) {
 				continue;
 			}
@@ -280,9 +318,25 @@ public class ItemOnGroundManager {
 	 * @return
 	 */
 	public static Optional<ItemOnGround> getGroundItem(Optional<String> owner, int id, Location position) {
-		Iterator<ItemOnGround> iterator = World.getItems().iterator();
-		for (; iterator.hasNext();) {
-			ItemOnGround item = iterator.next();
+		Optional<ItemOnGround> item = getGroundItem(owner, id, position, index.getGlobal(position));
+		if (!item.isPresent() && owner.isPresent()) {
+			item = getGroundItem(owner, id, position, index.getOwned(owner.get()));
+		}
+		return item;
+	}
+
+	/**
+	 * Finds a {@link ItemOnGround} with the specified {@link Location} among the
+	 * given candidates.
+	 *
+	 * @param owner
+	 * @param id
+	 * @param position
+	 * @param candidates
+	 * @return
+	 */
+	private static Optional<ItemOnGround> getGroundItem(Optional<String> owner, int id, Location position, List<ItemOnGround> candidates) {
+		for (ItemOnGround item : candidates) {
 			if (item == null || item.isPendingRemoval()) {
 				continue;
 			}
@@ -312,6 +366,22 @@ public class ItemOnGroundManager {
 		return getGroundItem(i.getOwner(), i.getItem().getId(), i.getLocation()).isPresent();
 	}
 
+	/**
+	 * A utility method used to check if the given {@link Player} may see the
+	 * given {@link ItemOnGround}.
+	 *
+	 * @param player
+	 * @param item
+	 * @return
+	 */
+	private static boolean isVisible(String player, ItemOnGround item) {
+		if (isOwner(player, item)) {
+			return true;
+		}
+		return item.getState() != State.SEEN_BY_PLAYER && item.getItem().getDefinition().isTradeable()
+				&& item.getItem().getDefinition().isDropable();
+	}
+
 	/**
 	 * A utitily method used to check if the given {@link Player} is the owner of
 	 * the given {@link ItemOnGround}.
@@ -327,6 +397,15 @@ public class ItemOnGroundManager {
 		return false;
 	}
 
+	/**
+	 * Gets the index of every registered {@link ItemOnGround}.
+	 *
+	 * @return the index.
+	 */
+	public static GroundItemIndex getIndex() {
+		return index;
+	}
+
 	/**
 	 * Represents the different types of packet-operations related to ground items
 	 * that are currently supported.
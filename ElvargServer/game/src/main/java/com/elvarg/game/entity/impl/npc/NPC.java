@@ -24,6 +24,7 @@ import com.elvarg.game.model.areas.AreaManager;
 import com.elvarg.game.model.areas.impl.WildernessArea;
 import com.elvarg.game.task.TaskManager;
 import com.elvarg.game.task.impl.NPCDeathTask;
+import com.elvarg.util.TickStopwatch;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 import static com.elvarg.game.content.combat.CombatFactory.MELEE_COMBAT;
@@ -37,6 +38,12 @@ import static com.elvarg.game.model.movement.MovementQueue.NPC_INTERACT_RADIUS;
 
 public class NPC extends Mobile {
 
+	/**
+	 * The amount of ticks after being attacked until health starts to
+	 * regenerate.
+	 */
+	private static final int REGENERATION_DELAY = TickStopwatch.toTicks(20000);
+
 	/**
 	 * The npc's id.
 	 */
@@ -45,6 +52,10 @@ public class NPC extends Mobile {
 	 * The npc's movement coordinator. Handles random walking.
 	 */
 	private NPCMovementCoordinator movementCoordinator = new NPCMovementCoordinator(this);
+	/**
+	 * The amount of cycles this npc has slept through, see {@link RegionActivity}.
+	 */
+	private int dormantCycles;
 	/**
 	 * The npc's current hitpoints.
 	 */
@@ -217,7 +228,7 @@ public class NPC extends Mobile {
 		}
 
 		// Regenerating health if needed, but only after 20 seconds of last attack.
-		if (getCombat().getLastAttack().elapsed(20000)
+		if (getCombat().getLastAttack().elapsed(REGENERATION_DELAY)
 				|| movementCoordinator.getCoordinateState() == CoordinateState.RETREATING) {
 
 			// We've been damaged.
@@ -231,6 +242,44 @@ public class NPC extends Mobile {
 		}
 	}
 	
+	/**
+	 * Checks if this npc may sleep while no player is around. Npcs which are busy
+	 * are always processed, so that they can finish what they're doing.
+	 *
+	 * @return {@code true} if this npc may sleep.
+	 */
+	public boolean canSleep() {
+		return getDefinition() != null && !isDying && owner == null && getInteractingMobile() == null
+				&& getCombat().getTarget() == null && getCombat().getHitQueue().isEmpty(null)
+				&& !getMovementQueue().isMoving();
+	}
+
+	/**
+	 * Skips a cycle of processing while this npc's region is dormant.
+	 */
+	public void sleep() {
+		dormantCycles++;
+	}
+
+	/**
+	 * Catches up on the cycles this npc has slept through, if any. Timers are
+	 * fast-forwarded and health is regenerated as if the npc had been processed
+	 * every cycle.
+	 */
+	public void wake() {
+		if (dormantCycles == 0) {
+			return;
+		}
+		int cycles = dormantCycles;
+		dormantCycles = 0;
+		getTimers().process(cycles);
+		if (getDefinition() != null && getDefinition().getHitpoints() > hitpoints
+				&& getCombat().getLastAttack().elapsed(REGENERATION_DELAY)) {
+			long regenerated = hitpoints + (long) cycles * (int) (getDefinition().getHitpoints() * 0.1);
+			setHitpoints((int) Math.min(regenerated, getDefinition().getHitpoints()));
+		}
+	}
+
 	public List<Player> getPlayersWithinDistance(int distance) {
 		List<Player> list = new ArrayList<>();
 		for (Player player : World.getPlayers()) {
@@ -0,0 +1,110 @@
+package com.elvarg.game.entity.impl.npc;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.entity.impl.MobileList;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Location;
+
+/**
+ * Keeps track of which map regions (64x64 tiles) have had a player nearby
+ * recently, so that npcs in regions nobody is around don't have to be
+ * processed.
+ * <p>
+ * Every cycle, the regions surrounding each player are stamped with the
+ * current cycle. A region whose stamp is older than
+ * {@link GameConstants#NPC_DORMANCY_DELAY} cycles is dormant. As a player
+ * stamps the regions around their own, a region is always woken up well
+ * before a player comes within view distance of its npcs.
+ */
+public final class RegionActivity {
+
+    /**
+     * The amount of regions on either axis which are tracked. Regions beyond
+     * these are never considered dormant.
+     */
+    private static final int SIZE = 256;
+
+    /**
+     * The cycle each region was last stamped on, indexed by region id.
+     */
+    private final int[] stamps = new int[SIZE * SIZE];
+
+    /**
+     * The current cycle.
+     */
+    private int cycle = GameConstants.NPC_DORMANCY_DELAY + 1;
+
+    /**
+     * The amount of npcs which were dormant during the current cycle.
+     */
+    private int dormant;
+
+    /**
+     * The amount of npcs which were dormant during the last cycle.
+     */
+    private int lastDormant;
+
+    /**
+     * Advances to the next cycle and stamps the regions surrounding every
+     * player.
+     *
+     * @param players the players.
+     */
+    public void update(MobileList<Player> players) {
+        cycle++;
+        lastDormant = dormant;
+        dormant = 0;
+        for (Player player : players) {
+            if (player == null) {
+                continue;
+            }
+            int regionX = player.getLocation().getX() >> 6;
+            int regionY = player.getLocation().getY() >> 6;
+            for (int x = regionX - 1; x <= regionX + 1; x++) {
+                for (int y = regionY - 1; y <= regionY + 1; y++) {
+                    if (x >= 0 && y >= 0 && x < SIZE && y < SIZE) {
+                        stamps[x * SIZE + y] = cycle;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the region containing {@code location} is dormant.
+     *
+     * @param location the location.
+     * @return {@code true} if no player has been near the region for a while.
+     */
+    public boolean isDormant(Location location) {
+        int x = location.getX() >> 6;
+        int y = location.getY() >> 6;
+        if (x < 0 || y < 0 || x >= SIZE || y >= SIZE) {
+            return false;
+        }
+        return cycle - stamps[x * SIZE + y] > GameConstants.NPC_DORMANCY_DELAY;
+    }
+
+    /**
+     * Processes an npc, unless it may sleep because its region is dormant. An
+     * npc which wakes up catches up on the cycles it slept through first.
+     *
+     * @param npc the npc to process.
+     */
+    public void process(NPC npc) {
+        if (GameConstants.NPC_DORMANCY && npc.canSleep() && isDormant(npc.getLocation())) {
+            npc.sleep();
+            dormant++;
+            return;
+        }
+        npc.wake();
+        npc.process();
+    }
+
+    /**
+     * @return the amount of npcs which were dormant during the last cycle.
+     */
+    public int getDormantCount() {
+        return lastDormant;
+    }
+}
@@ -142,7 +142,18 @@ public class MapObjects {
      *
      * @param object
      */
-    public static void add(GameObject object) {     
+    public static void add(GameObject object) {
+        add(object, true);
+    }
+
+    /**
+     * Attempts to add a new object to our map of mapobjects.
+     *
+     * @param object
+     * @param clip   whether the object's clipping should be added, which it
+     *               already is for objects loaded from a collision snapshot.
+     */
+    public static void add(GameObject object, boolean clip) {
         // Register the object if it's not registered in a private area..
         if (object.getPrivateArea() == null) {
             
@@ -173,7 +184,9 @@ public class MapObjects {
         }
 
         // Add clipping for object.
-        RegionManager.addObjectClipping(object);
+        if (clip) {
+            RegionManager.addObjectClipping(object);
+        }
     }
 
     /**
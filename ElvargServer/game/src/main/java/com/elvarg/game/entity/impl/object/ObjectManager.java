@@ -2,6 +2,7 @@ package com.elvarg.game.entity.impl.object;
 
 import com.elvarg.game.World;
 import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.entity.impl.player.KnownChunks;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Location;
 
@@ -20,14 +21,29 @@ import java.util.stream.Stream;
 public class ObjectManager {
 
     /**
-     * Handles what happens when a player enters a new region. We need to send all
-     * the objects related to that region.
+     * Handles what happens when a player enters a new region. We need to send the
+     * objects in every chunk the player's client doesn't know yet, see
+     * {@link KnownChunks}.
      *
      * @param player The player whose changing region.
      */
     public static void onRegionChange(Player player) {
-        World.getObjects().forEach((o) -> perform(o, OperationType.SPAWN));
-        World.getRemovedObjects().stream().forEach((o) -> player.getPacketSender().sendObjectRemoval(o));
+        KnownChunks chunks = player.getKnownChunks();
+        for (GameObject object : World.getObjects()) {
+            if (object.getPrivateArea() != player.getPrivateArea() || !chunks.isPending(object.getLocation())) {
+                continue;
+            }
+            if (object.getId() == -1) {
+                player.getPacketSender().sendObjectRemoval(object);
+            } else {
+                player.getPacketSender().sendObject(object);
+            }
+        }
+        for (GameObject object : World.getRemovedObjects()) {
+            if (chunks.isPending(object.getLocation())) {
+                player.getPacketSender().sendObjectRemoval(object);
+            }
+        }
     }
 
     /**
@@ -99,21 +115,20 @@ public class ObjectManager {
         switch (type) {
         case SPAWN:
         case DESPAWN:
-            for (Player player : World.getPlayers()) {
-                if (player == null)
-                    continue;
+            boolean spawn = type == OperationType.SPAWN;
+            World.getPlayers().getGrid().forEach(object.getLocation(), KnownChunks.MAP_SIZE, player -> {
                 if (player.getPrivateArea() != object.getPrivateArea()) {
-                    continue;
+                    return;
                 }
-                if (!player.getLocation().isWithinDistance(object.getLocation(), 64)) {
-                    continue;
+                if (!player.getKnownChunks().contains(object.getLocation())) {
+                    return;
                 }
-                if (type == OperationType.SPAWN) {
+                if (spawn) {
                     player.getPacketSender().sendObject(object);
                 } else {
                     player.getPacketSender().sendObjectRemoval(object);
                 }
-            }
+            });
             break;
         }
     }
@@ -0,0 +1,196 @@
+package com.elvarg.game.entity.impl.player;
+
+import java.util.Arrays;
+
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+/**
+ * Keeps track of the chunks (8x8 tiles) of a player's loaded map area for
+ * which the client holds the server-spawned ground items and objects.
+ * <p>
+ * The client keeps its spawns when the map region changes, as long as they
+ * are still within the new map area. Rather than clearing every spawn and
+ * sending them all again, only the chunks which aren't known yet are synced.
+ * Spawns are only ever sent to a player for the chunks they know, so a known
+ * chunk stays in sync until it leaves the map area or the player changes
+ * height or private area.
+ */
+public final class KnownChunks {
+
+    /**
+     * The size of the map area on either axis, in chunks.
+     */
+    public static final int SIZE = 13;
+
+    /**
+     * The size of the map area on either axis, in tiles.
+     */
+    public static final int MAP_SIZE = SIZE * 8;
+
+    /**
+     * The chunks which are known, indexed by their position in the map area.
+     */
+    private boolean[] known = new boolean[SIZE * SIZE];
+
+    /**
+     * The chunks which have to be synced, indexed by their position in the
+     * map area.
+     */
+    private final boolean[] pending = new boolean[SIZE * SIZE];
+
+    /**
+     * The chunks which may hold stale spawns on the client, indexed by their
+     * position in the map area.
+     */
+    private final boolean[] stale = new boolean[SIZE * SIZE];
+
+    /**
+     * The chunk coordinates of the south-west corner of the map area.
+     */
+    private int baseX, baseY;
+
+    /**
+     * The height level of the known chunks.
+     */
+    private int z;
+
+    /**
+     * The private area the known chunks were synced in.
+     */
+    private PrivateArea area;
+
+    /**
+     * Whether the client holds any spawns which were synced through this.
+     */
+    private boolean valid;
+
+    /**
+     * Moves the map area to the player's current map region, and determines
+     * which chunks have to be synced.
+     *
+     * @param player the player whose map region changed.
+     * @return {@code true} if every spawn on the client has to be cleared
+     *         before syncing.
+     */
+    public boolean update(Player player) {
+        Location region = player.getLastKnownRegion();
+        int newBaseX = region.getRegionX();
+        int newBaseY = region.getRegionY();
+        boolean reset = !valid || area != player.getPrivateArea();
+
+        boolean[] shifted = new boolean[SIZE * SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                int previousX = newBaseX + x - baseX;
+                int previousY = newBaseY + y - baseY;
+                boolean overlapping = !reset && previousX >= 0 && previousY >= 0 && previousX < SIZE && previousY < SIZE;
+                boolean wasKnown = overlapping && z == region.getZ() && known[previousX * SIZE + previousY];
+                shifted[x * SIZE + y] = wasKnown;
+                pending[x * SIZE + y] = !wasKnown;
+                stale[x * SIZE + y] = overlapping && !wasKnown;
+            }
+        }
+
+        known = shifted;
+        baseX = newBaseX;
+        baseY = newBaseY;
+        z = region.getZ();
+        area = player.getPrivateArea();
+        valid = true;
+        return reset;
+    }
+
+    /**
+     * Marks every pending chunk as known, once it has been synced.
+     */
+    public void commit() {
+        for (int i = 0; i < known.length; i++) {
+            if (pending[i]) {
+                known[i] = true;
+                pending[i] = false;
+            }
+        }
+        Arrays.fill(stale, false);
+    }
+
+    /**
+     * Checks if the chunk containing {@code location} is known, meaning that
+     * changes to its spawns should be sent to the player.
+     *
+     * @param location the location.
+     * @return {@code true} if the chunk is known.
+     */
+    public boolean contains(Location location) {
+        int index = index(location);
+        return index != -1 && known[index];
+    }
+
+    /**
+     * Checks if the chunk containing {@code location} is being synced.
+     *
+     * @param location the location.
+     * @return {@code true} if the chunk is pending.
+     */
+    public boolean isPending(Location location) {
+        int index = index(location);
+        return index != -1 && pending[index];
+    }
+
+    /**
+     * Checks if the chunk at the given position in the map area is being
+     * synced.
+     */
+    public boolean isPending(int x, int y) {
+        return pending[x * SIZE + y];
+    }
+
+    /**
+     * Checks if the chunk at the given position in the map area may hold
+     * stale spawns on the client, and has to be cleared before syncing.
+     */
+    public boolean isStale(int x, int y) {
+        return stale[x * SIZE + y];
+    }
+
+    /**
+     * Gets the position of the chunk containing {@code location} in the map
+     * area.
+     *
+     * @param location the location.
+     * @return the index of the chunk, or {@code -1} if it isn't in the map
+     *         area.
+     */
+    public int index(Location location) {
+        if (!valid || location.getZ() != z) {
+            return -1;
+        }
+        int x = (location.getX() >> 3) - baseX;
+        int y = (location.getY() >> 3) - baseY;
+        if (x < 0 || y < 0 || x >= SIZE || y >= SIZE) {
+            return -1;
+        }
+        return x * SIZE + y;
+    }
+
+    /**
+     * @return the chunk x coordinate of the south-west corner of the map area.
+     */
+    public int getBaseX() {
+        return baseX;
+    }
+
+    /**
+     * @return the chunk y coordinate of the south-west corner of the map area.
+     */
+    public int getBaseY() {
+        return baseY;
+    }
+
+    /**
+     * @return the height level of the known chunks.
+     */
+    public int getZ() {
+        return z;
+    }
+}
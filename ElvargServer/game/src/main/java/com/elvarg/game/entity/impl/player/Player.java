@@ -43,6 +43,7 @@ import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.npc.NpcAggression;
 import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.Animation;
 import com.elvarg.game.model.Appearance;
 import com.elvarg.game.model.ChatMessage;
@@ -86,18 +87,16 @@ import com.elvarg.util.FrameUpdater;
 import com.elvarg.util.Misc;
 import com.elvarg.util.NpcIdentifiers;
 import com.elvarg.util.Stopwatch;
+import com.elvarg.util.TickStopwatch;
 import com.elvarg.util.timers.TimerKey;
 
-import io.netty.buffer.ByteBuf;
-
-import static com.elvarg.game.GameConstants.PLAYER_PERSISTENCE;
-
 public class Player extends Mobile {
 	public final SecondsTimer increaseStats = new SecondsTimer();
 	public final SecondsTimer decreaseStats = new SecondsTimer();
 	private final List<Player> localPlayers = new LinkedList<Player>();
 	private final List<NPC> localNpcs = new LinkedList<NPC>();
 	private final PacketSender packetSender = new PacketSender(this);
+	private final KnownChunks knownChunks = new KnownChunks();
 	private final Appearance appearance = new Appearance(this);
 	private final SkillManager skillManager = new SkillManager(this);
 	private final PlayerRelations relations = new PlayerRelations(this);
@@ -147,7 +146,7 @@ public class Player extends Mobile {
 	private int interfaceId = -1, walkableInterfaceId = -1, multiIcon;
 	private boolean isRunning = true;
 	private int runEnergy = 100;
-	private Stopwatch lastRunRecovery = new Stopwatch();
+	private TickStopwatch lastRunRecovery = new TickStopwatch();
 	private boolean isDying;
 	private boolean allowRegionChangePacket;
 	private boolean experienceLocked;
@@ -231,10 +230,6 @@ public class Player extends Mobile {
 	// Rights
 	private PlayerRights rights = PlayerRights.NONE;
 	private DonatorRights donatorRights = DonatorRights.NONE;
-	/**
-	 * The cached player update block for updating.
-	 */
-	private ByteBuf cachedUpdateBlock;
 	private String loyaltyTitle = "empty";
 	private boolean spawnedBarrows;
 	private Location oldPosition;
@@ -385,6 +380,15 @@ public class Player extends Mobile {
 	}
 
 	public void process() {
+		processIncoming();
+		processLogic();
+	}
+
+	/**
+	 * Processes this player's timers and queued packets. Packet handlers touch
+	 * world-wide state, so this is always executed on the game thread.
+	 */
+	public void processIncoming() {
 		// Timers
 		getTimers().process();
 
@@ -393,21 +397,34 @@ public class Player extends Mobile {
 		if (session != null) {
 			session.processPackets();
 		}
+	}
+
+	/**
+	 * Processes npc aggression towards this player, the area this player is in
+	 * and Bounty Hunter, which all touch world-wide state. This is always
+	 * executed on the game thread.
+	 */
+	private void processShared() {
+		NpcAggression.process(this);
+		AreaManager.process(this);
+		BountyHunter.process(this);
+	}
 
+	/**
+	 * Processes this player's movement, combat, areas and restoration. When
+	 * {@link GameConstants#PARTITIONED_PLAYER_PROCESSING} is enabled this is
+	 * executed concurrently with players in other partitions.
+	 */
+	public void processLogic() {
 		// Process walking queue..
 		getMovementQueue().process();
 
 		// Process combat
 		getCombat().process();
 
-		// Process aggression
-		NpcAggression.process(this);
-
-		// Process areas..
-		AreaManager.process(this);
-
-		// Process Bounty Hunter
-		BountyHunter.process(this);
+		// Process aggression, areas and Bounty Hunter. These touch world-wide
+		// state, so they're deferred to the game thread when partitioned.
+		RegionPartitionExecutor.submit(this::processShared);
 
 		// Updates inventory if an update
 		// has been requested
@@ -433,7 +450,7 @@ public class Player extends Mobile {
 
 		// Increase run energy
 		if (runEnergy < 100 && (!getMovementQueue().isMoving() || !isRunning)) {
-			if (lastRunRecovery.elapsed(MovementQueue.runEnergyRestoreDelay(this))) {
+			if (lastRunRecovery.elapsedMillis(MovementQueue.runEnergyRestoreDelay(this))) {
 				runEnergy++;
 				getPacketSender().sendRunEnergy();
 				lastRunRecovery.reset();
@@ -573,10 +590,11 @@ public class Player extends Mobile {
 		Barrows.brotherDespawn(this);
 		PetHandler.pickup(this, getCurrentPet());
 		getRelations().updateLists(false);
+		World.getPresence().unregister(this);
 		BountyHunter.unassign(this);
 		ClanChatManager.leave(this, false);
 		TaskManager.cancelTasks(this);
-		PLAYER_PERSISTENCE.save(this);
+		World.getSaveService().save(this);
 
 		if (getSession() != null && getSession().getChannel().isOpen()) {
 			getSession().getChannel().close();
@@ -607,6 +625,7 @@ public class Player extends Mobile {
 		getPacketSender().sendTotalExp(totalExp);
 
 		// Send friends and ignored players lists...
+		World.getPresence().register(this);
 		getRelations().setPrivateMessageId(1).onLogin(this).updateLists(true);
 
 		// Reset prayer configs...
@@ -847,6 +866,10 @@ public class Player extends Mobile {
 		return localPlayers;
 	}
 
+	public KnownChunks getKnownChunks() {
+		return knownChunks;
+	}
+
 	public List<NPC> getLocalNpcs() {
 		return localNpcs;
 	}
@@ -1077,6 +1100,12 @@ public class Player extends Mobile {
 	}
 
 	public Player setShop(Shop shop) {
+		if (this.shop != null) {
+			this.shop.getViewers().remove(this);
+		}
+		if (shop != null) {
+			shop.getViewers().add(this);
+		}
 		this.shop = shop;
 		return this;
 	}
@@ -1384,14 +1413,6 @@ public class Player extends Mobile {
 		return aggressionTolerance;
 	}
 
-	public ByteBuf getCachedUpdateBlock() {
-		return cachedUpdateBlock;
-	}
-
-	public void setCachedUpdateBlock(ByteBuf cachedUpdateBlock) {
-		this.cachedUpdateBlock = cachedUpdateBlock;
-	}
-
 	public int getRegionHeight() {
 		return regionHeight;
 	}
@@ -0,0 +1,98 @@
+package com.elvarg.game.entity.impl.player;
+
+import java.util.Collections;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Keeps track of which online players have friended every username, so that
+ * a change in someone's private chat status only has to be sent to the
+ * players who are interested in it. The online players themselves are looked
+ * up through {@link com.elvarg.game.World#getPlayerByLongUsername(long)}.
+ * <p>
+ * Usernames are keyed by their {@link Player#getLongUsername() long} form,
+ * the same way they are stored in friend and ignore lists. This is only
+ * accessed on the game thread.
+ */
+public final class PresenceService {
+
+    /**
+     * The online players who have friended a username, mapped by that
+     * username.
+     */
+    private final Long2ObjectOpenHashMap<Set<Player>> followers = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Indexes the friend list of a player who logged in.
+     *
+     * @param player the player who logged in.
+     */
+    public void register(Player player) {
+        for (LongIterator it = player.getRelations().getFriendList().iterator(); it.hasNext();) {
+            follow(player, it.nextLong());
+        }
+    }
+
+    /**
+     * Removes the friend list of a player who logged out from the index.
+     *
+     * @param player the player who logged out.
+     */
+    public void unregister(Player player) {
+        for (LongIterator it = player.getRelations().getFriendList().iterator(); it.hasNext();) {
+            unfollow(player, it.nextLong());
+        }
+    }
+
+    /**
+     * Records that {@code player} has friended {@code name}. This must be
+     * called whenever a friend is added to the list of an online player.
+     *
+     * @param player the player whose friend list changed.
+     * @param name   the username which was added.
+     */
+    public void follow(Player player, long name) {
+        Set<Player> set = followers.get(name);
+        if (set == null) {
+            followers.put(name, set = new ReferenceOpenHashSet<>());
+        }
+        set.add(player);
+    }
+
+    /**
+     * Records that {@code player} no longer has {@code name} friended. This
+     * must be called whenever a friend is removed from the list of an online
+     * player.
+     *
+     * @param player the player whose friend list changed.
+     * @param name   the username which was removed.
+     */
+    public void unfollow(Player player, long name) {
+        Set<Player> set = followers.get(name);
+        if (set != null && set.remove(player) && set.isEmpty()) {
+            followers.remove(name);
+        }
+    }
+
+    /**
+     * Gets the online players who have friended {@code name}. The returned
+     * set must not be modified.
+     *
+     * @param name the username.
+     * @return the players who have friended the username.
+     */
+    public Set<Player> getFollowers(long name) {
+        Set<Player> set = followers.get(name);
+        return set == null ? Collections.emptySet() : set;
+    }
+
+    /**
+     * @return the amount of usernames which are friended by an online player.
+     */
+    public int getFollowedCount() {
+        return followers.size();
+    }
+}
@@ -10,7 +10,36 @@ public abstract class PlayerPersistence {
 
     public abstract PlayerSave load(String username);
 
-    public abstract void save(Player player);
+    /**
+     * Takes a snapshot of {@code player} and writes it on the calling thread.
+     *
+     * @param player the player to save.
+     */
+    public void save(Player player) {
+        if (!shouldSave(player)) {
+            return;
+        }
+        save(player.getUsername(), PlayerSave.fromPlayer(player));
+    }
+
+    /**
+     * Writes a snapshot which was taken with {@link PlayerSave#fromPlayer(Player)}.
+     * This may be called from any thread.
+     *
+     * @param username the username of the player the snapshot belongs to.
+     * @param save     the snapshot to write.
+     */
+    public abstract void save(String username, PlayerSave save);
+
+    /**
+     * Checks if {@code player} should be saved at all.
+     *
+     * @param player the player.
+     * @return {@code true} if the player should be saved.
+     */
+    public boolean shouldSave(Player player) {
+        return true;
+    }
 
     public abstract boolean exists(String username);
 
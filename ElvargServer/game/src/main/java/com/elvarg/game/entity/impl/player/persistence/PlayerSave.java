@@ -14,6 +14,7 @@ import com.elvarg.game.model.container.impl.Bank;
 import com.elvarg.game.model.rights.DonatorRights;
 import com.elvarg.game.model.rights.PlayerRights;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -610,7 +611,7 @@ public class PlayerSave {
         playerSave.title = player.getLoyaltyTitle();
         playerSave.rights = player.getRights();
         playerSave.donatorRights = player.getDonatorRights();
-        playerSave.position = player.getLocation();
+        playerSave.position = player.getLocation().clone();
         playerSave.spellBook = player.getSpellbook();
         playerSave.fightType = player.getFightType();
         playerSave.autoRetaliate = player.autoRetaliate();
@@ -642,7 +643,7 @@ public class PlayerSave {
         playerSave.normalKills = player.getNormalKills();
         playerSave.killstreak = player.getKillstreak();
         playerSave.highestKillstreak = player.getHighestKillstreak();
-        playerSave.recentKills = player.getRecentKills();
+        playerSave.recentKills = new ArrayList<>(player.getRecentKills());
         playerSave.deaths = player.getDeaths();
         playerSave.points = player.getPoints();
         playerSave.poisonDamage = player.getPoisonDamage();
@@ -650,25 +651,25 @@ public class PlayerSave {
 
         playerSave.barrowsCrypt = player.getBarrowsCrypt();
         playerSave.barrowsChests = player.getBarrowsChestsLooted();
-        playerSave.killedBrothers = player.getKilledBrothers();
+        playerSave.killedBrothers = copy(player.getKilledBrothers());
 
-        playerSave.gwdKills = player.getGodwarsKillcount();
+        playerSave.gwdKills = copy(player.getGodwarsKillcount());
 
         // RC pouches
-        playerSave.pouches = player.getPouches();
+        playerSave.pouches = copy(player.getPouches());
 
-        playerSave.inventory = player.getInventory().getItems();
-        playerSave.equipment = player.getEquipment().getItems();
-        playerSave.appearance = player.getAppearance().getLook();
-        playerSave.skills = player.getSkillManager().getSkills();
-        playerSave.quickPrayers = player.getQuickPrayers().getPrayers();
+        playerSave.inventory = copy(player.getInventory().getItems());
+        playerSave.equipment = copy(player.getEquipment().getItems());
+        playerSave.appearance = copy(player.getAppearance().getLook());
+        playerSave.skills = copy(player.getSkillManager());
+        playerSave.quickPrayers = copy(player.getQuickPrayers().getPrayers());
         playerSave.questPoints = player.getQuestPoints();
-        playerSave.questProgress = player.getQuestProgress();
+        playerSave.questProgress = player.getQuestProgress() == null ? null : new HashMap<>(player.getQuestProgress());
 
-        playerSave.friends = player.getRelations().getFriendList();
-        playerSave.ignores = player.getRelations().getIgnoreList();
+        playerSave.friends = new ArrayList<>(player.getRelations().getFriendList());
+        playerSave.ignores = new ArrayList<>(player.getRelations().getIgnoreList());
 
-        playerSave.presets = player.getPresets();
+        playerSave.presets = copy(player.getPresets());
 
         var banks = new HashMap<Integer, List<Item>>();
 
@@ -678,11 +679,81 @@ public class PlayerSave {
                 continue;
             }
             if (player.getBank(i) != null) {
-                banks.put(i, player.getBank(i).getValidItems());
+                banks.put(i, copy(player.getBank(i).getValidItems()));
             }
         }
         playerSave.banks = banks;
 
         return playerSave;
     }
+
+    /*
+     * A save is written off the game thread, so everything which the player
+     * may keep mutating after the snapshot was taken has to be copied.
+     */
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = items[i] == null ? null : items[i].clone();
+        }
+        return copy;
+    }
+
+    private static List<Item> copy(List<Item> items) {
+        List<Item> copy = new ArrayList<>(items.size());
+        for (Item item : items) {
+            copy.add(item.clone());
+        }
+        return copy;
+    }
+
+    private static int[] copy(int[] array) {
+        return array == null ? null : array.clone();
+    }
+
+    private static boolean[] copy(boolean[] array) {
+        return array == null ? null : array.clone();
+    }
+
+    private static PrayerHandler.PrayerData[] copy(PrayerHandler.PrayerData[] array) {
+        return array == null ? null : array.clone();
+    }
+
+    private static Runecrafting.PouchContainer[] copy(Runecrafting.PouchContainer[] pouches) {
+        if (pouches == null) {
+            return null;
+        }
+        Runecrafting.PouchContainer[] copy = new Runecrafting.PouchContainer[pouches.length];
+        for (int i = 0; i < pouches.length; i++) {
+            Runecrafting.PouchContainer pouch = pouches[i];
+            copy[i] = pouch == null ? null : new Runecrafting.PouchContainer(pouch.getPouch(),
+                    pouch.getStoredRuneEssence(), pouch.getStoredPureEssence());
+        }
+        return copy;
+    }
+
+    private static Presetable[] copy(Presetable[] presets) {
+        if (presets == null) {
+            return null;
+        }
+        Presetable[] copy = new Presetable[presets.length];
+        for (int i = 0; i < presets.length; i++) {
+            Presetable preset = presets[i];
+            copy[i] = preset == null ? null : new Presetable(preset.getName(),
+                    preset.getInventory() == null ? null : copy(preset.getInventory()),
+                    preset.getEquipment() == null ? null : copy(preset.getEquipment()),
+                    copy(preset.getStats()), preset.getSpellbook(), preset.isGlobal());
+        }
+        return copy;
+    }
+
+    private static SkillManager.Skills copy(SkillManager skillManager) {
+        SkillManager.Skills skills = skillManager.getSkills();
+        SkillManager.Skills copy = skillManager.new Skills();
+        copy.setLevels(skills.getLevels().clone());
+        copy.setMaxLevels(skills.getMaxLevels().clone());
+        copy.setExperiences(skills.getExperiences().clone());
+        return copy;
+    }
 }
@@ -0,0 +1,264 @@
+package com.elvarg.game.entity.impl.player.persistence;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import com.elvarg.Server;
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.entity.impl.player.Player;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+
+/**
+ * Saves players off the game thread.
+ * <p>
+ * A {@link PlayerSave} snapshot is taken on the calling thread, after which it
+ * is written by one of the I/O threads. Every username is always written by
+ * the same thread, so the writes of a single player can never be reordered.
+ * <p>
+ * A snapshot stays pending until it has been written. Saving a player which
+ * still has a pending snapshot replaces that snapshot rather than queueing
+ * another write, and loading a player with a pending snapshot returns that
+ * snapshot instead of the stale one in storage.
+ */
+public final class PlayerSaveService {
+
+    /**
+     * The gson instance used to copy pending snapshots.
+     */
+    private static final Gson GSON = new Gson();
+
+    /**
+     * The persistence which snapshots are written to.
+     */
+    private final PlayerPersistence persistence;
+
+    /**
+     * The I/O threads, each of which owns a fixed share of the usernames.
+     */
+    private final ScheduledExecutorService[] writers;
+
+    /**
+     * The snapshots which haven't been written yet, mapped by username.
+     */
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final AtomicLong peakPending = new AtomicLong();
+    private final AtomicLong lastLatency = new AtomicLong();
+
+    /**
+     * Creates a new {@link PlayerSaveService}.
+     *
+     * @param persistence the persistence which snapshots are written to.
+     */
+    public PlayerSaveService(PlayerPersistence persistence) {
+        this.persistence = persistence;
+        this.writers = new ScheduledExecutorService[Math.max(1, GameConstants.PLAYER_SAVE_THREADS)];
+        for (int i = 0; i < writers.length; i++) {
+            ScheduledThreadPoolExecutor writer = new ScheduledThreadPoolExecutor(1,
+                    new ThreadFactoryBuilder().setNameFormat("PlayerSaveThread-" + i).setDaemon(true).build());
+            writer.setRemoveOnCancelPolicy(true);
+            writers[i] = writer;
+        }
+    }
+
+    /**
+     * Takes a snapshot of {@code player} and queues it to be written. This
+     * should be called on the game thread.
+     *
+     * @param player the player to save.
+     */
+    public void save(Player player) {
+        if (!persistence.shouldSave(player)) {
+            return;
+        }
+        String username = player.getUsername();
+        Pending save = new Pending(PlayerSave.fromPlayer(player), System.nanoTime());
+        submitted.increment();
+        if (pending.put(username, save) != null) {
+            // The queued write will pick up this snapshot instead.
+            coalesced.increment();
+            return;
+        }
+        int size = pending.size();
+        if (size > peakPending.get()) {
+            peakPending.accumulateAndGet(size, Math::max);
+        }
+        if (size == GameConstants.PLAYER_SAVE_BACKLOG_WARNING) {
+            Server.getLogger().warning(size + " player saves are waiting to be written.");
+        }
+        schedule(username, 0);
+    }
+
+    /**
+     * Loads the save of {@code username}, preferring a pending snapshot over
+     * the one in storage.
+     *
+     * @param username the username.
+     * @return the save, or {@code null} if the player has never been saved.
+     */
+    public PlayerSave load(String username) {
+        Pending save = pending.get(username);
+        if (save != null) {
+            // The snapshot might still be in the middle of being written.
+            return GSON.fromJson(GSON.toJsonTree(save.save), PlayerSave.class);
+        }
+        return persistence.load(username);
+    }
+
+    /**
+     * Blocks until every snapshot which was queued before this call has been
+     * written, or until {@code timeout} has passed.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of {@code timeout}.
+     * @return {@code true} if nothing is left pending.
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        Future<?>[] barriers = new Future<?>[writers.length];
+        for (int i = 0; i < writers.length; i++) {
+            barriers[i] = writers[i].submit(() -> {
+            });
+        }
+        for (Future<?> barrier : barriers) {
+            try {
+                barrier.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                break;
+            }
+        }
+        return pending.isEmpty();
+    }
+
+    /**
+     * Queues the write of the pending snapshot of {@code username}.
+     *
+     * @param username the username.
+     * @param delay    the delay before writing, in milliseconds.
+     */
+    private void schedule(String username, long delay) {
+        writers[Math.floorMod(username.hashCode(), writers.length)].schedule(() -> write(username), delay,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the pending snapshot of {@code username}. This is executed on
+     * the I/O thread owning the username.
+     *
+     * @param username the username.
+     */
+    private void write(String username) {
+        Pending save = pending.get(username);
+        if (save == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            persistence.save(username, save.save);
+        } catch (Exception e) {
+            failed.increment();
+            Server.getLogger().log(Level.SEVERE, "Unable to save " + username + ", retrying in "
+                    + GameConstants.PLAYER_SAVE_RETRY_DELAY + "ms.", e);
+            schedule(username, GameConstants.PLAYER_SAVE_RETRY_DELAY);
+            return;
+        }
+        long end = System.nanoTime();
+        written.increment();
+        writeNanos.add(end - start);
+        lastLatency.set(end - save.queuedAt);
+        if (!pending.remove(username, save)) {
+            // A newer snapshot arrived while this one was being written.
+            schedule(username, 0);
+        }
+    }
+
+    /**
+     * @return the amount of snapshots waiting to be written.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the highest amount of snapshots which were waiting at once.
+     */
+    public long getPeakPendingCount() {
+        return peakPending.get();
+    }
+
+    /**
+     * @return the amount of saves which were requested.
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the amount of saves which replaced a pending snapshot.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * @return the amount of snapshots which were written.
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * @return the amount of writes which failed.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the average duration of a write, in nanoseconds.
+     */
+    public long getAverageWriteTime() {
+        long count = written.sum();
+        return count == 0 ? 0 : writeNanos.sum() / count;
+    }
+
+    /**
+     * @return the time between the last written snapshot being taken and it
+     * being written, in nanoseconds.
+     */
+    public long getLastLatency() {
+        return lastLatency.get();
+    }
+
+    /**
+     * A snapshot waiting to be written.
+     */
+    private static final class Pending {
+
+        private final PlayerSave save;
+        private final long queuedAt;
+
+        private Pending(PlayerSave save, long queuedAt) {
+            this.save = save;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
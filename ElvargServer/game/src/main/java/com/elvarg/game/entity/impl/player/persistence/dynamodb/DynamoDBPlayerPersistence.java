@@ -22,15 +22,15 @@ public class DynamoDBPlayerPersistence extends PlayerPersistence {
     private static final TableSchema<PlayerSaveRecord> PLAYER_SAVE_TABLE_SCHEMA = TableSchema.fromClass(PlayerSaveRecord.class);
 
     @Override
-    public void save(Player player) {
-        if (player instanceof PlayerBot) {
-            return;
-        }
+    public boolean shouldSave(Player player) {
+        return !(player instanceof PlayerBot);
+    }
 
-        var playerSave = PlayerSave.fromPlayer(player);
+    @Override
+    public void save(String username, PlayerSave playerSave) {
         DynamoDbTable<PlayerSaveRecord> playerTable = enhancedClient.table(playerTableName, PLAYER_SAVE_TABLE_SCHEMA);
 
-        playerTable.putItem(new PlayerSaveRecord(player.getUsername(), playerSave, Instant.now()));
+        playerTable.putItem(new PlayerSaveRecord(username, playerSave, Instant.now()));
     }
 
     @Override
@@ -1,7 +1,6 @@
 package com.elvarg.game.entity.impl.player.persistence.jsonfile;
 
 import com.elvarg.Server;
-import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.entity.impl.player.persistence.PlayerPersistence;
 import com.elvarg.game.entity.impl.player.persistence.PlayerSave;
 import com.elvarg.util.Misc;
@@ -12,15 +11,19 @@ import com.google.gson.JsonParser;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.logging.Level;
 
 public class JSONFilePlayerPersistence extends PlayerPersistence {
 
     private static final String PATH = "../data/saves/characters/";
     private static final Gson BUILDER = new GsonBuilder().create();
+    private static final Gson PRETTY_BUILDER = new GsonBuilder().setPrettyPrinting().create();
 
     @Override
     public PlayerSave load(String username) {
@@ -39,21 +42,26 @@ public class JSONFilePlayerPersistence extends PlayerPersistence {
     }
 
     @Override
-    public void save(Player player) {
-        PlayerSave save = PlayerSave.fromPlayer(player);
-
-        Path path = Paths.get(PATH, player.getUsername() + ".json");
-        File file = path.toFile();
-        setupDirectory(file);
-
-        Gson builder = new GsonBuilder().setPrettyPrinting().create();
+    public void save(String username, PlayerSave save) {
+        Path path = Paths.get(PATH, username + ".json");
+        Path temp = Paths.get(PATH, username + ".json.tmp");
+        setupDirectory(path.toFile());
 
-		try (FileWriter writer = new FileWriter(file)) {
-			writer.write(builder.toJson(save));
-		} catch (Exception e) {
-			Server.getLogger().log(Level.SEVERE, "An error has occurred while saving a character file!", e);
+        // Write to a temporary file first, so that a crash mid-write never
+        // leaves a truncated character file behind.
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                PRETTY_BUILDER.toJson(save, writer);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            Server.getLogger().log(Level.SEVERE, "An error has occurred while saving a character file!", e);
             throw new RuntimeException(e);
-		}
+        }
     }
 
     @Override
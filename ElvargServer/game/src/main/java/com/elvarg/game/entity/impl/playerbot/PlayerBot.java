@@ -153,9 +153,9 @@ public class PlayerBot extends Player {
     }
 
     @Override
-    public void process() {
+    public void processIncoming() {
         this.combatInteraction.process();
-        super.process();
+        super.processIncoming();
     }
 
     @Override
@@ -14,7 +14,10 @@ import com.elvarg.net.packet.PacketType;
 import com.elvarg.net.packet.PacketBuilder.AccessType;
 import com.elvarg.net.packet.ValueType;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents a player's npc updating task, which loops through all local
@@ -25,6 +28,18 @@ import java.util.Iterator;
 
 public class NPCUpdating {
 
+    /**
+     * The indices of the npcs which are already local to the player being
+     * updated, reused by every updating thread.
+     */
+    private static final ThreadLocal<BitSet> LOCAL_INDICES = ThreadLocal.withInitial(BitSet::new);
+
+    /**
+     * The npcs around the player being updated, sorted by index so that the
+     * same npcs are added first every cycle, reused by every updating thread.
+     */
+    private static final ThreadLocal<List<NPC>> NEARBY = ThreadLocal.withInitial(ArrayList::new);
+
     /**
      * Handles the actual npc updating for the associated player.
      *
@@ -35,6 +50,8 @@ public class NPCUpdating {
         PacketBuilder packet = new PacketBuilder(65, PacketType.VARIABLE_SHORT);
         packet.initializeAccess(AccessType.BIT);
         packet.putBits(8, player.getLocalNpcs().size());
+        BitSet localIndices = LOCAL_INDICES.get();
+        localIndices.clear();
         for (Iterator<NPC> npcIterator = player.getLocalNpcs().iterator(); npcIterator.hasNext(); ) {
             NPC npc = npcIterator.next();
             if (World.getNpcs().get(npc.getIndex()) != null 
@@ -42,9 +59,10 @@ public class NPCUpdating {
                     && player.getLocation().isViewableFrom(npc.getLocation()) 
                     && !npc.isNeedsPlacement()
                     && npc.getPrivateArea() == player.getPrivateArea()) {
+                localIndices.set(npc.getIndex());
                 updateMovement(npc, packet);
                 if (npc.getUpdateFlag().isUpdateRequired()) {
-                    appendUpdates(npc, update);
+                    update.putBytes(npc.getUpdateBlocks().get(0, npc, NPCUpdating::appendUpdates));
                 }
             } else {
                 npcIterator.remove();
@@ -52,20 +70,22 @@ public class NPCUpdating {
                 packet.putBits(2, 3);
             }
         }
-        for (NPC npc : World.getNpcs()) {
+        List<NPC> nearby = NEARBY.get();
+        World.getNpcs().getGrid().getLocal(player.getLocation(), Location.VIEW_DISTANCE, nearby);
+        for (NPC npc : nearby) {
             if (player.getLocalNpcs().size() >= 79) //Originally 255
                 break;
-            if (npc == null || player.getLocalNpcs().contains(npc) || !npc.isVisible() || npc.isNeedsPlacement()
+            if (localIndices.get(npc.getIndex()) || !npc.isVisible() || npc.isNeedsPlacement()
                     || npc.getPrivateArea() != player.getPrivateArea())
                 continue;
-            if (npc.getLocation().isViewableFrom(player.getLocation())) {
-                player.getLocalNpcs().add(npc);
-                addNPC(player, npc, packet);
-                if (npc.getUpdateFlag().isUpdateRequired()) {
-                    appendUpdates(npc, update);
-                }
+            localIndices.set(npc.getIndex());
+            player.getLocalNpcs().add(npc);
+            addNPC(player, npc, packet);
+            if (npc.getUpdateFlag().isUpdateRequired()) {
+                update.putBytes(npc.getUpdateBlocks().get(0, npc, NPCUpdating::appendUpdates));
             }
         }
+        nearby.clear();
         if (update.buffer().writerIndex() > 0) {
             packet.putBits(14, 16383);
 
@@ -74,6 +94,7 @@ public class NPCUpdating {
         } else {
             packet.initializeAccess(AccessType.BYTE);
         }
+        update.release();
         player.getSession().write(packet);
     }
 
@@ -126,13 +147,15 @@ public class NPCUpdating {
     }
 
     /**
-     * Appends a mask update for {@code npc}.
+     * Appends a mask update for {@code npc}. Npc update blocks don't depend on
+     * the observer, so this is encoded once per cycle and shared through the
+     * npc's {@link UpdateBlockCache}.
      *
      * @param npc     The npc to update masks for.
      * @param builder The packet builder to write information on.
      * @return The NPCUpdating instance.
      */
-    private static void appendUpdates(NPC npc, PacketBuilder block) {
+    private static void appendUpdates(PacketBuilder block, NPC npc) {
         int mask = 0;
         UpdateFlag flag = npc.getUpdateFlag();
         if (flag.flagged(Flag.ANIMATION) && npc.getAnimation() != null) {
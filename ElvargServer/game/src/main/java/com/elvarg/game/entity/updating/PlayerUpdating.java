@@ -14,7 +14,10 @@ import com.elvarg.net.packet.PacketBuilder.AccessType;
 import com.elvarg.net.packet.PacketType;
 import com.elvarg.net.packet.ValueType;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents the associated player's player updating.
@@ -30,6 +33,24 @@ public class PlayerUpdating {
 	 */
 	private static final int MAX_NEW_PLAYERS_PER_CYCLE = 25;
 
+	/**
+	 * The ids of the update blocks every player shares with its observers, see
+	 * {@link UpdateBlockCache}.
+	 */
+	private static final int LEADING_BLOCK = 0, INTERACTION_BLOCK = 1, APPEARANCE_BLOCK = 2, TRAILING_BLOCK = 3;
+
+	/**
+	 * The indices of the players which are already local to the player being
+	 * updated, reused by every updating thread.
+	 */
+	private static final ThreadLocal<BitSet> LOCAL_INDICES = ThreadLocal.withInitial(BitSet::new);
+
+	/**
+	 * The players around the player being updated, sorted by index so that the
+	 * same players are added first every cycle, reused by every updating thread.
+	 */
+	private static final ThreadLocal<List<Player>> NEARBY = ThreadLocal.withInitial(ArrayList::new);
+
 	/**
 	 * Loops through the associated player's {@code localPlayer} list and updates
 	 * them.
@@ -44,12 +65,15 @@ public class PlayerUpdating {
 		updateMovement(player, packet);
 		appendUpdates(player, update, player, false, true);
 		packet.putBits(8, player.getLocalPlayers().size());
+		BitSet localIndices = LOCAL_INDICES.get();
+		localIndices.clear();
 		for (Iterator<Player> playerIterator = player.getLocalPlayers().iterator(); playerIterator.hasNext();) {
 			Player otherPlayer = playerIterator.next();
 			if (World.getPlayers().get(otherPlayer.getIndex()) != null
 					&& otherPlayer.getLocation().isViewableFrom(player.getLocation()) 
 					&& !otherPlayer.isNeedsPlacement()
 					&& otherPlayer.getPrivateArea() == player.getPrivateArea()) {
+				localIndices.set(otherPlayer.getIndex());
 				updateOtherPlayerMovement(packet, otherPlayer);
 				if (otherPlayer.getUpdateFlag().isUpdateRequired()) {
 					appendUpdates(player, update, otherPlayer, false, false);
@@ -62,19 +86,22 @@ public class PlayerUpdating {
 		}
 		int playersAdded = 0;
 
-		for (Player otherPlayer : World.getPlayers()) {
+		List<Player> nearby = NEARBY.get();
+		World.getPlayers().getGrid().getLocal(player.getLocation(), Location.VIEW_DISTANCE, nearby);
+		for (Player otherPlayer : nearby) {
 			if (player.getLocalPlayers().size() >= 79 || playersAdded > MAX_NEW_PLAYERS_PER_CYCLE)
 				break;
-			if (otherPlayer == null || otherPlayer == player || player.getLocalPlayers().contains(otherPlayer)
-					|| !otherPlayer.getLocation().isViewableFrom(player.getLocation())
+			if (otherPlayer == player || localIndices.get(otherPlayer.getIndex())
 					|| otherPlayer.getPrivateArea() != player.getPrivateArea()) {
 				continue;
 			}
+			localIndices.set(otherPlayer.getIndex());
 			player.getLocalPlayers().add(otherPlayer);
 			addPlayer(player, otherPlayer, packet);
 			appendUpdates(player, update, otherPlayer, true, false);
 			playersAdded++;
 		}
+		nearby.clear();
 
 		if (update.buffer().writerIndex() > 0) {
 			packet.putBits(11, 2047);
@@ -83,6 +110,7 @@ public class PlayerUpdating {
 		} else {
 			packet.initializeAccess(AccessType.BYTE);
 		}
+		update.release();
 		player.getSession().write(packet);
 	}
 
@@ -332,15 +360,10 @@ public class PlayerUpdating {
 		if (!target.getUpdateFlag().isUpdateRequired() && !updateAppearance)
 			return;
 
-		// If we don't need to update again, simply send the cached update block
-		// if it's available.
-		/*
-		 * if (player.getCachedUpdateBlock() != null && !player.equals(target) &&
-		 * !updateAppearance && !noChat) {
-		 * builder.putBytes(player.getCachedUpdateBlock()); return; }
-		 */
-
 		final UpdateFlag flag = target.getUpdateFlag();
+		final long name = target.getLongUsername();
+		final boolean chat = flag.flagged(Flag.CHAT) && target.getCurrentChatMessage() != null && !noChat
+				&& !player.getRelations().getIgnoreList().contains(name);
 		int mask = 0;
 		if (flag.flagged(Flag.GRAPHIC) && target.getGraphic() != null) {
 			mask |= 0x100;
@@ -351,8 +374,7 @@ public class PlayerUpdating {
 		if (flag.flagged(Flag.FORCED_CHAT) && target.getForcedChat() != null) {
 			mask |= 0x4;
 		}
-		if (flag.flagged(Flag.CHAT) && target.getCurrentChatMessage() != null && !noChat
-				&& !player.getRelations().getIgnoreList().contains(target.getLongUsername())) {
+		if (chat) {
 			mask |= 0x80;
 		}
 		if (flag.flagged(Flag.ENTITY_INTERACTION)) {
@@ -379,9 +401,42 @@ public class PlayerUpdating {
 		} else {
 			builder.put(mask);
 		}
+
+		// Forced movement is relative to the observer's region and chat depends
+		// on the observer's ignore list, so those are written for every observer.
+		// Everything else is encoded once per cycle and shared.
+		UpdateBlockCache blocks = target.getUpdateBlocks();
 		if (flag.flagged(Flag.FORCED_MOVEMENT) && target.getForceMovement() != null) {
 			updateForcedMovement(player, builder, target);
 		}
+		if (flag.isUpdateRequired()) {
+			builder.putBytes(blocks.get(LEADING_BLOCK, target, PlayerUpdating::encodeLeadingBlock));
+		}
+		if (chat) {
+			updateChat(builder, target, player);
+		}
+		if (flag.flagged(Flag.ENTITY_INTERACTION)) {
+			builder.putBytes(blocks.get(INTERACTION_BLOCK, target, PlayerUpdating::updateEntityInteraction));
+		}
+		if (flag.flagged(Flag.APPEARANCE) || updateAppearance) {
+			builder.putBytes(blocks.get(APPEARANCE_BLOCK, target, PlayerUpdating::updateAppearance));
+		}
+		if (flag.isUpdateRequired()) {
+			builder.putBytes(blocks.get(TRAILING_BLOCK, target, PlayerUpdating::encodeTrailingBlock));
+		}
+	}
+
+	/**
+	 * Encodes the shared blocks which come before chat: graphics, animation and
+	 * forced chat.
+	 *
+	 * @param builder
+	 *            The packet builder to write information on.
+	 * @param target
+	 *            The player to encode the blocks for.
+	 */
+	private static void encodeLeadingBlock(PacketBuilder builder, Player target) {
+		final UpdateFlag flag = target.getUpdateFlag();
 		if (flag.flagged(Flag.GRAPHIC) && target.getGraphic() != null) {
 			updateGraphics(builder, target);
 		}
@@ -391,16 +446,19 @@ public class PlayerUpdating {
 		if (flag.flagged(Flag.FORCED_CHAT) && target.getForcedChat() != null) {
 			updateForcedChat(builder, target);
 		}
-		if (flag.flagged(Flag.CHAT) && target.getCurrentChatMessage() != null && !noChat
-				&& !player.getRelations().getIgnoreList().contains(target.getLongUsername())) {
-			updateChat(builder, target, player);
-		}
-		if (flag.flagged(Flag.ENTITY_INTERACTION)) {
-			updateEntityInteraction(builder, target);
-		}
-		if (flag.flagged(Flag.APPEARANCE) || updateAppearance) {
-			updateAppearance(player, builder, target);
-		}
+	}
+
+	/**
+	 * Encodes the shared blocks which come after appearance: face position and
+	 * hits.
+	 *
+	 * @param builder
+	 *            The packet builder to write information on.
+	 * @param target
+	 *            The player to encode the blocks for.
+	 */
+	private static void encodeTrailingBlock(PacketBuilder builder, Player target) {
+		final UpdateFlag flag = target.getUpdateFlag();
 		if (flag.flagged(Flag.FACE_POSITION) && target.getPositionToFace() != null) {
 			updateFacingPosition(builder, target);
 		}
@@ -410,9 +468,6 @@ public class PlayerUpdating {
 		if (flag.flagged(Flag.DOUBLE_HIT)) {
 			updateDoubleHit(builder, target);
 		}
-		/*if (!player.equals(target) && !updateAppearance && !noChat) {
-			player.setCachedUpdateBlock(builder.buffer());
-		}*/
 	}
 
 	/**
@@ -587,7 +642,7 @@ public class PlayerUpdating {
 	 *            The player to update appearance for.
 	 * @return The PlayerUpdating instance.
 	 */
-	private static void updateAppearance(Player player, PacketBuilder out, Player target) {
+	private static void updateAppearance(PacketBuilder out, Player target) {
 		Appearance appearance = target.getAppearance();
 		Equipment equipment = target.getEquipment();
 		PacketBuilder properties = new PacketBuilder();
@@ -603,7 +658,7 @@ public class PlayerUpdating {
 		// Some sort of headhint (arrow over head)
 		properties.put(0);
 
-		if (player.getNpcTransformationId() == -1) {
+		if (target.getNpcTransformationId() == -1) {
 			int[] equip = new int[equipment.capacity()];
 			for (int i = 0; i < equipment.capacity(); i++) {
 				equip[i] = equipment.getItems()[i].getId();
@@ -679,7 +734,7 @@ public class PlayerUpdating {
 			}
 		} else {
 			properties.putShort(-1);
-			properties.putShort(player.getNpcTransformationId());
+			properties.putShort(target.getNpcTransformationId());
 		}
 		properties.put(appearance.getLook()[Appearance.HAIR_COLOUR]);
 		properties.put(appearance.getLook()[Appearance.TORSO_COLOUR]);
@@ -709,5 +764,6 @@ public class PlayerUpdating {
 
 		out.put(properties.buffer().writerIndex(), ValueType.C);
 		out.putBytes(properties.buffer());
+		properties.release();
 	}
 }
\ No newline at end of file
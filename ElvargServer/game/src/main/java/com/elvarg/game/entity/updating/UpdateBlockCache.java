@@ -0,0 +1,69 @@
+package com.elvarg.game.entity.updating;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+import com.elvarg.net.packet.PacketBuilder;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The update blocks of a single entity, which are encoded at most once per
+ * cycle and then shared by every player observing the entity. Blocks are
+ * encoded lazily by the first observer which needs them, so entities nobody
+ * can see are never encoded.
+ * <p>
+ * Observers are updated concurrently, so blocks are published through an
+ * atomic array and only the encoding itself is synchronized.
+ */
+public final class UpdateBlockCache {
+
+    /**
+     * The maximum amount of blocks an entity can have cached.
+     */
+    private static final int BLOCKS = 4;
+
+    /**
+     * The encoded blocks, by id.
+     */
+    private final AtomicReferenceArray<ByteBuf> blocks = new AtomicReferenceArray<>(BLOCKS);
+
+    /**
+     * Gets a block, encoding it with {@code encoder} if it hasn't been encoded
+     * this cycle yet. The returned buffer must not be modified, only read
+     * from by absolute index.
+     *
+     * @param block   the id of the block.
+     * @param entity  the entity the block belongs to.
+     * @param encoder the function which encodes the block.
+     * @return the encoded block.
+     */
+    public <T> ByteBuf get(int block, T entity, BiConsumer<PacketBuilder, T> encoder) {
+        ByteBuf buffer = blocks.get(block);
+        if (buffer == null) {
+            synchronized (this) {
+                buffer = blocks.get(block);
+                if (buffer == null) {
+                    PacketBuilder builder = new PacketBuilder();
+                    encoder.accept(builder, entity);
+                    buffer = builder.buffer();
+                    blocks.set(block, buffer);
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Releases every cached block. Called once every observer has been
+     * updated.
+     */
+    public synchronized void clear() {
+        for (int block = 0; block < BLOCKS; block++) {
+            ByteBuf buffer = blocks.getAndSet(block, null);
+            if (buffer != null) {
+                buffer.release();
+            }
+        }
+    }
+}
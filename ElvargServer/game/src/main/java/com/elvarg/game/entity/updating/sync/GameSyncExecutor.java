@@ -1,18 +1,29 @@
 package com.elvarg.game.entity.updating.sync;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Phaser;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
 
 import com.elvarg.game.GameConstants;
+import com.elvarg.game.profiling.TickProfiler;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * A synchronization executor that executes {@link GameSyncTask}s. These have
  * support for both concurrent and sequential synchronization tasks, and are
  * smart enough to determine when each should be used on a task-to-task basis.
+ * <p>
+ * The occupied indices of a concurrent task are split into one contiguous
+ * chunk per thread, so every thread gets a fair share of the entities however
+ * few there are. The chunks are executed by preallocated workers, with the calling thread
+ * executing the first chunk itself, and completion is awaited on a single
+ * latch per task.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -25,18 +36,35 @@ public final class GameSyncExecutor {
     private final ExecutorService service;
 
     /**
-     * The synchronizer that ensures that the thread waits until tasks are
-     * completed before proceeding. This value may or may not be {@code null}.
+     * The preallocated workers, one per chunk. This value may or may not be
+     * {@code null}.
      */
-    private final Phaser phaser;
+    private final ChunkWorker[] workers;
+
+    /**
+     * The occupied indices of the concurrent task being executed, which are
+     * split into chunks. This is reused by every task.
+     */
+    private int[] indices = new int[0];
+
+    /**
+     * The timings of every named task, mapped by name.
+     */
+    private final Map<String, SyncTiming> timings = Collections.synchronizedMap(new LinkedHashMap<>());
 
     /**
      * Creates a new {@link GameSyncExecutor}. It automatically determines how
      * many threads; if any, are needed for game synchronization.
      */
     public GameSyncExecutor() {
-        this.service = GameConstants.CONCURRENCY ? create(Runtime.getRuntime().availableProcessors()) : null;
-        this.phaser = GameConstants.CONCURRENCY ? new Phaser(1) : null;
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        this.service = GameConstants.CONCURRENCY ? create(nThreads) : null;
+        this.workers = service != null ? new ChunkWorker[nThreads] : null;
+        if (workers != null) {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new ChunkWorker();
+            }
+        }
     }
 
     /**
@@ -47,34 +75,97 @@ public final class GameSyncExecutor {
      * @param syncTask the synchronization task to execute.
      */
     public void sync(GameSyncTask syncTask) {
-        if (service == null || phaser == null || !syncTask.isConcurrent()) {
-            for (int index = 1; index < syncTask.getCapacity(); index++) {
-                if (!syncTask.checkIndex(index)) {
-                    continue;
-                }
-                syncTask.execute(index);
+        long start = System.nanoTime();
+        if (service == null || !syncTask.isConcurrent()) {
+            execute(syncTask, 1, syncTask.getCapacity());
+        } else {
+            executeChunked(syncTask);
+        }
+        if (syncTask.getName() != null) {
+            long elapsed = System.nanoTime() - start;
+            timings.computeIfAbsent(syncTask.getName(), SyncTiming::new).record(elapsed);
+            TickProfiler.recordPhase(syncTask.getName(), elapsed);
+        }
+    }
+
+    /**
+     * Splits the occupied indices of {@code syncTask} into one chunk per
+     * worker and blocks until every chunk has been executed.
+     *
+     * @param syncTask the synchronization task to execute.
+     */
+    private void executeChunked(GameSyncTask syncTask) {
+        int capacity = syncTask.getCapacity();
+        if (indices.length < capacity) {
+            indices = new int[capacity];
+        }
+        int amount = 0;
+        for (int index = 1; index < capacity; index++) {
+            if (syncTask.checkIndex(index)) {
+                indices[amount++] = index;
             }
+        }
+        if (amount == 0) {
             return;
         }
+        int chunkSize = (amount + workers.length - 1) / workers.length;
+        int chunks = (amount + chunkSize - 1) / chunkSize;
+        CountDownLatch latch = new CountDownLatch(chunks - 1);
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            int from = chunk * chunkSize;
+            workers[chunk].prepare(syncTask, latch, indices, from, Math.min(amount, from + chunkSize));
+            service.execute(workers[chunk]);
+        }
+        execute(syncTask, indices, 0, Math.min(amount, chunkSize));
+        Uninterruptibles.awaitUninterruptibly(latch);
+    }
 
-        phaser.bulkRegister(syncTask.getAmount());
-        for (int index = 1; index < syncTask.getCapacity(); index++) {
-            if (!syncTask.checkIndex(index)) {
-                continue;
-            }
-            final int finalIndex = index;
-            service.execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        syncTask.execute(finalIndex);
-                    } finally {
-                        phaser.arriveAndDeregister();
-                    }
-                }
-            });
-        }
-        phaser.arriveAndAwaitAdvance();
+    /**
+     * Executes {@code syncTask} for every valid index in the given range.
+     *
+     * @param syncTask the synchronization task to execute.
+     * @param from     the first index, inclusive.
+     * @param to       the last index, exclusive.
+     */
+    private static void execute(GameSyncTask syncTask, int from, int to) {
+        for (int index = from; index < to; index++) {
+            execute(syncTask, index);
+        }
+    }
+
+    /**
+     * Executes {@code syncTask} for the indices in the given range of
+     * {@code indices} which are still valid.
+     *
+     * @param syncTask the synchronization task to execute.
+     * @param indices  the indices.
+     * @param from     the first position in {@code indices}, inclusive.
+     * @param to       the last position in {@code indices}, exclusive.
+     */
+    private static void execute(GameSyncTask syncTask, int[] indices, int from, int to) {
+        for (int i = from; i < to; i++) {
+            execute(syncTask, indices[i]);
+        }
+    }
+
+    private static void execute(GameSyncTask syncTask, int index) {
+        if (!syncTask.checkIndex(index)) {
+            return;
+        }
+        try {
+            syncTask.execute(index);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Gets the timings of every named task executed by this executor.
+     *
+     * @return the timings, mapped by task name.
+     */
+    public Map<String, SyncTiming> getTimings() {
+        return timings;
     }
 
     /**
@@ -93,4 +184,81 @@ public final class GameSyncExecutor {
         executor.setThreadFactory(new ThreadFactoryBuilder().setNameFormat("GameSyncThread").build());
         return Executors.unconfigurableExecutorService(executor);
     }
+
+    /**
+     * A reusable worker which executes a single chunk of a synchronization
+     * task, and counts down the task's latch once it's done.
+     */
+    private static final class ChunkWorker implements Runnable {
+
+        private GameSyncTask syncTask;
+        private CountDownLatch latch;
+        private int[] indices;
+        private int from;
+        private int to;
+
+        private void prepare(GameSyncTask syncTask, CountDownLatch latch, int[] indices, int from, int to) {
+            this.syncTask = syncTask;
+            this.latch = latch;
+            this.indices = indices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            try {
+                execute(syncTask, indices, from, to);
+            } finally {
+                CountDownLatch latch = this.latch;
+                this.syncTask = null;
+                this.indices = null;
+                this.latch = null;
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * The timing of a named synchronization task.
+     */
+    public static final class SyncTiming {
+
+        private final String name;
+        private long last;
+        private long total;
+        private long count;
+
+        private SyncTiming(String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos) {
+            last = nanos;
+            total += nanos;
+            count++;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the duration of the last execution, in nanoseconds.
+         */
+        public long getLast() {
+            return last;
+        }
+
+        /**
+         * @return the average duration of an execution, in nanoseconds.
+         */
+        public long getAverage() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
 }
@@ -11,16 +11,26 @@ import com.elvarg.game.World;
  */
 public abstract class GameSyncTask {
     
+    private final String name;
     private final boolean players;
     private final boolean concurrent;
 
-    public GameSyncTask(boolean players, boolean concurrent) {
+    public GameSyncTask(String name, boolean players, boolean concurrent) {
+        this.name = name;
         this.players = players;
         this.concurrent = concurrent;
     }
+
+    public GameSyncTask(boolean players, boolean concurrent) {
+        this(null, players, concurrent);
+    }
     
+    public GameSyncTask(String name, boolean players) {
+        this(name, players, true);
+    }
+
     public GameSyncTask(boolean players) {
-        this(players, true);
+        this(null, players, true);
     }
     
     public abstract void execute(final int index);
@@ -40,4 +50,12 @@ public abstract class GameSyncTask {
     public boolean isConcurrent() {
         return concurrent;
     }
+
+    /**
+     * Gets the name this task is timed under by the {@link GameSyncExecutor},
+     * or {@code null} if it isn't timed.
+     */
+    public String getName() {
+        return name;
+    }
 }
@@ -0,0 +1,227 @@
+package com.elvarg.game.entity.updating.sync;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.entity.impl.Mobile;
+import com.elvarg.game.entity.impl.MobileList;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Location;
+
+/**
+ * An executor which splits the player logic phase into partitions based on
+ * location, and processes every partition on a work-stealing
+ * {@link ForkJoinPool}. Players within the same partition are processed
+ * sequentially, in index order.
+ * <p>
+ * Interactions with an entity in another partition must be submitted through
+ * {@link #submit(Mobile, Runnable)}. These are deferred and executed on the
+ * game thread once every partition has finished. Attacks on a target in
+ * another partition and hits by an attacker in another partition are deferred
+ * as a whole, since both change the state of either side. Logic which touches
+ * world-wide state, such as npc aggression, areas, Bounty Hunter and
+ * synchronous events, must be submitted through {@link #submit(Runnable)}.
+ */
+public final class RegionPartitionExecutor {
+
+    /**
+     * The partition key of the partition being processed by the current
+     * thread, or {@code null} if the current thread isn't processing one.
+     */
+    private static final ThreadLocal<Integer> CURRENT_PARTITION = new ThreadLocal<>();
+
+    /**
+     * The interactions which have been deferred until the merge step.
+     */
+    private static final Queue<Runnable> deferred = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The partition key each player was assigned this cycle, by player index.
+     */
+    private static int[] assignments = new int[0];
+
+    /**
+     * The pool which processes the partitions.
+     */
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The partitions, mapped by their key. The lists are reused every cycle.
+     */
+    private final Map<Integer, List<Player>> partitions = new HashMap<>();
+
+    /**
+     * The partitions containing at least one player this cycle.
+     */
+    private final List<List<Player>> active = new ArrayList<>();
+
+    /**
+     * Processes {@code players} with {@code action}, partitioned by location,
+     * and then executes every deferred interaction.
+     *
+     * @param players the players to process.
+     * @param action  the action to execute for each player.
+     */
+    public void process(MobileList<Player> players, Consumer<Player> action) {
+        partition(players);
+        try {
+            if (!active.isEmpty()) {
+                pool.invoke(new PartitionTask(action, 0, active.size()));
+            }
+        } finally {
+            merge();
+        }
+    }
+
+    /**
+     * Groups the players by partition and makes sure the map regions around
+     * them are loaded, so that no partition has to load them concurrently.
+     *
+     * @param players the players to partition.
+     */
+    private void partition(MobileList<Player> players) {
+        for (List<Player> partition : partitions.values()) {
+            partition.clear();
+        }
+        if (partitions.size() > players.capacity()) {
+            partitions.clear();
+        }
+        active.clear();
+        if (assignments.length != players.capacity()) {
+            assignments = new int[players.capacity()];
+        }
+
+        for (int index = 1; index < players.capacity(); index++) {
+            Player player = players.get(index);
+            if (player == null) {
+                continue;
+            }
+            Location location = player.getLocation();
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    RegionManager.loadMapFiles(location.getX() + (x * 64), location.getY() + (y * 64));
+                }
+            }
+            int key = key(location);
+            assignments[index] = key;
+            List<Player> partition = partitions.computeIfAbsent(key, k -> new ArrayList<>());
+            if (partition.isEmpty()) {
+                active.add(partition);
+            }
+            partition.add(player);
+        }
+    }
+
+    /**
+     * Executes the interactions which were deferred while the partitions were
+     * being processed.
+     */
+    private void merge() {
+        Runnable interaction;
+        while ((interaction = deferred.poll()) != null) {
+            try {
+                interaction.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Executes {@code interaction} with {@code target} immediately if it is
+     * safe to do so, otherwise defers it until every partition has been
+     * processed.
+     *
+     * @param target      the entity being interacted with.
+     * @param interaction the interaction.
+     */
+    public static void submit(Mobile target, Runnable interaction) {
+        if (isLocal(target)) {
+            interaction.run();
+            return;
+        }
+        deferred.add(interaction);
+    }
+
+    /**
+     * Executes {@code action} immediately if the current thread is the game
+     * thread, otherwise defers it until every partition has been processed.
+     *
+     * @param action the action, which may touch world-wide state.
+     */
+    public static void submit(Runnable action) {
+        if (CURRENT_PARTITION.get() == null) {
+            action.run();
+            return;
+        }
+        deferred.add(action);
+    }
+
+    /**
+     * Determines if the current thread may change the state of {@code target},
+     * which is the case on the game thread and for players within the
+     * partition being processed by the current thread.
+     *
+     * @param target the entity.
+     * @return {@code true} if the entity can be changed right away.
+     */
+    public static boolean isLocal(Mobile target) {
+        Integer partition = CURRENT_PARTITION.get();
+        return partition == null || (target.isPlayer() && assignments[target.getIndex()] == partition);
+    }
+
+    /**
+     * Calculates the partition key of a location.
+     *
+     * @param location the location.
+     * @return the partition key.
+     */
+    private static int key(Location location) {
+        int shift = GameConstants.PLAYER_PARTITION_SHIFT;
+        return ((location.getZ() & 3) << 28) | ((location.getX() >> shift) << 14) | (location.getY() >> shift);
+    }
+
+    /**
+     * A fork-join task which processes a range of the active partitions,
+     * splitting it in halves until a single partition remains.
+     */
+    private final class PartitionTask extends RecursiveAction {
+
+        private final Consumer<Player> action;
+        private final int from;
+        private final int to;
+
+        private PartitionTask(Consumer<Player> action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PartitionTask(action, from, middle), new PartitionTask(action, middle, to));
+                return;
+            }
+            List<Player> partition = active.get(from);
+            CURRENT_PARTITION.set(assignments[partition.get(0).getIndex()]);
+            try {
+                for (Player player : partition) {
+                    action.accept(player);
+                }
+            } finally {
+                CURRENT_PARTITION.remove();
+            }
+        }
+    }
+}
@@ -11,6 +11,11 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class Location {
 
+    /**
+     * The maximum distance on either axis at which an entity can be seen.
+     */
+    public static final int VIEW_DISTANCE = 15;
+
     /**
      * The x coordinate of the position.
      */
@@ -361,7 +366,7 @@ public class Location {
         if (this.getZ() != other.getZ())
             return false;
         Location p = Misc.delta(this, other);
-        return p.x <= 15 && p.x >= -15 && p.y <= 15 && p.y >= -15;
+        return p.x <= VIEW_DISTANCE && p.x >= -VIEW_DISTANCE && p.y <= VIEW_DISTANCE && p.y >= -VIEW_DISTANCE;
     }
 
     public Location translate(int x, int y) {
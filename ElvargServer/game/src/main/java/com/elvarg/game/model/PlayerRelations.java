@@ -3,11 +3,15 @@ package com.elvarg.game.model;
 import com.elvarg.game.World;
 import com.elvarg.game.content.clan.ClanChatManager;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.impl.player.PresenceService;
+import com.elvarg.net.packet.BroadcastService;
+import com.elvarg.net.packet.PacketSender;
 import com.elvarg.util.Misc;
 
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * This file represents a player's relation with other world entities, this
@@ -26,14 +30,14 @@ public class PlayerRelations {
     private PrivateChatStatus status = PrivateChatStatus.ON;
 
     /**
-     * This map contains the player's friends list.
+     * This set contains the player's friends list, in the order they were added.
      */
-    private List<Long> friendList = new ArrayList<Long>(200);
+    private LongLinkedOpenHashSet friendList = new LongLinkedOpenHashSet(200);
 
     /**
-     * This map contains the player's ignore list.
+     * This set contains the player's ignore list, in the order they were added.
      */
-    private List<Long> ignoreList = new ArrayList<Long>(100);
+    private LongLinkedOpenHashSet ignoreList = new LongLinkedOpenHashSet(100);
 
     /**
      * The player's current private message index.
@@ -90,7 +94,7 @@ public class PlayerRelations {
      *
      * @return The player's friends.
      */
-    public List<Long> getFriendList() {
+    public LongLinkedOpenHashSet getFriendList() {
         return friendList;
     }
 
@@ -99,7 +103,7 @@ public class PlayerRelations {
      *
      * @return The player's ignore list.
      */
-    public List<Long> getIgnoreList() {
+    public LongLinkedOpenHashSet getIgnoreList() {
         return ignoreList;
     }
 
@@ -114,31 +118,45 @@ public class PlayerRelations {
         if (status == PrivateChatStatus.OFF)
             online = false;
         player.getPacketSender().sendFriendStatus(2);
-        for (Player players : World.getPlayers()) {
-            if (players == null)
+        PresenceService presence = World.getPresence();
+        long name = player.getLongUsername();
+
+        // Notify the players who have this player added..
+        List<Player> visible = new ArrayList<>();
+        List<Player> hidden = new ArrayList<>();
+        for (Player follower : presence.getFollowers(name)) {
+            (online && isVisibleTo(follower) ? visible : hidden).add(follower);
+        }
+        if (!visible.isEmpty()) {
+            BroadcastService.send(PacketSender.buildFriend(name, 1), visible);
+        }
+        if (!hidden.isEmpty()) {
+            BroadcastService.send(PacketSender.buildFriend(name, 0), hidden);
+        }
+
+        // ..and this player of the friends who are online.
+        for (long friend : friendList) {
+            Player other = World.getPlayerByLongUsername(friend).orElse(null);
+            if (other == null) {
                 continue;
-            boolean temporaryOnlineStatus = online;
-            if (players.getRelations().friendList.contains(player.getLongUsername())) {
-                if (status.equals(PrivateChatStatus.FRIENDS_ONLY) && !friendList.contains(players.getLongUsername())
-                        || status.equals(PrivateChatStatus.OFF) || ignoreList.contains(players.getLongUsername())) {
-                    temporaryOnlineStatus = false;
-                }
-                players.getPacketSender().sendFriend(player.getLongUsername(), temporaryOnlineStatus ? 1 : 0);
-            }
-            boolean tempOn = true;
-            if (player.getRelations().friendList.contains(players.getLongUsername())) {
-                if (players.getRelations().status.equals(PrivateChatStatus.FRIENDS_ONLY)
-                        && !players.getRelations().getFriendList().contains(player.getLongUsername())
-                        || players.getRelations().status.equals(PrivateChatStatus.OFF)
-                        || players.getRelations().getIgnoreList().contains(player.getLongUsername())) {
-                    tempOn = false;
-                }
-                player.getPacketSender().sendFriend(players.getLongUsername(), tempOn ? 1 : 0);
             }
+            player.getPacketSender().sendFriend(friend, other.getRelations().isVisibleTo(player) ? 1 : 0);
         }
         return this;
     }
 
+    /**
+     * Checks if this player appears online to {@code other}.
+     *
+     * @param other The player who has this player added.
+     * @return <code>true</code> if the private chat status allows it.
+     */
+    private boolean isVisibleTo(Player other) {
+        long name = other.getLongUsername();
+        return !(status == PrivateChatStatus.FRIENDS_ONLY && !friendList.contains(name)
+                || status == PrivateChatStatus.OFF || ignoreList.contains(name));
+    }
+
     public void sendPrivateStatus() {
         int privateChat = status == PrivateChatStatus.OFF ? 2 : status == PrivateChatStatus.FRIENDS_ONLY ? 1 : 0;
         player.getPacketSender().sendChatOptions(0, privateChat, 0);
@@ -184,7 +202,7 @@ public class PlayerRelations {
      *
      * @param username The user name of the player to add to friend list.
      */
-    public void addFriend(Long username) {
+    public void addFriend(long username) {
         String name = Misc.formatName(Misc.longToString(username));
         if (name.equals(player.getUsername())) {
             return;
@@ -201,12 +219,13 @@ public class PlayerRelations {
             player.getPacketSender().sendMessage(name + " is already on your friends list!");
         } else {
             friendList.add(username);
+            World.getPresence().follow(player, username);
             sendAddFriend(username);
             updateLists(true);
-            Optional<Player> friend = World.getPlayerByName(name);
-            if (friend.isPresent()) {
-                friend.get().getRelations().updateLists(true);
-                ClanChatManager.updateRank(ClanChatManager.getClanChat(player), friend.get());
+            Player friend = World.getPlayerByLongUsername(username).orElse(null);
+            if (friend != null) {
+                friend.getRelations().updateLists(true);
+                ClanChatManager.updateRank(ClanChatManager.getClanChat(player), friend);
                 if (player.getInterfaceId() == ClanChatManager.CLAN_CHAT_SETUP_INTERFACE_ID) {
                 	ClanChatManager.clanChatSetupInterface(player);
                 }
@@ -226,19 +245,20 @@ public class PlayerRelations {
      *
      * @param username The user name of the friend to delete.
      */
-    public void deleteFriend(Long username) {
+    public void deleteFriend(long username) {
         String name = Misc.formatName(Misc.longToString(username));
         if (name.equals(player.getUsername())) {
             return;
         }
         if (friendList.contains(username)) {
             friendList.remove(username);
+            World.getPresence().unfollow(player, username);
             sendDeleteFriend(username);
             updateLists(false);
-            Optional<Player> unfriend = World.getPlayerByName(name);
-            if (unfriend.isPresent()) {
-                unfriend.get().getRelations().updateLists(false);
-                ClanChatManager.updateRank(ClanChatManager.getClanChat(player), unfriend.get());
+            Player unfriend = World.getPlayerByLongUsername(username).orElse(null);
+            if (unfriend != null) {
+                unfriend.getRelations().updateLists(false);
+                ClanChatManager.updateRank(ClanChatManager.getClanChat(player), unfriend);
                 if (player.getInterfaceId() == ClanChatManager.CLAN_CHAT_SETUP_INTERFACE_ID) {
                 	ClanChatManager.clanChatSetupInterface(player);
                 }
@@ -253,7 +273,7 @@ public class PlayerRelations {
      *
      * @param username The user name of the player to add to ignore list.
      */
-    public void addIgnore(Long username) {
+    public void addIgnore(long username) {
         String name = Misc.formatName(Misc.longToString(username));
         if (name.equals(player.getUsername())) {
             return;
@@ -272,9 +292,9 @@ public class PlayerRelations {
             ignoreList.add(username);
             sendAddIgnore(username);
             updateLists(true);
-            Optional<Player> ignored = World.getPlayerByName(name);
-            if (ignored.isPresent())
-                ignored.get().getRelations().updateLists(false);
+            Player ignored = World.getPlayerByLongUsername(username).orElse(null);
+            if (ignored != null)
+                ignored.getRelations().updateLists(false);
         }
     }
 
@@ -283,7 +303,7 @@ public class PlayerRelations {
      *
      * @param username The user name of the ignored player to delete from ignore list.
      */
-    public void deleteIgnore(Long username) {
+    public void deleteIgnore(long username) {
         String name = Misc.formatName(Misc.longToString(username));
         if (name.equals(player.getUsername())) {
             return;
@@ -293,9 +313,9 @@ public class PlayerRelations {
             sendDeleteIgnore(username);
             updateLists(true);
             if (status.equals(PrivateChatStatus.ON)) {
-                Optional<Player> ignored = World.getPlayerByName(name);
-                if (ignored.isPresent())
-                    ignored.get().getRelations().updateLists(true);
+                Player ignored = World.getPlayerByLongUsername(username).orElse(null);
+                if (ignored != null)
+                    ignored.getRelations().updateLists(true);
             }
         } else {
             player.getPacketSender().sendMessage("This player is not on your ignore list!");
@@ -309,8 +329,9 @@ public class PlayerRelations {
      * @param message The message being sent in bytes.
      */
     public void message(Player friend, byte[] message, int size) {
+        long name = player.getLongUsername();
         if (friend.getRelations().status.equals(PrivateChatStatus.FRIENDS_ONLY)
-                && !friend.getRelations().friendList.contains(player.getLongUsername())
+                && !friend.getRelations().friendList.contains(name)
                 || friend.getRelations().status.equals(PrivateChatStatus.OFF)) {
             player.getPacketSender().sendMessage("This player is currently offline.");
             return;
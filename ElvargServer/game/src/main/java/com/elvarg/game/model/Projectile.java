@@ -1,9 +1,12 @@
 package com.elvarg.game.model;
 
-import com.elvarg.game.World;
+import java.util.List;
+
 import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.areas.impl.PrivateArea;
+import com.elvarg.net.packet.BroadcastService;
+import com.elvarg.net.packet.PacketSender;
 
 /**
  * Class representing a Projectile. These can be sent between locations or from a mobile entity to another mobile entity or location.
@@ -78,19 +81,12 @@ public class Projectile {
 	 */
 	private static void sendProjectile(Location start, Location end, Mobile lockon, Projectile p,
 			PrivateArea privateArea) {
-		int speed = p.getSpeed(start, end);
-		for (Player player : World.getPlayers()) {
-			if (player == null) {
-				continue;
-			}
-			if (player.getPrivateArea() != privateArea) {
-				continue;
-			}
-			if (!start.isViewableFrom(player.getLocation())) {
-				continue;
-			}
-			player.getPacketSender().sendProjectile(start, end, 0, speed, p.projectileId, p.startHeight, p.endHeight, lockon, p.delay, p.angle, p.distanceOffset);
+		List<Player> viewers = BroadcastService.getLocalPlayers(start, Location.VIEW_DISTANCE, privateArea);
+		if (viewers.isEmpty()) {
+			return;
 		}
+		int speed = p.getSpeed(start, end);
+		BroadcastService.send(start, PacketSender.buildProjectile(start, end, 0, speed, p.projectileId, p.startHeight, p.endHeight, lockon, p.delay, p.angle, p.distanceOffset), viewers);
 	}
 	
 	private final int projectileId;
@@ -1,10 +1,8 @@
 package com.elvarg.game.model.areas.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 import com.elvarg.game.World;
 import com.elvarg.game.entity.Entity;
@@ -16,19 +14,20 @@ import com.elvarg.game.entity.impl.object.GameObject;
 import com.elvarg.game.entity.impl.object.ObjectManager;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.Boundary;
-import com.elvarg.game.model.Location;
 import com.elvarg.game.model.areas.Area;
 
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
 public abstract class PrivateArea extends Area {
 
     public final List<Entity> entities;
-    private final Map<Location, Integer> clips;
+    private final Long2IntOpenHashMap clips;
     private boolean destroyed;
     
     public PrivateArea(List<Boundary> boundaries) {
         super(boundaries);
         entities = new ArrayList<>();
-        clips = new HashMap<>();
+        clips = new Long2IntOpenHashMap();
     }
 
     @Override
@@ -94,22 +93,23 @@ public abstract class PrivateArea extends Area {
         return objects;
     }
     
-    public void setClip(Location location, int mask) {
-        clips.put(location, mask);
+    public void setClip(int x, int y, int z, int mask) {
+        clips.put(clipKey(x, y, z), mask);
     }
     
-    public void removeClip(Location location) {
-        Iterator<Location> it = clips.keySet().iterator();
-        while (it.hasNext()) {
-            Location clipLocation = it.next();
-            if (clipLocation.equals(location)) {
-                it.remove();
-            }
-        }
+    public void removeClip(int x, int y, int z) {
+        clips.remove(clipKey(x, y, z));
     }
     
-    public int getClip(Location location) {
-        return clips.getOrDefault(location, 0);
+    public int getClip(int x, int y, int z) {
+        return clips.get(clipKey(x, y, z));
+    }
+
+    /**
+     * Packs the coordinates of a tile into the key of its clipping.
+     */
+    private static long clipKey(int x, int y, int z) {
+        return (long) z << 32 | (long) (x & 0xffff) << 16 | (y & 0xffff);
     }
     
     public boolean isDestroyed() {
@@ -115,6 +115,10 @@ public class CommandManager {
         put(new Save(), "save");
         put(new CWarInterfaceCommand(), "cwar");
         put(new ListSizesCommand(), "listsizes");
+        put(new SyncTimesCommand(), "synctimes");
+        put(new ProfilerCommand(), "profiler");
+        put(new SaveStatsCommand(), "savestats");
+        put(new LoginTimesCommand(), "logintimes");
         put(new AttackRange(), "atkrange", "attackrange");
         put(new Donator(), "donator");
         put(new GiveDonator(), "givedonator");
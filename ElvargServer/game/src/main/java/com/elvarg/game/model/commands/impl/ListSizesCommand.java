@@ -9,7 +9,7 @@ public class ListSizesCommand implements Command {
 
     @Override
     public void execute(Player player, String command, String[] parts) {
-        player.getPacketSender().sendMessage("Players: " + World.getPlayers().size() + ", NPCs: " + World.getNpcs().size() + ", Objects: " + World.getObjects().size() + ", GroundItems: " + World.getItems().size() + ".");
+        player.getPacketSender().sendMessage("Players: " + World.getPlayers().size() + ", NPCs: " + World.getNpcs().size() + " (" + World.getRegionActivity().getDormantCount() + " dormant), Objects: " + World.getObjects().size() + ", GroundItems: " + World.getItems().size() + ".");
     }
 
     @Override
@@ -0,0 +1,33 @@
+package com.elvarg.game.model.commands.impl;
+
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.commands.Command;
+import com.elvarg.game.model.rights.PlayerRights;
+import com.elvarg.game.profiling.LatencyHistogram;
+import com.elvarg.net.login.LoginService;
+import com.elvarg.net.login.LoginService.Stage;
+
+public class LoginTimesCommand implements Command {
+
+    @Override
+    public void execute(Player player, String command, String[] parts) {
+        if (parts.length > 1 && parts[1].equalsIgnoreCase("reset")) {
+            LoginService.reset();
+            player.getPacketSender().sendMessage("The login timings have been reset.");
+            return;
+        }
+        player.getPacketSender().sendMessage("Logins queued: " + LoginService.getQueuedCount() + ", active: "
+                + LoginService.getActiveCount() + ", rejected: " + LoginService.getRejectedCount() + ".");
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram timing = LoginService.getTiming(stage);
+            player.getPacketSender().sendMessage(stage.name().toLowerCase() + ": p50 "
+                    + (timing.getValueAtPercentile(50) / 1000) + "us, p99 " + (timing.getValueAtPercentile(99) / 1000)
+                    + "us, max " + (timing.getMax() / 1000) + "us over " + timing.getCount() + " logins.");
+        }
+    }
+
+    @Override
+    public boolean canUse(Player player) {
+        return (player.getRights() == PlayerRights.DEVELOPER || player.getRights() == PlayerRights.OWNER);
+    }
+}
@@ -0,0 +1,59 @@
+package com.elvarg.game.model.commands.impl;
+
+import java.util.List;
+
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.commands.Command;
+import com.elvarg.game.model.rights.PlayerRights;
+import com.elvarg.game.profiling.TickProfiler;
+import com.elvarg.game.profiling.TickProfiler.Entry;
+import com.elvarg.game.profiling.TickProfiler.Snapshot;
+
+public class ProfilerCommand implements Command {
+
+    /**
+     * The amount of packets, tasks and events to show in the summary.
+     */
+    private static final int TOP = 5;
+
+    @Override
+    public void execute(Player player, String command, String[] parts) {
+        String option = parts.length > 1 ? parts[1].toLowerCase() : "";
+        switch (option) {
+        case "on":
+        case "off":
+            TickProfiler.setEnabled(option.equals("on"));
+            player.getPacketSender().sendMessage("The tick profiler is now " + (TickProfiler.isEnabled() ? "enabled" : "disabled") + ".");
+            return;
+        case "reset":
+            TickProfiler.reset();
+            player.getPacketSender().sendMessage("The tick profiler has been reset.");
+            return;
+        case "dump":
+            TickProfiler.dump();
+            player.getPacketSender().sendMessage("The tick profiler has been dumped.");
+            return;
+        }
+
+        Snapshot snapshot = TickProfiler.snapshot();
+        player.getPacketSender().sendMessage("Overruns: " + snapshot.getOverruns() + (TickProfiler.isEnabled() ? "" : " (disabled)"));
+        for (Entry phase : snapshot.getPhases()) {
+            player.getPacketSender().sendMessage(phase.toString());
+        }
+        send(player, "Packets", snapshot.getPackets());
+        send(player, "Tasks", snapshot.getTasks());
+        send(player, "Events", snapshot.getEvents());
+    }
+
+    private static void send(Player player, String title, List<Entry> entries) {
+        player.getPacketSender().sendMessage(title + ":");
+        for (int i = 0; i < Math.min(TOP, entries.size()); i++) {
+            player.getPacketSender().sendMessage(entries.get(i).toString());
+        }
+    }
+
+    @Override
+    public boolean canUse(Player player) {
+        return (player.getRights() == PlayerRights.DEVELOPER || player.getRights() == PlayerRights.OWNER);
+    }
+}
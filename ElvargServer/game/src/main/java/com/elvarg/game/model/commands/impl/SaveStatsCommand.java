@@ -0,0 +1,27 @@
+package com.elvarg.game.model.commands.impl;
+
+import com.elvarg.game.World;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.impl.player.persistence.PlayerSaveService;
+import com.elvarg.game.model.commands.Command;
+import com.elvarg.game.model.rights.PlayerRights;
+
+public class SaveStatsCommand implements Command {
+
+    @Override
+    public void execute(Player player, String command, String[] parts) {
+        PlayerSaveService service = World.getSaveService();
+        player.getPacketSender().sendMessage("Pending saves: " + service.getPendingCount() + " (peak "
+                + service.getPeakPendingCount() + ").");
+        player.getPacketSender().sendMessage("Submitted " + service.getSubmittedCount() + ", coalesced "
+                + service.getCoalescedCount() + ", written " + service.getWrittenCount() + ", failed "
+                + service.getFailedCount() + ".");
+        player.getPacketSender().sendMessage("Average write " + (service.getAverageWriteTime() / 1000)
+                + "us, last queue latency " + (service.getLastLatency() / 1000_000) + "ms.");
+    }
+
+    @Override
+    public boolean canUse(Player player) {
+        return (player.getRights() == PlayerRights.DEVELOPER || player.getRights() == PlayerRights.OWNER);
+    }
+}
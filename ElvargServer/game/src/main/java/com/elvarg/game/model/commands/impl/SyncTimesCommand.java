@@ -0,0 +1,30 @@
+package com.elvarg.game.model.commands.impl;
+
+import com.elvarg.game.World;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.updating.sync.GameSyncExecutor.SyncTiming;
+import com.elvarg.game.model.commands.Command;
+import com.elvarg.game.model.rights.PlayerRights;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyncTimesCommand implements Command {
+
+    @Override
+    public void execute(Player player, String command, String[] parts) {
+        List<SyncTiming> timings;
+        synchronized (World.getSyncExecutor().getTimings()) {
+            timings = new ArrayList<>(World.getSyncExecutor().getTimings().values());
+        }
+        for (SyncTiming timing : timings) {
+            player.getPacketSender().sendMessage(timing.getName() + ": last " + (timing.getLast() / 1000) + "us, avg "
+                    + (timing.getAverage() / 1000) + "us over " + timing.getCount() + " cycles.");
+        }
+    }
+
+    @Override
+    public boolean canUse(Player player) {
+        return (player.getRights() == PlayerRights.DEVELOPER || player.getRights() == PlayerRights.OWNER);
+    }
+}
@@ -1,5 +1,7 @@
 package com.elvarg.game.model.commands.impl;
 
+import java.util.Map;
+
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.game.model.commands.Command;
 import com.elvarg.game.model.rights.PlayerRights;
@@ -10,6 +12,13 @@ public class TaskDebug implements Command {
 	@Override
 	public void execute(Player player, String command, String[] parts) {
 		player.getPacketSender().sendMessage("Active tasks : " +  Integer.toString(TaskManager.getTaskAmount()) + ".");
+		int shown = 0;
+		for (Map.Entry<Class<?>, Integer> entry : TaskManager.getTaskCounts().entrySet()) {
+			if (shown++ == 10) {
+				break;
+			}
+			player.getPacketSender().sendMessage(entry.getKey().getName() + ": " + entry.getValue());
+		}
 	}
 
 	@Override
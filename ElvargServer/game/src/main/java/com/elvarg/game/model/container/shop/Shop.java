@@ -5,8 +5,12 @@ import com.elvarg.game.model.container.shop.currency.ShopCurrencies;
 import com.elvarg.game.model.container.shop.currency.ShopCurrency;
 import com.elvarg.game.model.container.shop.currency.impl.CoinsCurrency;
 
+import com.elvarg.game.entity.impl.player.Player;
+
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class Shop {
 
@@ -61,6 +65,12 @@ public class Shop {
     private boolean restocking;
     private ShopCurrency currency;
 
+    /**
+     * The players who currently have this shop open, maintained through
+     * {@link Player#setShop(Shop)}.
+     */
+    private final Set<Player> viewers = new HashSet<>();
+
     public Shop(int id, String name, Item[] originalStock) {
         this.id = id;
         this.name = name;
@@ -141,13 +151,20 @@ public class Shop {
     }
 
     public boolean isFull() {
+        return size() >= MAX_SHOP_ITEMS;
+    }
+
+    /**
+     * Gets the amount of different items in stock.
+     */
+    public int size() {
         int amount = 0;
         for (Item item : currentStock) {
             if (item == null)
                 continue;
             amount++;
         }
-        return (amount >= MAX_SHOP_ITEMS);
+        return amount;
     }
 
     public int getAmount(int itemId, boolean fromOriginalStock) {
@@ -206,4 +223,8 @@ public class Shop {
     public void setRestocking(boolean restocking) {
         this.restocking = restocking;
     }
+
+    public Set<Player> getViewers() {
+        return viewers;
+    }
 }
@@ -1,11 +1,13 @@
 package com.elvarg.game.model.container.shop;
 
-import com.elvarg.game.World;
 import com.elvarg.game.definition.ItemDefinition;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.model.Item;
 import com.elvarg.game.model.PlayerStatus;
 import com.elvarg.game.task.TaskManager;
 import com.elvarg.game.task.impl.ShopRestockTask;
+import com.elvarg.net.packet.BroadcastService;
+import com.elvarg.net.packet.PacketSender;
 import com.elvarg.util.ItemIdentifiers;
 import com.elvarg.util.Misc;
 import com.elvarg.util.ShopIdentifiers;
@@ -84,15 +86,16 @@ public class ShopManager extends ShopIdentifiers {
      * @param shop
      */
     public static void refresh(Shop shop) {
-        for (Player player : World.getPlayers()) {
-            if (player == null) {
-                continue;
-            }
+        if (shop.getViewers().isEmpty()) {
+            return;
+        }
 
-            // If the player's viewing the shop, simply re-open it..
-            if (viewingShop(player, shop.getId())) {
-                open(player, shop, false);
-            }
+        // The stock is the same for everyone viewing the shop..
+        BroadcastService.send(PacketSender.buildInterfaceItems(Shop.ITEM_CHILD_ID, shop.getCurrentStockList()), shop.getViewers());
+
+        // ..but their inventories aren't.
+        for (Player player : shop.getViewers()) {
+            player.getPacketSender().sendItemContainer(player.getInventory(), Shop.INVENTORY_INTERFACE_ID);
         }
     }
 
@@ -214,96 +217,105 @@ public class ShopManager extends ShopIdentifiers {
             return;
         }
 
-        // Used for checking if a player
-        // actually managed to buy an item.
-        boolean bought = false;
+        // Make sure at least one can be bought..
+        if (!canBuy(player, shop, slot, itemDef, itemValue)) {
+            return;
+        }
 
-        // Start buying the item.
-        for (int i = amount; i > 0; i--) {
+        int bought = getBuyableAmount(player, shop, slot, itemDef, itemValue, amount);
+        if (bought == 0) {
+            return;
+        }
 
-            // Get the player's currency amount..
-            int currencyAmount = shop.getCurrency().getAmountForPlayer(player);
+        // Buy them all at once..
+        shop.getCurrency().decrementForPlayer(player, itemValue * bought);
+        shop.removeItem(itemId, bought);
+        player.getInventory().add(itemId, bought);
 
-            // Make sure the item is still in the shop..
-            if (player.getShop().getCurrentStock()[slot] == null) {
-                break;
-            }
+        // Let the player know why they couldn't buy the rest.
+        if (!itemDef.isStackable() && bought < amount) {
+            canBuy(player, shop, slot, itemDef, itemValue);
+        }
 
-            // The amount of this item in the shop.
-            int shopItemAmount = shop.getCurrentStock()[slot].getAmount();
+        ShopManager.refresh(shop);
+        if (!shop.isRestocking()) {
+            TaskManager.submit(new ShopRestockTask(shop));
+            shop.setRestocking(true);
+        }
+    }
 
-            // Verify the item's amount.
-            if (shopItemAmount <= 1 && !deletesItems(shop.getId())) {
-                player.getPacketSender().sendMessage("This item is currently out of stock. Come back later.");
-                break;
-            }
+    /**
+     * Checks if a player can buy one of an item, and lets them know why if
+     * they can't.
+     *
+     * @param player
+     * @param shop
+     * @param slot
+     * @param itemDef
+     * @param itemValue
+     * @return
+     */
+    private static boolean canBuy(Player player, Shop shop, int slot, ItemDefinition itemDef, int itemValue) {
+        // Make sure the item is still in the shop..
+        Item stock = shop.getCurrentStock()[slot];
+        if (stock == null) {
+            return false;
+        }
 
-            // Inventory space..
-            if (player.getInventory().isFull()) {
-                if (!(itemDef.isStackable() && player.getInventory().contains(itemId))) {
-                    player.getInventory().full();
-                    break;
-                }
-            }
+        // Verify the item's amount.
+        if (stock.getAmount() <= 1 && !deletesItems(shop.getId())) {
+            player.getPacketSender().sendMessage("This item is currently out of stock. Come back later.");
+            return false;
+        }
 
-            // Check if we can afford the item or not.
-            if (currencyAmount < itemValue) {
-                player.getPacketSender().sendMessage("You can't afford that.");
-                break;
+        // Inventory space..
+        if (player.getInventory().isFull()) {
+            if (!(itemDef.isStackable() && player.getInventory().contains(itemDef.getId()))) {
+                player.getInventory().full();
+                return false;
             }
+        }
 
-            // Handle actual purchase..
-            if (!itemDef.isStackable()) {
-
-                // Deduct player's currency..
-                shop.getCurrency().decrementForPlayer(player, itemValue);
-
-                // Remove item from shop..
-                shop.removeItem(itemId, 1);
-
-                // Add item to player's inventory..
-                player.getInventory().add(itemId, 1);
-
-                // Flag as bought..
-                bought = true;
-
-            } else {
-                int canBeBought = (currencyAmount / itemValue);
-
-                if (canBeBought >= i) {
-                    canBeBought = i;
-                }
-
-                // Make sure player can't buy more than the stock amount allows.
-                if (canBeBought >= shopItemAmount) {
-                    canBeBought = deletesItems(shop.getId()) ? shopItemAmount : shopItemAmount - 1;
-                }
-
-                if (canBeBought == 0)
-                    break;
-
-                // Deduct player's currency..
-                shop.getCurrency().decrementForPlayer(player, itemValue * canBeBought);
+        // Check if we can afford the item or not.
+        if (shop.getCurrency().getAmountForPlayer(player) < itemValue) {
+            player.getPacketSender().sendMessage("You can't afford that.");
+            return false;
+        }
+        return true;
+    }
 
-                // Remove items from shop..
-                shop.removeItem(itemId, canBeBought);
+    /**
+     * Gets the amount of an item a player can buy at once, which is the same
+     * amount they would get by buying them one by one.
+     *
+     * @param player
+     * @param shop
+     * @param slot
+     * @param itemDef
+     * @param itemValue
+     * @param amount    the amount the player wants to buy.
+     * @return
+     */
+    private static int getBuyableAmount(Player player, Shop shop, int slot, ItemDefinition itemDef, int itemValue, int amount) {
+        int stock = shop.getCurrentStock()[slot].getAmount();
+        boolean deletes = deletesItems(shop.getId());
 
-                // Add items to player's inventory..
-                player.getInventory().add(itemId, canBeBought);
+        int canBeBought = Math.min(amount, shop.getCurrency().getAmountForPlayer(player) / itemValue);
 
-                // Flag as bought..
-                bought = true;
-                break;
+        if (itemDef.isStackable()) {
+            // Make sure player can't buy more than the stock amount allows.
+            if (canBeBought >= stock) {
+                canBeBought = deletes ? stock : stock - 1;
             }
+            return canBeBought;
         }
 
-        if (bought) {
-            ShopManager.refresh(shop);
-            if (!shop.isRestocking()) {
-                TaskManager.submit(new ShopRestockTask(shop));
-                shop.setRestocking(true);
-            }
-        }
+        // Every item needs its own slot..
+        canBeBought = Math.min(canBeBought, player.getInventory().getFreeSlots());
+
+        // ..and the shop keeps the last one of every item, unless it deletes
+        // them, in which case the last one is gone once the stock drops to one.
+        return Math.min(canBeBought, deletes ? Math.max(1, stock - 1) : stock - 1);
     }
 
     public static void sellItem(Player player, int slot, int itemId, int amount) {
@@ -368,81 +380,83 @@ public class ShopManager extends ShopIdentifiers {
             return;
         }
 
-        // A flag which indicates if an item was sold.
-        boolean sold = false;
-
-        // Perform sale..
-        for (int amountRemaining = amount; amountRemaining > 0; amountRemaining--) {
-            // Check if the shop is full..
-            if (shop.isFull()) {
-                player.getPacketSender().sendMessage("The shop is currently full.");
-                break;
-            }
-
-            // Check if player still has the item..
-            if (!player.getInventory().contains(itemId)) {
-                break;
-            }
-
-            // Verify inventory space..
-            if (player.getInventory().getFreeSlots() == 0) {
-                boolean allow = false;
-
-                // If we're selling the exact amount of what we have..
-                if (itemDef.isStackable()) {
-                    if (amount == player.getInventory().getAmount(itemId)) {
-                        allow = true;
-                    }
-                }
-
-                // If their inventory has the coins..
-                if (shop.getCurrency().getName().equalsIgnoreCase("coins")) {
-                    if (player.getInventory().contains(ItemIdentifiers.COINS)) {
-                        allow = true;
-                    }
-                }
+        // Make sure at least one can be sold..
+        if (!canSell(player, shop, itemDef, amount)) {
+            return;
+        }
 
-                if (!allow) {
-                    player.getInventory().full();
-                    break;
-                }
-            }
+        // Selling an item the shop doesn't have takes up a slot in the shop,
+        // which may fill it up.
+        int sold = amount;
+        if (!itemDef.isStackable() && shop.getAmount(itemId, false) == 0
+                && shop.size() + 1 >= Shop.MAX_SHOP_ITEMS) {
+            sold = 1;
+        }
 
-            if (!itemDef.isStackable()) {
-                // Remove item from player's inventory..
-                player.getInventory().delete(itemId, 1);
+        // Sell them all at once..
+        player.getInventory().delete(itemId, sold);
+        shop.getCurrency().incrementForPlayer(player, (int) Math.min(Integer.MAX_VALUE, (long) itemValue * sold));
+        shop.addItem(itemId, sold);
 
-                // Add player currency..
-                shop.getCurrency().incrementForPlayer(player, itemValue);
+        // Let the player know why they couldn't sell the rest.
+        if (sold < amount) {
+            canSell(player, shop, itemDef, amount);
+        }
 
-                // Add item to shop..
-                shop.addItem(itemId, 1);
+        // Refresh shop..
+        ShopManager.refresh(shop);
+        if (!shop.isRestocking()) {
+            TaskManager.submit(new ShopRestockTask(shop));
+            shop.setRestocking(true);
+        }
+    }
 
-                sold = true;
-            } else {
+    /**
+     * Checks if a player can sell one of an item, and lets them know why if
+     * they can't.
+     *
+     * @param player
+     * @param shop
+     * @param itemDef
+     * @param amount  the amount the player wants to sell.
+     * @return
+     */
+    private static boolean canSell(Player player, Shop shop, ItemDefinition itemDef, int amount) {
+        // Check if the shop is full..
+        if (shop.isFull()) {
+            player.getPacketSender().sendMessage("The shop is currently full.");
+            return false;
+        }
 
-                // Remove item from player's inventory..
-                player.getInventory().delete(itemId, amountRemaining);
+        // Check if player still has the item..
+        if (!player.getInventory().contains(itemDef.getId())) {
+            return false;
+        }
 
-                // Add player currency..
-                shop.getCurrency().incrementForPlayer(player, itemValue * amountRemaining);
+        // Verify inventory space..
+        if (player.getInventory().getFreeSlots() == 0) {
+            boolean allow = false;
 
-                // Add item to shop..
-                shop.addItem(itemId, amountRemaining);
+            // If we're selling the exact amount of what we have..
+            if (itemDef.isStackable()) {
+                if (amount == player.getInventory().getAmount(itemDef.getId())) {
+                    allow = true;
+                }
+            }
 
-                sold = true;
-                break;
+            // If their inventory has the coins..
+            if (shop.getCurrency().getName().equalsIgnoreCase("coins")) {
+                if (player.getInventory().contains(ItemIdentifiers.COINS)) {
+                    allow = true;
+                }
             }
-        }
 
-        // Refresh shop..
-        if (sold) {
-            ShopManager.refresh(shop);
-            if (!shop.isRestocking()) {
-                TaskManager.submit(new ShopRestockTask(shop));
-                shop.setRestocking(true);
+            if (!allow) {
+                player.getInventory().full();
+                return false;
             }
         }
+        return true;
     }
 
     /**
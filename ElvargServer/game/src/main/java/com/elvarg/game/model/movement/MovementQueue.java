@@ -13,6 +13,7 @@ import com.elvarg.game.content.combat.method.CombatMethod;
 import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.entity.impl.npc.NPC;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.updating.sync.RegionPartitionExecutor;
 import com.elvarg.game.model.Direction;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.Skill;
@@ -20,6 +21,8 @@ import com.elvarg.game.model.movement.path.PathFinder;
 import com.elvarg.game.model.movement.path.RS317PathFinder;
 import com.elvarg.game.model.rights.PlayerRights;
 import com.elvarg.game.task.TaskManager;
+import com.elvarg.plugin.event.EventManager;
+import com.elvarg.plugin.event.impl.RegionChangeEvent;
 import com.elvarg.util.Misc;
 import com.elvarg.util.NpcIdentifiers;
 import com.elvarg.util.RandomGen;
@@ -202,23 +205,20 @@ public final class MovementQueue {
     }
 
     /**
-     * Adds a step to this MovementQueue.
+     * Adds a single step to this MovementQueue.
      *
      * @param x           The x coordinate of this step.
      * @param y           The y coordinate of this step.
      * @param heightLevel
      */
-    private void addStep(int x, int y, int heightLevel) {
-        if (!this.getMobility().canMove()) {
-            return;
-        }
-
+    private void appendStep(int x, int y, int heightLevel) {
         if (points.size() >= MAXIMUM_SIZE)
             return;
 
-        final Point last = getLast();
-        final int deltaX = x - last.position.getX();
-        final int deltaY = y - last.position.getY();
+        final Point last = points.peekLast();
+        final Location from = last == null ? character.getLocation() : last.position;
+        final int deltaX = x - from.getX();
+        final int deltaY = y - from.getY();
         final Direction direction = Direction.fromDeltas(deltaX, deltaY);
         if (direction != Direction.NONE)
             points.add(new Point(new Location(x, y, heightLevel), direction));
@@ -231,15 +231,26 @@ public final class MovementQueue {
      * @oaram flag
      */
     public void addStep(Location step) {
+        addStep(step.getX(), step.getY(), step.getZ());
+    }
+
+    /**
+     * Adds a step to the queue, walking there in a straight line from the last
+     * step in the queue.
+     *
+     * @param x           The x coordinate of the step.
+     * @param y           The y coordinate of the step.
+     * @param heightLevel The height level of the step.
+     */
+    public void addStep(int x, int y, int heightLevel) {
         if (!this.getMobility().canMove()) {
             return;
         }
 
-        final Point last = getLast();
-        final int x = step.getX();
-        final int y = step.getY();
-        int deltaX = x - last.position.getX();
-        int deltaY = y - last.position.getY();
+        final Point last = points.peekLast();
+        final Location from = last == null ? character.getLocation() : last.position;
+        int deltaX = x - from.getX();
+        int deltaY = y - from.getY();
         final int max = Math.max(Math.abs(deltaX), Math.abs(deltaY));
         for (int i = 0; i < max; i++) {
             if (deltaX < 0)
@@ -250,7 +261,7 @@ public final class MovementQueue {
                 deltaY++;
             else if (deltaY > 0)
                 deltaY--;
-            addStep(x - deltaX, y - deltaY, step.getZ());
+            appendStep(x - deltaX, y - deltaY, heightLevel);
         }
     }
 
@@ -315,18 +326,6 @@ public final class MovementQueue {
         return true;
     }
 
-    /**
-     * Gets the last point.
-     *
-     * @return The last point.
-     */
-    private Point getLast() {
-        final Point last = points.peekLast();
-        if (last == null)
-            return new Point(character.getLocation(), Direction.NONE);
-        return last;
-    }
-
 
     public int followX = -1;
     public int followY = -1;
@@ -439,6 +438,10 @@ public final class MovementQueue {
         if (regionChanged || player.getRegionHeight() != player.getLocation().getZ()) {
             player.getPacketSender().sendMapRegion();
             player.setRegionHeight(player.getLocation().getZ());
+
+            if (EventManager.INSTANCE.hasListeners(RegionChangeEvent.class)) {
+                RegionPartitionExecutor.submit(() -> EventManager.INSTANCE.dispatch(new RegionChangeEvent(player)));
+            }
         }
     }
 
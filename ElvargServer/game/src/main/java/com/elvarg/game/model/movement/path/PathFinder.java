@@ -177,73 +177,74 @@ public class PathFinder {
     public static Location getClosestAttackableTile(Mobile attacker, Mobile defender, int distance) {
         PrivateArea privateArea = attacker.getPrivateArea();
         Location targetLocation = defender.getLocation();
+        SearchBuffers buffers = SEARCH_BUFFERS.get();
+        Location tile = buffers.tile;
 
         if (distance == 1) {
             final int size = attacker.size();
             final int followingSize = defender.size();
-            final Location current = attacker.getLocation();
-
-            List<Location> tiles = new ArrayList<>();
-            List<Location> outerTiles = Arrays.stream(defender.outterTiles()).toList();
 
             if (DEBUG_ATTACK_DISTANCE && attacker.isPlayer() && attacker.getAsPlayer().getRights() == PlayerRights.DEVELOPER) {
                 // If we're debugging attack range
-                outerTiles.forEach(t -> attacker.getAsPlayer().getPacketSender().sendGraphic(AttackRange.PURPLE_GLOW, t));
-            }
-
-            for (Location tile : outerTiles) {
-                if (!RegionManager.canMove(attacker.getLocation(), tile, size, size, privateArea) || RegionManager.blocked(tile, privateArea)) {
-                    continue;
+                for (Location t : defender.outterTiles()) {
+                    attacker.getAsPlayer().getPacketSender().sendGraphic(AttackRange.PURPLE_GLOW, t);
                 }
-                // Projectile attack
-                if (attacker.useProjectileClipping() && !RegionManager.canProjectileAttack(tile, targetLocation, size, privateArea)) {
-                    continue;
-                }
-                tiles.add(tile);
             }
 
-            if (!tiles.isEmpty()) {
-                tiles.sort((l1, l2) -> {
-                    int distance1 = l1.getDistance(current);
-                    int distance2 = l2.getDistance(current);
-                    int delta = (distance1 - distance2);
+            // Make sure we don't pick a diagonal tile if we're a small entity and have to
+            // attack closely (melee).
+            final boolean preferPerpendicular = size == 1 && followingSize == 1;
 
-                    // Make sure we don't pick a diagonal tile if we're a small entity and have to
-                    // attack closely (melee).
-                    if (distance1 == distance2 && size == 1 && followingSize == 1) {
-                        if (l1.isPerpendicularTo(current)) {
-                            return -1;
-                        } else if (l2.isPerpendicularTo(current)) {
-                            return 1;
-                        }
-                    }
-
-                    return delta;
-                });
+            // The same tiles, in the same order, as Mobile#outterTiles
+            buffers.resetBest();
+            for (int x = 0; x < followingSize; x++) {
+                considerAdjacentTile(buffers, attacker, targetLocation, x, -1, size, preferPerpendicular, privateArea);
+                considerAdjacentTile(buffers, attacker, targetLocation, x, followingSize, size, preferPerpendicular, privateArea);
+            }
+            for (int y = 0; y < followingSize; y++) {
+                considerAdjacentTile(buffers, attacker, targetLocation, -1, y, size, preferPerpendicular, privateArea);
+                considerAdjacentTile(buffers, attacker, targetLocation, followingSize, y, size, preferPerpendicular, privateArea);
+            }
 
-                return tiles.get(0);
+            if (buffers.bestCost != Integer.MAX_VALUE) {
+                return new Location(buffers.bestX, buffers.bestY, targetLocation.getZ());
             }
         }
 
-        Optional<Location> tile = Optional.empty();
+        final Location current = attacker.getLocation();
+        boolean found = false;
+        int bestX = 0, bestY = 0;
 
         // Starting from the max distance, try to find a suitable tile to attack from
-        while (tile.isEmpty()) {
+        while (!found) {
             // Fetch the circumference of the closest attackable tiles to the target
-            List<Location> possibleTiles = getTilesForDistance(targetLocation, distance);
+            int[][] deltas = TILE_DISTANCE_DELTAS.get(Math.min(distance, CombatConstants.MAX_ATTACK_DISTANCE));
 
             if (DEBUG_ATTACK_DISTANCE && attacker.isPlayer() && attacker.getAsPlayer().getRights() == PlayerRights.DEVELOPER) {
                 // If we're debugging attack range
-                possibleTiles.forEach(t -> attacker.getAsPlayer().getPacketSender().sendGraphic(AttackRange.PURPLE_GLOW, t));
+                getTilesForDistance(targetLocation, distance).forEach(t -> attacker.getAsPlayer().getPacketSender().sendGraphic(AttackRange.PURPLE_GLOW, t));
             }
 
-            tile = possibleTiles.stream()
-            // Filter out any tiles which are clipped
-            .filter(t -> !RegionManager.blocked(t, attacker.getPrivateArea()))
-            // Filter out any tiles which projectiles are blocked from (i.e. tree is in the way)
-            .filter(t -> RegionManager.canProjectileAttack(attacker, t, targetLocation))
-            // Find the tile closest to the attacker
-            .min(Comparator.comparing(attacker.getLocation()::getDistance));
+            int bestDistance = Integer.MAX_VALUE;
+            for (int[] delta : deltas) {
+                tile.set(targetLocation.getX() + delta[0], targetLocation.getY() + delta[1], targetLocation.getZ());
+                // Filter out any tiles which are clipped
+                if (RegionManager.blocked(tile, privateArea)) {
+                    continue;
+                }
+                // Filter out any tiles which projectiles are blocked from (i.e. tree is in the way)
+                if (!RegionManager.canProjectileAttack(attacker, tile, targetLocation)) {
+                    continue;
+                }
+                // Find the tile closest to the attacker
+                int tileDistance = current.getDistance(tile);
+                if (tileDistance < bestDistance) {
+                    bestDistance = tileDistance;
+                    bestX = tile.getX();
+                    bestY = tile.getY();
+                    found = true;
+                }
+            }
 
             if (distance == 1) {
                 // We've reached the closest attackable tile, break out of the loop as we can't get any closer
@@ -254,12 +255,43 @@ public class PathFinder {
             }
         }
 
-        if (tile.isEmpty()) {
+        if (!found) {
             attacker.sendMessage("I can't reach that.");
             return null;
         }
 
-        return tile.get();
+        return new Location(bestX, bestY, targetLocation.getZ());
+    }
+
+    /**
+     * Considers a tile adjacent to the target as the tile to attack it from,
+     * keeping it in {@code buffers} if it's reachable and closer than the best
+     * tile found so far.
+     *
+     * @param offsetX the x offset of the tile from the target's location.
+     * @param offsetY the y offset of the tile from the target's location.
+     */
+    private static void considerAdjacentTile(SearchBuffers buffers, Mobile attacker, Location targetLocation, int offsetX, int offsetY,
+                                             int size, boolean preferPerpendicular, PrivateArea privateArea) {
+        Location tile = buffers.tile;
+        tile.set(targetLocation.getX() + offsetX, targetLocation.getY() + offsetY, targetLocation.getZ());
+        if (!RegionManager.canMove(attacker.getLocation(), tile, size, size, privateArea) || RegionManager.blocked(tile, privateArea)) {
+            return;
+        }
+        // Projectile attack
+        if (attacker.useProjectileClipping() && !RegionManager.canProjectileAttack(tile, targetLocation, size, privateArea)) {
+            return;
+        }
+        final Location current = attacker.getLocation();
+        int cost = tile.getDistance(current) * 2;
+        if (preferPerpendicular && tile.getX() != current.getX() && tile.getY() != current.getY()) {
+            cost++;
+        }
+        if (cost < buffers.bestCost) {
+            buffers.bestCost = cost;
+            buffers.bestX = tile.getX();
+            buffers.bestY = tile.getY();
+        }
     }
 
     /**
@@ -275,19 +307,25 @@ public class PathFinder {
         return Arrays.stream(deltas).map((d) -> center.clone().translate(d[0], d[1])).collect(Collectors.toList());
     }
 
+    /**
+     * The buffers used by searches on the current thread.
+     */
+    private static final ThreadLocal<SearchBuffers> SEARCH_BUFFERS = ThreadLocal.withInitial(SearchBuffers::new);
+
     public static int calculateRoute(Mobile entity, int size, int destX, int destY, int xLength, int yLength, int direction, int blockingMask, boolean basicPather) {
 
         /** RS Protocol **/
         byte byte0 = 104;
         byte byte1 = 104;
 
-        int[][] directions = new int[104][104];
+        /** Reused for every search on this thread, see {@link SearchBuffers} **/
+        SearchBuffers buffers = SEARCH_BUFFERS.get();
 
-        int[][] distanceValues = new int[104][104];
+        buffers.reset();
 
-        int[] routeStepsX = new int[4096];
+        int[] routeStepsX = buffers.routeStepsX;
 
-        int[] routeStepsY = new int[4096];
+        int[] routeStepsY = buffers.routeStepsY;
 
         int anInt1264 = 0;
 
@@ -296,14 +334,6 @@ public class PathFinder {
         entity.getMovementQueue().lastDestX = destX;
 
         entity.getMovementQueue().lastDestY = destY;
-        /** RS Protocol **/
-        for (int l2 = 0; l2 < 104; l2++) {
-            for (int i3 = 0; i3 < 104; i3++) {
-                directions[l2][i3] = 0;
-                distanceValues[l2][i3] = 0x5f5e0ff;
-            }
-        }
-
         /** Required for based on client **/
         int localX = entity.getLocation().getLocalX();
         int localY = entity.getLocation().getLocalY();
@@ -315,8 +345,7 @@ public class PathFinder {
         /** DestinationY for LocalY **/
         var destinationY = destY - (entity.getLocation().getRegionY() << 3);
         /** RS Protocol **/
-        directions[localX][localY] = 99;
-        distanceValues[localX][localY] = 0;
+        buffers.visit(localX, localY, 99, 0);
         /** Size of the 2nd queue **/
         int tail = 0;
         /** Size of the 1st queue **/
@@ -371,73 +400,65 @@ public class PathFinder {
             }
 
             /** Cost for the distance **/
-            int priceValue = distanceValues[baseX][baseY] + 1;
+            int priceValue = buffers.distance(baseX, baseY) + 1;
 
-            if (baseX > 0 && directions[baseX - 1][baseY] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0) {
+            if (baseX > 0 && buffers.direction(baseX - 1, baseY) == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0) {
                 routeStepsX[tail] = baseX - 1;
                 routeStepsY[tail] = baseY;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY] = 2;
-                distanceValues[baseX - 1][baseY] = priceValue;
+                buffers.visit(baseX - 1, baseY, 2, priceValue);
             }
 
-            if (baseX < byte0 - 1 && directions[baseX + 1][baseY] == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0) {
+            if (baseX < byte0 - 1 && buffers.direction(baseX + 1, baseY) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0) {
                 routeStepsX[tail] = baseX + 1;
                 routeStepsY[tail] = baseY;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY] = 8;
-                distanceValues[baseX + 1][baseY] = priceValue;
+                buffers.visit(baseX + 1, baseY, 8, priceValue);
             }
-            if (baseY > 0 && directions[baseX][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
+            if (baseY > 0 && buffers.direction(baseX, baseY - 1) == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
                 routeStepsX[tail] = baseX;
                 routeStepsY[tail] = baseY - 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX][baseY - 1] = 1;
-                distanceValues[baseX][baseY - 1] = priceValue;
+                buffers.visit(baseX, baseY - 1, 1, priceValue);
             }
-            if (baseY < byte1 - 1 && directions[baseX][baseY + 1] == 0 && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
+            if (baseY < byte1 - 1 && buffers.direction(baseX, baseY + 1) == 0 && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
                 routeStepsX[tail] = baseX;
                 routeStepsY[tail] = baseY + 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX][baseY + 1] = 4;
-                distanceValues[baseX][baseY + 1] = priceValue;
+                buffers.visit(baseX, baseY + 1, 4, priceValue);
             }
-            if (baseX > 0 && baseY > 0 && directions[baseX - 1][baseY - 1] == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY - 1, height, area) & SOUTHWEST) == 0
+            if (baseX > 0 && baseY > 0 && buffers.direction(baseX - 1, baseY - 1) == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY - 1, height, area) & SOUTHWEST) == 0
                     && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0 && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
                 routeStepsX[tail] = baseX - 1;
                 routeStepsY[tail] = baseY - 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY - 1] = 3;
-                distanceValues[baseX - 1][baseY - 1] = priceValue;
+                buffers.visit(baseX - 1, baseY - 1, 3, priceValue);
             }
 
-            if (baseX < byte0 - 1 && baseY > 0 && directions[baseX + 1][baseY - 1] == 0
+            if (baseX < byte0 - 1 && baseY > 0 && buffers.direction(baseX + 1, baseY - 1) == 0
                     && (RegionManager.getClipping(absoluteX + 1, absoluteY - 1, height, area) & SOUTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0
                     && (RegionManager.getClipping(absoluteX, absoluteY - 1, height, area) & SOUTH) == 0) {
                 routeStepsX[tail] = baseX + 1;
                 routeStepsY[tail] = baseY - 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY - 1] = 9;
-                distanceValues[baseX + 1][baseY - 1] = priceValue;
+                buffers.visit(baseX + 1, baseY - 1, 9, priceValue);
             }
 
-            if (baseX > 0 && baseY < byte1 - 1 && directions[baseX - 1][baseY + 1] == 0
+            if (baseX > 0 && baseY < byte1 - 1 && buffers.direction(baseX - 1, baseY + 1) == 0
                     && (RegionManager.getClipping(absoluteX - 1, absoluteY + 1, height, area) & NORTHWEST) == 0 && (RegionManager.getClipping(absoluteX - 1, absoluteY, height, area) & WEST) == 0
                     && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
                 routeStepsX[tail] = baseX - 1;
                 routeStepsY[tail] = baseY + 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX - 1][baseY + 1] = 6;
-                distanceValues[baseX - 1][baseY + 1] = priceValue;
+                buffers.visit(baseX - 1, baseY + 1, 6, priceValue);
             }
-            if (baseX < byte0 - 1 && baseY < byte1 - 1 && directions[baseX + 1][baseY + 1] == 0
+            if (baseX < byte0 - 1 && baseY < byte1 - 1 && buffers.direction(baseX + 1, baseY + 1) == 0
                     && (RegionManager.getClipping(absoluteX + 1, absoluteY + 1, height, area) & NORTHEAST) == 0 && (RegionManager.getClipping(absoluteX + 1, absoluteY, height, area) & EAST) == 0
                     && (RegionManager.getClipping(absoluteX, absoluteY + 1, height, area) & NORTH) == 0) {
                 routeStepsX[tail] = baseX + 1;
                 routeStepsY[tail] = baseY + 1;
                 tail = (tail + 1) % queueSizeX;
-                directions[baseX + 1][baseY + 1] = 12;
-                distanceValues[baseX + 1][baseY + 1] = priceValue;
+                buffers.visit(baseX + 1, baseY + 1, 12, priceValue);
             }
         }
         anInt1264 = 0;
@@ -448,8 +469,8 @@ public class PathFinder {
                 for (int range = 1; range < 5; range++) {
                     for (int xOffset = destinationX - range; xOffset <= destinationX + range; xOffset++) {
                         for (int yOffset = destinationY - range; yOffset <= destinationY + range; yOffset++) {
-                            if (xOffset >= 0 && yOffset >= 0 && xOffset < 104 && yOffset < 104 && distanceValues[xOffset][yOffset] < cost) {
-                                cost = distanceValues[xOffset][yOffset];
+                            if (xOffset >= 0 && yOffset >= 0 && xOffset < 104 && yOffset < 104 && buffers.distance(xOffset, yOffset) < cost) {
+                                cost = buffers.distance(xOffset, yOffset);
                                 baseX = xOffset;
                                 baseY = yOffset;
                                 anInt1264 = 1;
@@ -472,7 +493,7 @@ public class PathFinder {
         routeStepsY[queueIndex++] = baseY;
 
         int l5;
-        for (int dirc = l5 = directions[baseX][baseY]; baseX != localX || baseY != localY; dirc = directions[baseX][baseY]) {
+        for (int dirc = l5 = buffers.direction(baseX, baseY); baseX != localX || baseY != localY; dirc = buffers.direction(baseX, baseY)) {
             if (dirc != l5) {
                 l5 = dirc;
                 routeStepsX[queueIndex] = baseX;
@@ -496,7 +517,7 @@ public class PathFinder {
             while (queueIndex-- > 0) {
                 int absX = entity.getLocation().getRegionX() * 8 + routeStepsX[queueIndex];
                 int absY = entity.getLocation().getRegionY() * 8 + routeStepsY[queueIndex];
-                entity.getMovementQueue().addStep(new Location(absX, absY, height));
+                entity.getMovementQueue().addStep(absX, absY, height);
                 steps++;
             }
         }
@@ -836,4 +857,75 @@ public class PathFinder {
             return true;
         return false;
     }
+
+    /**
+     * The scratch buffers of a single thread, reused by every search instead
+     * of allocating and clearing new grids. A tile only holds a valid direction
+     * and distance if its stamp matches the current generation, so starting a
+     * new search is a single increment.
+     */
+    private static final class SearchBuffers {
+
+        /**
+         * The size of the search grid, the size of the client's map area.
+         */
+        private static final int SIZE = 104;
+
+        /**
+         * The distance of a tile which hasn't been visited.
+         */
+        private static final int UNVISITED = 0x5f5e0ff;
+
+        private final int[] directions = new int[SIZE * SIZE];
+        private final int[] distances = new int[SIZE * SIZE];
+        private final int[] stamps = new int[SIZE * SIZE];
+        private final int[] routeStepsX = new int[4096];
+        private final int[] routeStepsY = new int[4096];
+
+        /**
+         * A scratch location for tile checks.
+         */
+        private final Location tile = new Location(0, 0);
+
+        /**
+         * The current generation.
+         */
+        private int generation;
+
+        /**
+         * The best tile found by {@link #considerAdjacentTile}.
+         */
+        private int bestX, bestY, bestCost;
+
+        /**
+         * Starts a new search, invalidating every visited tile.
+         */
+        private void reset() {
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        private void resetBest() {
+            bestCost = Integer.MAX_VALUE;
+        }
+
+        private int direction(int x, int y) {
+            int index = x * SIZE + y;
+            return stamps[index] == generation ? directions[index] : 0;
+        }
+
+        private int distance(int x, int y) {
+            int index = x * SIZE + y;
+            return stamps[index] == generation ? distances[index] : UNVISITED;
+        }
+
+        private void visit(int x, int y, int direction, int distance) {
+            int index = x * SIZE + y;
+            stamps[index] = generation;
+            directions[index] = direction;
+            distances[index] = distance;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.elvarg.game.profiling;
+
+/**
+ * A fixed-size, log-linear latency histogram in the style of an HDR histogram.
+ * Values are recorded in nanoseconds into buckets which are linear below
+ * {@code 2^PRECISION} and split every power of two above that into
+ * {@code 2^PRECISION} sub-buckets, which bounds the relative error of any
+ * reported percentile to roughly {@code 1 / 2^PRECISION}.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The amount of bits of precision kept for every recorded value.
+     */
+    private static final int PRECISION = 5;
+
+    /**
+     * The amount of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << PRECISION;
+
+    /**
+     * The total amount of buckets, enough to hold any positive {@code long}.
+     */
+    private static final int BUCKETS = (64 - PRECISION) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records a value.
+     *
+     * @param nanos the value to record, in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts[index(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Gets the value at the given percentile.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the highest value of the bucket the percentile falls in, capped
+     *         at the highest recorded value.
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil((percentile / 100D) * count));
+        long seen = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += counts[index];
+            if (seen >= target) {
+                return Math.min(max, highestValue(index));
+            }
+        }
+        return max;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    public synchronized long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    /**
+     * Clears every recorded value.
+     */
+    public synchronized void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Gets the bucket a value is recorded in.
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - PRECISION;
+        return ((shift + 1) << PRECISION) + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the highest value which is recorded in a bucket.
+     */
+    private static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >> PRECISION) - 1;
+        long mantissa = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,381 @@
+package com.elvarg.game.profiling;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import com.elvarg.Server;
+import com.elvarg.game.GameConstants;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Records how long every phase of a game cycle takes, as well as the cost of
+ * every incoming packet by opcode, every {@link com.elvarg.game.task.Task}
+ * by class and every synchronously dispatched event by class. The histograms
+ * can be viewed in-game with the {@code ::profiler} command and are
+ * periodically dumped to the log and to a json file in
+ * {@link GameConstants#PROFILING_DIRECTORY}.
+ */
+public final class TickProfiler {
+
+    /**
+     * The name of the histogram which records entire game cycles.
+     */
+    public static final String TICK = "tick";
+
+    /**
+     * Whether or not profiling is enabled.
+     */
+    private static volatile boolean enabled = GameConstants.TICK_PROFILING;
+
+    /**
+     * The histograms of every phase, in the order they were first recorded.
+     */
+    private static final Map<String, LatencyHistogram> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * The time spent in a phase which is executed concurrently, accumulated
+     * over the cycle and recorded once the cycle ends.
+     */
+    private static final Map<String, LongAdder> accumulated = new ConcurrentHashMap<>();
+
+    /**
+     * The histograms of every packet, by opcode.
+     */
+    private static final LatencyHistogram[] packets = new LatencyHistogram[256];
+
+    /**
+     * The histograms of every task, by class name.
+     */
+    private static final Map<String, LatencyHistogram> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * The histograms of every dispatched event, by class name.
+     */
+    private static final Map<String, LatencyHistogram> events = new ConcurrentHashMap<>();
+
+    /**
+     * The executor which writes the dumps, so the game thread never waits
+     * for disk.
+     */
+    private static final ExecutorService dumpService = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("ProfilerDumpThread").setDaemon(true).build());
+
+    /**
+     * The gson instance used for the dumps.
+     */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The amount of cycles which took longer than the cycle rate.
+     */
+    private static long overruns;
+
+    /**
+     * The amount of cycles since the last dump.
+     */
+    private static int cyclesSinceDump;
+
+    private TickProfiler() {
+    }
+
+    /**
+     * Records a phase which started at {@code start}.
+     *
+     * @param name  the name of the phase.
+     * @param start the {@link System#nanoTime()} the phase started at.
+     * @return the {@link System#nanoTime()} the phase ended at, which can be
+     *         used as the start of the next phase.
+     */
+    public static long phase(String name, long start) {
+        long end = System.nanoTime();
+        recordPhase(name, end - start);
+        return end;
+    }
+
+    /**
+     * Records the duration of a phase.
+     *
+     * @param name  the name of the phase.
+     * @param nanos the duration, in nanoseconds.
+     */
+    public static void recordPhase(String name, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        phases.computeIfAbsent(name, n -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Adds the time since {@code start} to a phase which is executed in small
+     * parts, possibly on several threads at once. The sum is recorded when
+     * the cycle ends.
+     *
+     * @param name  the name of the phase.
+     * @param start the {@link System#nanoTime()} the part started at.
+     * @return the {@link System#nanoTime()} the part ended at.
+     */
+    public static long accumulate(String name, long start) {
+        long end = System.nanoTime();
+        if (enabled) {
+            accumulated.computeIfAbsent(name, n -> new LongAdder()).add(end - start);
+        }
+        return end;
+    }
+
+    /**
+     * Records the cost of handling a packet.
+     *
+     * @param opcode the opcode of the packet.
+     * @param nanos  the duration, in nanoseconds.
+     */
+    public static void recordPacket(int opcode, long nanos) {
+        if (!enabled || opcode < 0 || opcode >= packets.length) {
+            return;
+        }
+        LatencyHistogram histogram = packets[opcode];
+        if (histogram == null) {
+            synchronized (packets) {
+                if ((histogram = packets[opcode]) == null) {
+                    histogram = packets[opcode] = new LatencyHistogram();
+                }
+            }
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Records the cost of a single tick of a task.
+     *
+     * @param type  the class of the task.
+     * @param nanos the duration, in nanoseconds.
+     */
+    public static void recordTask(Class<?> type, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        tasks.computeIfAbsent(type.getName(), n -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records the cost of dispatching an event to its synchronous listeners.
+     *
+     * @param type  the class of the event.
+     * @param nanos the duration, in nanoseconds.
+     */
+    public static void recordEvent(Class<?> type, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        events.computeIfAbsent(type.getName(), n -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Ends the current cycle. Flushes the accumulated phases, records the
+     * duration of the cycle and dumps the histograms if it's time to.
+     *
+     * @param nanos the duration of the cycle, in nanoseconds.
+     */
+    public static void endTick(long nanos) {
+        if (!enabled) {
+            return;
+        }
+        for (Map.Entry<String, LongAdder> entry : accumulated.entrySet()) {
+            recordPhase(entry.getKey(), entry.getValue().sumThenReset());
+        }
+        recordPhase(TICK, nanos);
+
+        long budget = TimeUnit.MILLISECONDS.toNanos(GameConstants.GAME_ENGINE_PROCESSING_CYCLE_RATE);
+        if (nanos > budget) {
+            overruns++;
+            Server.getLogger().warning("Game cycle took " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms, "
+                    + TimeUnit.NANOSECONDS.toMillis(nanos - budget) + "ms over budget.");
+        }
+
+        if (++cyclesSinceDump >= GameConstants.TICK_PROFILER_DUMP_INTERVAL) {
+            cyclesSinceDump = 0;
+            dump();
+        }
+    }
+
+    /**
+     * Logs a summary of the phases and writes every histogram to a json file.
+     * The file is written on a separate thread.
+     */
+    public static void dump() {
+        Snapshot snapshot = snapshot();
+        for (Entry phase : snapshot.phases) {
+            Server.getLogger().info("[Profiler] " + phase);
+        }
+        dumpService.execute(() -> {
+            File directory = new File(GameConstants.PROFILING_DIRECTORY);
+            if (!directory.exists() && !directory.mkdirs()) {
+                Server.getLogger().warning("Unable to create " + directory + ".");
+                return;
+            }
+            String name = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date(snapshot.time));
+            try (FileWriter writer = new FileWriter(new File(directory, "profile_" + name + ".json"))) {
+                writer.write(GSON.toJson(snapshot));
+            } catch (Exception e) {
+                Server.getLogger().log(Level.SEVERE, "Unable to write profiler dump.", e);
+            }
+        });
+    }
+
+    /**
+     * Clears every histogram.
+     */
+    public static void reset() {
+        synchronized (phases) {
+            phases.values().forEach(LatencyHistogram::reset);
+        }
+        synchronized (packets) {
+            for (LatencyHistogram histogram : packets) {
+                if (histogram != null) {
+                    histogram.reset();
+                }
+            }
+        }
+        tasks.values().forEach(LatencyHistogram::reset);
+        events.values().forEach(LatencyHistogram::reset);
+        overruns = 0;
+    }
+
+    /**
+     * Takes a snapshot of every histogram. Packets, tasks and events are
+     * sorted by their total cost, most expensive first.
+     *
+     * @return the snapshot.
+     */
+    public static Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot(System.currentTimeMillis(), overruns);
+        synchronized (phases) {
+            phases.forEach((name, histogram) -> snapshot.phases.add(new Entry(name, histogram)));
+        }
+        for (int opcode = 0; opcode < packets.length; opcode++) {
+            LatencyHistogram histogram = packets[opcode];
+            if (histogram != null && histogram.getCount() > 0) {
+                snapshot.packets.add(new Entry("opcode " + opcode, histogram));
+            }
+        }
+        tasks.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                snapshot.tasks.add(new Entry(name, histogram));
+            }
+        });
+        events.forEach((name, histogram) -> {
+            if (histogram.getCount() > 0) {
+                snapshot.events.add(new Entry(name, histogram));
+            }
+        });
+        snapshot.packets.sort(Entry.BY_TOTAL);
+        snapshot.tasks.sort(Entry.BY_TOTAL);
+        snapshot.events.sort(Entry.BY_TOTAL);
+        return snapshot;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        TickProfiler.enabled = enabled;
+    }
+
+    /**
+     * A snapshot of every histogram.
+     */
+    public static final class Snapshot {
+
+        private final long time;
+        private final long overruns;
+        private final List<Entry> phases = new ArrayList<>();
+        private final List<Entry> packets = new ArrayList<>();
+        private final List<Entry> tasks = new ArrayList<>();
+        private final List<Entry> events = new ArrayList<>();
+
+        private Snapshot(long time, long overruns) {
+            this.time = time;
+            this.overruns = overruns;
+        }
+
+        public long getOverruns() {
+            return overruns;
+        }
+
+        public List<Entry> getPhases() {
+            return phases;
+        }
+
+        public List<Entry> getPackets() {
+            return packets;
+        }
+
+        public List<Entry> getTasks() {
+            return tasks;
+        }
+
+        public List<Entry> getEvents() {
+            return events;
+        }
+    }
+
+    /**
+     * A snapshot of a single histogram. Every duration is in microseconds.
+     */
+    public static final class Entry {
+
+        private static final Comparator<Entry> BY_TOTAL = Comparator.comparingLong((Entry e) -> e.total).reversed();
+
+        private final String name;
+        private final long count;
+        private final long total;
+        private final long mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        private Entry(String name, LatencyHistogram histogram) {
+            this.name = name;
+            this.count = histogram.getCount();
+            this.total = micros(histogram.getTotal());
+            this.mean = micros(histogram.getMean());
+            this.p50 = micros(histogram.getValueAtPercentile(50));
+            this.p90 = micros(histogram.getValueAtPercentile(90));
+            this.p99 = micros(histogram.getValueAtPercentile(99));
+            this.p999 = micros(histogram.getValueAtPercentile(99.9));
+            this.max = micros(histogram.getMax());
+        }
+
+        private static long micros(long nanos) {
+            return TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: n=%d mean=%.2fms p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms", name, count,
+                    mean / 1000D, p50 / 1000D, p99 / 1000D, p999 / 1000D, max / 1000D);
+        }
+    }
+}
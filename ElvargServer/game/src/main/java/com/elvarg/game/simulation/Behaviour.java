@@ -0,0 +1,155 @@
+package com.elvarg.game.simulation;
+
+import java.util.Random;
+
+import com.elvarg.game.content.combat.CombatFactory;
+import com.elvarg.game.entity.impl.grounditem.ItemOnGroundManager;
+import com.elvarg.game.entity.impl.object.GameObject;
+import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.model.Item;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.Skill;
+import com.elvarg.game.model.movement.path.PathFinder;
+import com.elvarg.game.task.impl.WalkToTask;
+import com.elvarg.util.ItemIdentifiers;
+
+/**
+ * The behaviours a {@link SimulatedBot} can have. A behaviour stands in for
+ * the packets a real client would send, and acts once every tick before the
+ * world is processed.
+ */
+public enum Behaviour {
+
+    /**
+     * Fights another bot in the wilderness north of Edgeville. Bots which die
+     * are returned to their spawn by their own movement interaction.
+     */
+    PVP(new Location(3090, 3535), 6) {
+        @Override
+        void act(SimulatedBot bot, Random random) {
+            SimulatedBot partner = bot.getPartner();
+            if (partner == null) {
+                WALKING.act(bot, random);
+                return;
+            }
+            PlayerBot player = bot.getPlayer();
+            PlayerBot target = partner.getPlayer();
+            if (CombatFactory.inCombat(player) || player.getHitpoints() <= 0 || !target.isRegistered()
+                    || target.getHitpoints() <= 0) {
+                return;
+            }
+            player.getCombat().attack(target);
+        }
+    },
+
+    /**
+     * Cuts down the trees around Edgeville, dropping the logs whenever the
+     * inventory is full.
+     */
+    SKILLING(new Location(3093, 3470), 8) {
+        @Override
+        void setup(SimulatedBot bot) {
+            PlayerBot player = bot.getPlayer();
+            player.getSkillManager().setMaxLevel(Skill.WOODCUTTING, 99).setCurrentLevel(Skill.WOODCUTTING, 99);
+            player.getInventory().resetItems();
+            player.getInventory().add(new Item(ItemIdentifiers.BRONZE_AXE));
+        }
+
+        @Override
+        void act(SimulatedBot bot, Random random) {
+            if (bot.getTrees().isEmpty()) {
+                WALKING.act(bot, random);
+                return;
+            }
+            PlayerBot player = bot.getPlayer();
+            if (player.getSkill().isPresent() || player.getMovementQueue().isMoving() || player.busy()
+                    || !bot.getLastAction().elapsed(ACTION_TIMEOUT)) {
+                return;
+            }
+            if (player.getInventory().isFull()) {
+                dropLogs(player);
+            }
+            GameObject tree = bot.getTrees().get(random.nextInt(bot.getTrees().size()));
+            bot.getLastAction().reset();
+            WalkToTask.submit(player, tree, () -> player.getSkillManager().startSkillable(tree));
+        }
+
+        /**
+         * Drops everything but the axe on the ground, the same way a client
+         * dropping them would.
+         */
+        private void dropLogs(PlayerBot player) {
+            Item[] items = player.getInventory().getItems();
+            for (int slot = 0; slot < items.length; slot++) {
+                Item item = items[slot];
+                if (item.isValid() && item.getId() != ItemIdentifiers.BRONZE_AXE) {
+                    ItemOnGroundManager.register(player, item.clone());
+                    player.getInventory().setItem(slot, new Item(-1, 0));
+                }
+            }
+            player.getInventory().refreshItems();
+        }
+    },
+
+    /**
+     * Walks to random destinations around Edgeville bank.
+     */
+    WALKING(new Location(3094, 3493), 10) {
+        @Override
+        void act(SimulatedBot bot, Random random) {
+            PlayerBot player = bot.getPlayer();
+            if (player.getMovementQueue().isMoving() || random.nextInt(4) != 0) {
+                return;
+            }
+            Location spawn = bot.getSpawn();
+            int radius = getSpread();
+            PathFinder.calculateWalkRoute(player, spawn.getX() + random.nextInt(radius * 2 + 1) - radius,
+                    spawn.getY() + random.nextInt(radius * 2 + 1) - radius);
+        }
+    };
+
+    /**
+     * The amount of ticks a bot waits for an action to start before it tries
+     * another one.
+     */
+    private static final int ACTION_TIMEOUT = 10;
+
+    /**
+     * The location bots with this behaviour are spawned around.
+     */
+    private final Location anchor;
+
+    /**
+     * The maximum distance from the anchor bots are spawned at, in tiles.
+     */
+    private final int spread;
+
+    Behaviour(Location anchor, int spread) {
+        this.anchor = anchor;
+        this.spread = spread;
+    }
+
+    /**
+     * Prepares a bot once it has logged in.
+     *
+     * @param bot the bot.
+     */
+    void setup(SimulatedBot bot) {
+    }
+
+    /**
+     * Makes a bot act, before the world is processed.
+     *
+     * @param bot    the bot.
+     * @param random the random used for any decisions.
+     */
+    abstract void act(SimulatedBot bot, Random random);
+
+    public Location getAnchor() {
+        return anchor;
+    }
+
+    public int getSpread() {
+        return spread;
+    }
+}
@@ -0,0 +1,79 @@
+package com.elvarg.game.simulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import com.elvarg.game.entity.impl.object.GameObject;
+import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.model.Location;
+import com.elvarg.util.TickStopwatch;
+
+/**
+ * A {@link PlayerBot} taking part in a {@link Simulation}, along with the
+ * state its {@link Behaviour} needs.
+ */
+public final class SimulatedBot {
+
+    private final PlayerBot player;
+    private final Behaviour behaviour;
+    private final Location spawn;
+    private final TickStopwatch lastAction = new TickStopwatch();
+    private SimulatedBot partner;
+    private List<GameObject> trees = Collections.emptyList();
+    private boolean ready;
+
+    public SimulatedBot(PlayerBot player, Behaviour behaviour, Location spawn) {
+        this.player = player;
+        this.behaviour = behaviour;
+        this.spawn = spawn;
+    }
+
+    /**
+     * Makes this bot act, once it has logged in.
+     *
+     * @param random the random used for any decisions.
+     */
+    void process(Random random) {
+        if (!player.isRegistered()) {
+            return;
+        }
+        if (!ready) {
+            behaviour.setup(this);
+            ready = true;
+        }
+        behaviour.act(this, random);
+    }
+
+    public PlayerBot getPlayer() {
+        return player;
+    }
+
+    public Behaviour getBehaviour() {
+        return behaviour;
+    }
+
+    public Location getSpawn() {
+        return spawn;
+    }
+
+    public TickStopwatch getLastAction() {
+        return lastAction;
+    }
+
+    public SimulatedBot getPartner() {
+        return partner;
+    }
+
+    public void setPartner(SimulatedBot partner) {
+        this.partner = partner;
+    }
+
+    public List<GameObject> getTrees() {
+        return trees;
+    }
+
+    public void setTrees(List<GameObject> trees) {
+        this.trees = trees;
+    }
+}
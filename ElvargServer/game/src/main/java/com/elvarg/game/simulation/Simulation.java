@@ -0,0 +1,270 @@
+package com.elvarg.game.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.elvarg.Server;
+import com.elvarg.game.GameBuilder;
+import com.elvarg.game.World;
+import com.elvarg.game.collision.RegionManager;
+import com.elvarg.game.content.skill.skillable.impl.woodcutting.Woodcutting.Tree;
+import com.elvarg.game.definition.PlayerBotDefinition;
+import com.elvarg.game.entity.impl.object.GameObject;
+import com.elvarg.game.entity.impl.object.MapObjects;
+import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.entity.impl.playerbot.fightstyle.impl.F2PMeleeFighterPreset;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.profiling.TickProfiler;
+
+/**
+ * Runs the world headlessly, without a network or game engine, processing it
+ * back-to-back rather than every 600 ms. The world is populated with
+ * {@link PlayerBot}s whose {@link Behaviour}s stand in for real clients.
+ * <p>
+ * Once every bot has logged in and the world has warmed up, a fixed amount of
+ * ticks is measured, after which the throughput, the time spent in every
+ * phase of {@link World#process()} and the allocation rate are reported. Run
+ * with {@code ./gradlew :game:simulate -Pbots=<amount> -Pticks=<amount>
+ * -Pmix=pvp:skilling:walking}.
+ */
+public final class Simulation {
+
+    /**
+     * The maximum amount of ticks to wait for every bot to log in.
+     */
+    private static final int LOGIN_TIMEOUT = 1000;
+
+    /**
+     * The amount of ticks processed before measuring, once every bot has
+     * logged in.
+     */
+    private static final int WARMUP_TICKS = 200;
+
+    /**
+     * The distance around a skilling bot's spawn searched for trees, in tiles.
+     */
+    private static final int TREE_SEARCH_DISTANCE = 24;
+
+    private final List<SimulatedBot> bots = new ArrayList<>();
+    private final Random random = new Random(0);
+
+    public static void main(String[] args) {
+        int bots = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        Map<Behaviour, Integer> mix = parseMix(args.length > 2 ? args[2] : "1:1:1");
+        try {
+            new GameBuilder().initialize(false);
+            new Simulation().run(bots, ticks, mix);
+            System.exit(0);
+        } catch (Throwable t) {
+            t.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses a mix of behaviours, given as the weights of every behaviour in
+     * declaration order separated by colons.
+     */
+    private static Map<Behaviour, Integer> parseMix(String mix) {
+        String[] weights = mix.split(":");
+        Map<Behaviour, Integer> parsed = new EnumMap<>(Behaviour.class);
+        for (Behaviour behaviour : Behaviour.values()) {
+            int index = behaviour.ordinal();
+            parsed.put(behaviour, index < weights.length ? Integer.parseInt(weights[index].trim()) : 0);
+        }
+        return parsed;
+    }
+
+    /**
+     * Spawns the bots, waits for them to log in and warm up, and then
+     * measures {@code ticks} ticks.
+     *
+     * @param amount the amount of bots.
+     * @param ticks  the amount of ticks to measure.
+     * @param mix    the weight of every behaviour.
+     */
+    public void run(int amount, int ticks, Map<Behaviour, Integer> mix) {
+        spawn(amount, mix);
+
+        int waited = 0;
+        while (World.getPlayers().size() < bots.size() && waited++ < LOGIN_TIMEOUT) {
+            tick();
+        }
+        Server.getLogger().info("[Simulation] " + World.getPlayers().size() + "/" + bots.size()
+                + " bots logged in after " + waited + " ticks.");
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick();
+        }
+
+        TickProfiler.reset();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+
+        report(ticks, elapsed, allocated);
+    }
+
+    /**
+     * Spawns the bots, distributing the behaviours by their weights.
+     */
+    private void spawn(int amount, Map<Behaviour, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("The behaviour mix has no weight.");
+        }
+        Map<Behaviour, Integer> counts = allocate(amount, mix, total);
+        Map<Behaviour, List<SimulatedBot>> spawned = new EnumMap<>(Behaviour.class);
+        int index = 0;
+        for (Behaviour behaviour : Behaviour.values()) {
+            int count = counts.get(behaviour);
+            List<SimulatedBot> group = new ArrayList<>();
+            for (int i = 0; i < count; i++, index++) {
+                Location anchor = behaviour.getAnchor();
+                int spread = behaviour.getSpread();
+                Location spawn = anchor.transform(random.nextInt(spread * 2 + 1) - spread,
+                        random.nextInt(spread * 2 + 1) - spread);
+                PlayerBot player = new PlayerBot(new PlayerBotDefinition("Sim " + index, spawn,
+                        new F2PMeleeFighterPreset()));
+                SimulatedBot bot = new SimulatedBot(player, behaviour, spawn);
+                if (behaviour == Behaviour.SKILLING) {
+                    bot.setTrees(findTrees(spawn));
+                }
+                group.add(bot);
+            }
+            spawned.put(behaviour, group);
+            bots.addAll(group);
+        }
+
+        // Pair up the fighters.
+        List<SimulatedBot> fighters = spawned.get(Behaviour.PVP);
+        for (int i = 0; i + 1 < fighters.size(); i += 2) {
+            fighters.get(i).setPartner(fighters.get(i + 1));
+            fighters.get(i + 1).setPartner(fighters.get(i));
+        }
+
+        for (Behaviour behaviour : Behaviour.values()) {
+            Server.getLogger().info("[Simulation] Spawned " + spawned.get(behaviour).size() + " " + behaviour + " bots.");
+        }
+    }
+
+    /**
+     * Splits {@code amount} bots between the behaviours in proportion to their
+     * weights. Every behaviour gets the whole part of its share, and the bots
+     * left over go to the behaviours with the largest remainders, so exactly
+     * {@code amount} bots are spawned.
+     */
+    private static Map<Behaviour, Integer> allocate(int amount, Map<Behaviour, Integer> mix, int total) {
+        Map<Behaviour, Integer> counts = new EnumMap<>(Behaviour.class);
+        Map<Behaviour, Long> remainders = new EnumMap<>(Behaviour.class);
+        int allocated = 0;
+        for (Behaviour behaviour : Behaviour.values()) {
+            long share = (long) amount * mix.getOrDefault(behaviour, 0);
+            counts.put(behaviour, (int) (share / total));
+            remainders.put(behaviour, share % total);
+            allocated += share / total;
+        }
+        List<Behaviour> byRemainder = new ArrayList<>(remainders.keySet());
+        byRemainder.sort(Comparator.comparing(remainders::get, Comparator.reverseOrder()));
+        for (int i = 0; allocated < amount; i++, allocated++) {
+            counts.merge(byRemainder.get(i), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Finds the trees around a location.
+     */
+    private static List<GameObject> findTrees(Location center) {
+        for (int dx = -1; dx <= 1; dx += 2) {
+            for (int dy = -1; dy <= 1; dy += 2) {
+                RegionManager.loadMapFiles(center.getX() + dx * TREE_SEARCH_DISTANCE,
+                        center.getY() + dy * TREE_SEARCH_DISTANCE);
+            }
+        }
+        List<GameObject> trees = new ArrayList<>();
+        for (int x = center.getX() - TREE_SEARCH_DISTANCE; x <= center.getX() + TREE_SEARCH_DISTANCE; x++) {
+            for (int y = center.getY() - TREE_SEARCH_DISTANCE; y <= center.getY() + TREE_SEARCH_DISTANCE; y++) {
+                List<GameObject> objects = MapObjects.mapObjects.get(MapObjects.getHash(x, y, center.getZ()));
+                if (objects == null) {
+                    continue;
+                }
+                for (GameObject object : objects) {
+                    if (Tree.forObjectId(object.getId()).isPresent()) {
+                        trees.add(object);
+                    }
+                }
+            }
+        }
+        return trees;
+    }
+
+    /**
+     * Makes every bot act and processes the world once, the same way the
+     * game engine does.
+     */
+    private void tick() {
+        for (SimulatedBot bot : bots) {
+            try {
+                bot.process(random);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            World.process();
+        } finally {
+            TickProfiler.endTick(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Logs the results of a run.
+     */
+    private void report(int ticks, long elapsed, long allocated) {
+        double seconds = elapsed / 1_000_000_000D;
+        Server.getLogger().info(String.format("[Simulation] %d ticks with %d players and %d npcs in %.2fs: "
+                + "%.1f ticks/s, %.2fms per tick.", ticks, World.getPlayers().size(), World.getNpcs().size(),
+                seconds, ticks / seconds, elapsed / 1_000_000D / ticks));
+        if (allocated >= 0) {
+            Server.getLogger().info(String.format("[Simulation] Allocated %.1f MB/s, %.1f KB per tick.",
+                    allocated / seconds / (1024 * 1024), allocated / 1024D / ticks));
+        }
+        for (TickProfiler.Entry phase : TickProfiler.snapshot().getPhases()) {
+            Server.getLogger().info("[Simulation] " + phase);
+        }
+    }
+
+    /**
+     * Gets the amount of bytes allocated by every live thread so far, or
+     * {@code -1} if the JVM can't measure it.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+        if (!bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        long total = 0;
+        for (long allocated : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+}
@@ -43,6 +43,34 @@ public abstract class Task {
      */
     private Object key;
 
+    /**
+     * The key this task is indexed by in the {@link TaskManager}, or
+     * {@code null} if it isn't scheduled.
+     */
+    Object indexedKey;
+
+    /**
+     * The cycle this task is next executed on, if it's in the timing wheel.
+     */
+    long due;
+
+    /**
+     * The slot of the timing wheel this task is in, or {@code -1} if it isn't
+     * in the wheel.
+     */
+    int slot = -1;
+
+    /**
+     * The neighbours of this task in its slot of the timing wheel.
+     */
+    Task previous, next;
+
+    /**
+     * A flag which indicates if this task is ticked every cycle rather than
+     * being kept in the timing wheel.
+     */
+    boolean ticking;
+
     /**
      * Creates a new task with a delay of 1 cycle.
      */
@@ -196,9 +224,20 @@ public abstract class Task {
      * @return
      */
     public int getRemainingTicks() {
+        if (slot != -1) {
+            return (int) Math.max(0, due - TaskManager.getCycle());
+        }
         return this.countdown;
     }
 
+    int getCountdown() {
+        return countdown;
+    }
+
+    void setCountdown(int countdown) {
+        this.countdown = countdown;
+    }
+
     /**
      * Changes the delay of this task.
      *
@@ -222,5 +261,8 @@ public abstract class Task {
      */
     public void stop() {
         running = false;
+        if (slot != -1) {
+            TaskManager.stopped(this);
+        }
     }
 }
\ No newline at end of file
@@ -1,15 +1,96 @@
 package com.elvarg.game.task;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import com.elvarg.game.profiling.TickProfiler;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Schedules {@link Task}s, executing them once their delay has passed.
+ * <p>
+ * Tasks are kept in a hierarchical timing wheel, so every cycle only the tasks
+ * which are due on it are touched rather than every task being ticked. The
+ * wheel has {@link #LEVELS} levels of {@link #SLOTS} slots each. A task is put
+ * in the lowest level whose span covers its due cycle, and tasks in the higher
+ * levels are moved down whenever the level below has gone round once. Tasks
+ * which override {@link Task#onTick()} or {@link Task#tick()}, or which have
+ * no delay, still have to be ticked every cycle and are kept in a list instead.
+ * <p>
+ * Scheduled tasks are indexed by their key, so cancelling the tasks of a key
+ * doesn't have to go through every task.
+ */
 public final class TaskManager {
 
-    private final static Queue<Task> pendingTasks = new LinkedList<>();
+    /**
+     * The amount of bits of a cycle every level of the wheel covers.
+     */
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int LEVELS = 4;
+
+    /**
+     * The amount of cycles the wheel spans. Tasks due any later are kept in
+     * the highest level until they're within it.
+     */
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    /**
+     * Caches if a task class overrides {@link Task#onTick()} or
+     * {@link Task#tick()}.
+     */
+    private static final ClassValue<Boolean> TICKED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onTick").getDeclaringClass() != Task.class
+                        || type.getMethod("tick").getDeclaringClass() != Task.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    private final static Queue<Task> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The wheel tasks which were stopped, to be taken out of the wheel.
+     */
+    private final static Queue<Task> stoppedTasks = new ConcurrentLinkedQueue<>();
+
+    private final static Task[] heads = new Task[LEVELS * SLOTS];
+
+    private final static Task[] tails = new Task[LEVELS * SLOTS];
+
+    /**
+     * The tasks which are ticked every cycle.
+     */
+    private final static List<Task> tickedTasks = new ArrayList<>();
+
+    private final static Map<Object, Set<Task>> tasksByKey = new HashMap<>();
+
+    private final static Reference2IntOpenHashMap<Class<?>> tasksByClass = new Reference2IntOpenHashMap<>();
+
+    private static int scheduledTasks;
 
-    private final static List<Task> activeTasks = new LinkedList<>();
+    /**
+     * The cycle which is or was last being processed.
+     */
+    private static long cycle;
 
     private TaskManager() {
         throw new UnsupportedOperationException(
@@ -17,26 +98,217 @@ public final class TaskManager {
     }
 
     public static void process() {
+        cycle++;
         try {
+            cascade();
+
             Task t;
+            while ((t = stoppedTasks.poll()) != null) {
+                if (t.slot != -1 && !t.isRunning()) {
+                    unlink(t);
+                    remove(t);
+                }
+            }
+
             while ((t = pendingTasks.poll()) != null) {
                 if (t.isRunning()) {
-                    activeTasks.add(t);
+                    schedule(t);
                 }
             }
 
-            Iterator<Task> it = activeTasks.iterator();
-
-            while (it.hasNext()) {
-                t = it.next();
-                if (!t.tick())
-                    it.remove();
-            }
+            runDue();
+            runTicked();
         } catch (Throwable e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Moves the tasks in the slots of the higher levels which have come round
+     * down the wheel.
+     */
+    private static void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((cycle & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                break;
+            }
+            int slot = level * SLOTS + (int) (cycle >>> (SLOT_BITS * level) & SLOT_MASK);
+            Task t = heads[slot];
+            heads[slot] = tails[slot] = null;
+            while (t != null) {
+                Task next = t.next;
+                t.previous = t.next = null;
+                t.slot = -1;
+                insert(t);
+                t = next;
+            }
+        }
+    }
+
+    /**
+     * Schedules a task which was submitted.
+     */
+    private static void schedule(Task t) {
+        if (t.ticking) {
+            return;
+        }
+        if (t.slot != -1) {
+            // Resubmitted before it was taken out of the wheel.
+            t.setCountdown((int) (t.due - cycle + 1));
+            unlink(t);
+        }
+        if (t.indexedKey == null) {
+            add(t);
+        }
+        if (t.getCountdown() <= 0 || TICKED.get(t.getClass())) {
+            t.ticking = true;
+            tickedTasks.add(t);
+        } else {
+            t.due = cycle + t.getCountdown() - 1;
+            insert(t);
+        }
+    }
+
+    /**
+     * Executes the tasks in the wheel which are due this cycle.
+     */
+    private static void runDue() {
+        int slot = (int) (cycle & SLOT_MASK);
+        Task t = heads[slot];
+        heads[slot] = tails[slot] = null;
+        while (t != null) {
+            Task next = t.next;
+            t.previous = t.next = null;
+            t.slot = -1;
+            if (t.isRunning()) {
+                long start = System.nanoTime();
+                try {
+                    t.execute();
+                    t.setCountdown(t.getDelay());
+                } catch (Throwable e) {
+                    e.printStackTrace();
+                    t.setCountdown(1);
+                }
+                TickProfiler.recordTask(t.getClass(), System.nanoTime() - start);
+            }
+            if (t.isRunning()) {
+                if (t.slot == -1 && !t.ticking) {
+                    t.due = cycle + Math.max(1, t.getCountdown());
+                    insert(t);
+                }
+            } else if (t.slot == -1 && !t.ticking) {
+                remove(t);
+            }
+            t = next;
+        }
+    }
+
+    /**
+     * Ticks the tasks which are ticked every cycle.
+     */
+    private static void runTicked() {
+        int kept = 0;
+        for (int i = 0; i < tickedTasks.size(); i++) {
+            Task t = tickedTasks.get(i);
+            long start = System.nanoTime();
+            boolean running;
+            try {
+                running = t.tick();
+            } catch (Throwable e) {
+                e.printStackTrace();
+                running = true;
+            }
+            TickProfiler.recordTask(t.getClass(), System.nanoTime() - start);
+            if (running) {
+                tickedTasks.set(kept++, t);
+            } else {
+                t.ticking = false;
+                remove(t);
+            }
+        }
+        tickedTasks.subList(kept, tickedTasks.size()).clear();
+    }
+
+    /**
+     * Puts a task in the slot of the wheel its due cycle falls in.
+     */
+    private static void insert(Task t) {
+        long target = Math.min(t.due, cycle + SPAN - 1);
+        long delta = target - cycle;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = level * SLOTS + (int) (target >>> (SLOT_BITS * level) & SLOT_MASK);
+        t.slot = slot;
+        t.previous = tails[slot];
+        t.next = null;
+        if (tails[slot] == null) {
+            heads[slot] = t;
+        } else {
+            tails[slot].next = t;
+        }
+        tails[slot] = t;
+    }
+
+    /**
+     * Takes a task out of its slot of the wheel.
+     */
+    private static void unlink(Task t) {
+        int slot = t.slot;
+        if (t.previous == null) {
+            heads[slot] = t.next;
+        } else {
+            t.previous.next = t.next;
+        }
+        if (t.next == null) {
+            tails[slot] = t.previous;
+        } else {
+            t.next.previous = t.previous;
+        }
+        t.previous = t.next = null;
+        t.slot = -1;
+    }
+
+    /**
+     * Adds a task to the index and the counts.
+     */
+    private static void add(Task t) {
+        Object key = t.getKey();
+        t.indexedKey = key;
+        tasksByKey.computeIfAbsent(key, k -> new ReferenceOpenHashSet<>()).add(t);
+        tasksByClass.addTo(t.getClass(), 1);
+        scheduledTasks++;
+    }
+
+    /**
+     * Removes a task which is no longer scheduled from the index and the
+     * counts.
+     */
+    private static void remove(Task t) {
+        Object key = t.indexedKey;
+        if (key == null) {
+            return;
+        }
+        t.indexedKey = null;
+        Set<Task> tasks = tasksByKey.get(key);
+        if (tasks != null && tasks.remove(t) && tasks.isEmpty()) {
+            tasksByKey.remove(key);
+        }
+        if (tasksByClass.addTo(t.getClass(), -1) <= 1) {
+            tasksByClass.removeInt(t.getClass());
+        }
+        scheduledTasks--;
+    }
+
+    /**
+     * Takes note of a task in the wheel being stopped, so that it's taken out
+     * of the wheel on the next cycle rather than when it would've been due.
+     */
+    static void stopped(Task task) {
+        stoppedTasks.add(task);
+    }
+
     public static void submit(Task task) {
         if (task.isRunning()) {
             // Task is already running
@@ -64,14 +336,47 @@ public final class TaskManager {
 
     public static void cancelTasks(Object key) {
         try {
-            pendingTasks.stream().filter(t -> t.getKey().equals(key)).forEach(t -> t.stop());
-            activeTasks.stream().filter(t -> t.getKey().equals(key)).forEach(t -> t.stop());
+            for (Task t : pendingTasks) {
+                if (t.getKey().equals(key)) {
+                    t.stop();
+                }
+            }
+            Set<Task> tasks = tasksByKey.get(key);
+            if (tasks != null) {
+                for (Task t : tasks) {
+                    t.stop();
+                }
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
     public static int getTaskAmount() {
-        return (pendingTasks.size() + activeTasks.size());
+        return (pendingTasks.size() + scheduledTasks);
+    }
+
+    /**
+     * Gets the amount of scheduled tasks of every class, from the most to the
+     * least common, which makes tasks that are never stopped stand out.
+     * Tasks which were submitted this cycle are counted from the next one.
+     *
+     * @return the amount of tasks by class.
+     */
+    public static Map<Class<?>, Integer> getTaskCounts() {
+        List<Reference2IntMap.Entry<Class<?>>> entries = new ArrayList<>(tasksByClass.reference2IntEntrySet());
+        entries.sort(Comparator.comparingInt(Reference2IntMap.Entry<Class<?>>::getIntValue).reversed());
+        Map<Class<?>, Integer> counts = new LinkedHashMap<>();
+        for (Reference2IntMap.Entry<Class<?>> entry : entries) {
+            counts.put(entry.getKey(), entry.getIntValue());
+        }
+        return counts;
+    }
+
+    /**
+     * @return the cycle which is or was last being processed.
+     */
+    static long getCycle() {
+        return cycle;
     }
 }
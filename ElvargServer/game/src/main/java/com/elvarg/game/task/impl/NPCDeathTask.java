@@ -13,6 +13,8 @@ import com.elvarg.game.model.Animation;
 import com.elvarg.game.model.Priority;
 import com.elvarg.game.task.Task;
 import com.elvarg.game.task.TaskManager;
+import com.elvarg.plugin.event.EventManager;
+import com.elvarg.plugin.event.impl.KillEvent;
 
 /**
  * Represents an npc's death task, which handles everything an npc does before
@@ -85,6 +87,10 @@ public class NPCDeathTask extends Task {
 
                         // Drop loot for the killer..
                         NPCDropGenerator.start(player, npc);
+
+                        if (EventManager.INSTANCE.hasListeners(KillEvent.class)) {
+                            EventManager.INSTANCE.dispatch(new KillEvent(player, npc));
+                        }
                     }
                     stop();
                     break;
@@ -13,6 +13,8 @@ import com.elvarg.game.entity.impl.playerbot.PlayerBot;
 import com.elvarg.game.model.*;
 import com.elvarg.game.model.rights.PlayerRights;
 import com.elvarg.game.task.Task;
+import com.elvarg.plugin.event.EventManager;
+import com.elvarg.plugin.event.impl.KillEvent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -73,6 +75,9 @@ public class PlayerDeathTask extends Task {
 				if (player instanceof PlayerBot) {
 					((PlayerBot) player).getCombatInteraction().handleDeath(killer);
 				}
+				if (killer.isPresent() && EventManager.INSTANCE.hasListeners(KillEvent.class)) {
+					EventManager.INSTANCE.dispatch(new KillEvent(killer.get(), player));
+				}
 
 				if (player.getArea() != null) {
 					loseItems = player.getArea().dropItemsOnDeath(player, killer);
@@ -60,5 +60,16 @@ public class NetworkConstants {
      */
     public static final int PACKET_PROCESS_LIMIT = 30;
 
+    /**
+     * The amount of threads which evaluate login requests.
+     */
+    public static final int LOGIN_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * The maximum amount of login requests which may wait for a login thread,
+     * any more are rejected.
+     */
+    public static final int LOGIN_QUEUE_CAPACITY = 1000;
+
 
 }
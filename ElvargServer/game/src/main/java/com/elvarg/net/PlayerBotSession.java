@@ -326,6 +326,7 @@ public class PlayerBotSession extends PlayerSession {
      * @param builder the packet to queue.
      */
     public void write(PacketBuilder builder) {
+        builder.release();
     }
 
     /**
@@ -4,11 +4,13 @@ import java.util.LinkedList;
 
 import com.elvarg.game.World;
 import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.profiling.TickProfiler;
 import com.elvarg.net.codec.PacketDecoder;
 import com.elvarg.net.codec.PacketEncoder;
 import com.elvarg.net.login.LoginDetailsMessage;
 import com.elvarg.net.login.LoginResponsePacket;
 import com.elvarg.net.login.LoginResponses;
+import com.elvarg.net.login.LoginService;
 import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketBuilder;
 import com.elvarg.net.packet.PacketConstants;
@@ -57,18 +59,29 @@ public class PlayerSession {
     }
 
     /**
-     * Attempts to finalize a player's login.
+     * Attempts to finalize a player's login. The login is evaluated by the
+     * {@link LoginService}, after which it is completed with
+     * {@link #completeLogin(LoginDetailsMessage, int)}.
      *
      * @param msg The player's login information.
      */
     public void finalizeLogin(LoginDetailsMessage msg) {
-        SocketChannel channel = (SocketChannel) msg.getContext().channel();
-
         // Update the player
         player.setUsername(msg.getUsername()).setHostAddress(msg.getHost());
 
-        // Get the response code
-        int response = LoginResponses.evaluate(player, msg);
+        // Evaluate the login off the event loop
+        LoginService.submit(this, msg);
+    }
+
+    /**
+     * Completes a player's login once it has been evaluated. This must be
+     * called on the channel's event loop.
+     *
+     * @param msg      The player's login information.
+     * @param response The response code.
+     */
+    public void completeLogin(LoginDetailsMessage msg, int response) {
+        SocketChannel channel = (SocketChannel) msg.getContext().channel();
 
         player.setLongUsername(Misc.stringToLong(player.getUsername()));
 
@@ -81,18 +94,21 @@ public class PlayerSession {
             return;
         }
 
-        // Wait...
-        future.awaitUninterruptibly();
-
-        // Replace decoder/encoder to packets
+        // Replace decoder/encoder to packets. We're on the event loop, so the
+        // response has already passed through the login encoder.
         channel.pipeline().replace("encoder", "encoder", new PacketEncoder(msg.getEncryptor()));
         channel.pipeline().replace("decoder", "decoder", new PacketDecoder(msg.getDecryptor()));
 
-        // Queue the login
-        if (!World.getAddPlayerQueue().contains(player)) {
-            World.getAddPlayerQueue().add(player);
-        }
-
+        // Queue the login once the response has been sent
+        future.addListener(f -> {
+            if (!f.isSuccess()) {
+                channel.close();
+                return;
+            }
+            if (!World.getAddPlayerQueue().contains(player)) {
+                World.getAddPlayerQueue().add(player);
+            }
+        });
     }
 
     /**
@@ -138,6 +154,7 @@ public class PlayerSession {
                 lastPacketOpcodeQueue.poll();
             }
             lastPacketOpcodeQueue.add(packet.getOpcode());
+            long start = System.nanoTime();
             try {
                 PacketConstants.PACKETS[packet.getOpcode()].execute(player, packet);
             } catch (Exception e) {
@@ -145,6 +162,7 @@ public class PlayerSession {
                 e.printStackTrace();
             } finally {
                 packet.getBuffer().release();
+                TickProfiler.recordPacket(packet.getOpcode(), System.nanoTime() - start);
             }
         }
     }
@@ -156,11 +174,31 @@ public class PlayerSession {
      */
     public void write(PacketBuilder builder) {
         if (!channel.isOpen()) {
+            builder.release();
+            return;
+        }
+        write(builder.toPacket());
+    }
+
+    /**
+     * Queues an encoded {@code packet} for this session to be sent to the
+     * client. The session takes over the packet's buffer, which is released
+     * once it has been encoded.
+     *
+     * @param packet the packet to queue.
+     */
+    public void write(Packet packet) {
+        if (!channel.isOpen()) {
+            packet.release();
             return;
         }
         try {
-            Packet packet = builder.toPacket();
-            channel.write(packet);
+            channel.write(packet).addListener(future -> {
+                // The encoder releases the buffer, unless the write failed before reaching it.
+                if (!future.isSuccess()) {
+                    packet.release();
+                }
+            });
         } catch (Exception ex) {
             ex.printStackTrace();
         }
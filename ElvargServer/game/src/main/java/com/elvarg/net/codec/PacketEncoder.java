@@ -4,7 +4,6 @@ import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketType;
 import com.elvarg.net.security.IsaacRandom;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 
@@ -28,8 +27,25 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
     }
 
 
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Packet packet, boolean preferDirect) {
+        int headerSize = packet.getType() == PacketType.VARIABLE ? 2 : packet.getType() == PacketType.VARIABLE_SHORT ? 3 : 1;
+        int size = headerSize + packet.getSize();
+        return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Packet packet, ByteBuf out) throws Exception {
+        try {
+            encode(packet, out);
+        } finally {
+            // The payload is pooled, and Packet isn't reference counted, so
+            // it has to be released here.
+            packet.release();
+        }
+    }
+
+    private void encode(Packet packet, ByteBuf out) {
         final int opcode = (packet.getOpcode() + encoder.nextInt()) & 0xFF;
         PacketType type = packet.getType();
         final int size = packet.getSize();
@@ -56,49 +72,39 @@ public class PacketEncoder extends MessageToByteEncoder<Packet> {
                 return;
             }
         }
-        
-        int finalSize = size + 1;
+
         switch (type) {
         case VARIABLE:
-            
             if (size > 255) { // trying to send more data then we can represent with 8 bits!
                 throw new IllegalArgumentException("Tried to send packet length " + size + " in variable-byte packet");
             }
-            finalSize++;
             break;
         case VARIABLE_SHORT:
             if (size > 65535) { // trying to send more data then we can represent with 8 bits!
                 throw new IllegalArgumentException("Tried to send packet length " + size + " in variable-short packet");
             }
-            finalSize += 2;
             break;
         default:
             break;
         }
 
-        // Create a new buffer
-        ByteBuf buffer = Unpooled.buffer(finalSize);
-        
         // Write opcode
-        buffer.writeByte(opcode);
-        
+        out.writeByte(opcode);
+
         // Write packet size
         switch (type) {
         case VARIABLE:
-            buffer.writeByte((byte) size);
+            out.writeByte((byte) size);
             break;
         case VARIABLE_SHORT:
-            buffer.writeShort((short) size);
+            out.writeShort((short) size);
             break;
         default:
             break;
         }
-        
+
         // Write packet
-        buffer.writeBytes(packet.getBuffer());
-        
-        // Write the packet to the out buffer
-        out.writeBytes(buffer);
+        out.writeBytes(packet.getBuffer());
     }
 
     public static final int[] CLIENT_PACKET_SIZES = {
@@ -118,6 +118,7 @@ public final class LoginResponses {
 
     private static int getDiscordResult(Player player, LoginDetailsMessage msg) {
         try {
+            long start = System.nanoTime();
             DiscordUtil.DiscordInfo discordInfo;
             if (msg.getUsername().equals(DiscordUtil.DiscordConstants.USERNAME_AUTHZ_CODE)) {
                 discordInfo = DiscordUtil.getDiscordInfoWithCode(msg.getPassword());
@@ -128,9 +129,12 @@ public final class LoginResponses {
                 return LoginResponses.LOGIN_INVALID_CREDENTIALS;
             }
 
+            start = LoginService.record(LoginService.Stage.CREDENTIALS, start);
+
             player.setUsername(discordInfo.username);
 
-            var playerSave = PLAYER_PERSISTENCE.load(player.getUsername());
+            var playerSave = World.getSaveService().load(player.getUsername());
+            LoginService.record(LoginService.Stage.LOAD, start);
             if (playerSave == null) {
                 player.setDiscordLogin(true);
                 player.setCachedDiscordAccessToken(discordInfo.token);
@@ -153,7 +157,9 @@ public final class LoginResponses {
             return getDiscordResult(player, msg);
         }
 
-        var playerSave = PLAYER_PERSISTENCE.load(player.getUsername());
+        long start = System.nanoTime();
+        var playerSave = World.getSaveService().load(player.getUsername());
+        start = LoginService.record(LoginService.Stage.LOAD, start);
         if (playerSave == null) {
             player.setPasswordHashWithSalt(PLAYER_PERSISTENCE.encryptPassword(plainPassword));
             return LoginResponses.NEW_ACCOUNT;
@@ -164,7 +170,9 @@ public final class LoginResponses {
             return LoginResponses.LOGIN_BAD_SESSION_ID;
         }
 
-        if (!PLAYER_PERSISTENCE.checkPassword(plainPassword, playerSave)) {
+        boolean passwordMatches = PLAYER_PERSISTENCE.checkPassword(plainPassword, playerSave);
+        LoginService.record(LoginService.Stage.CREDENTIALS, start);
+        if (!passwordMatches) {
             return LoginResponses.LOGIN_INVALID_CREDENTIALS;
         }
 
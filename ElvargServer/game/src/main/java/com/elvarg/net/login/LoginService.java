@@ -0,0 +1,188 @@
+package com.elvarg.net.login;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import com.elvarg.Server;
+import com.elvarg.game.profiling.LatencyHistogram;
+import com.elvarg.net.NetworkConstants;
+import com.elvarg.net.PlayerSession;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.netty.channel.Channel;
+
+/**
+ * Evaluates login requests on a bounded pool of login workers, rather than on
+ * the netty event loops. Loading a save, checking a password and talking to
+ * Discord can all take a while, and an event loop which is busy with them
+ * can't serve any of the other channels assigned to it.
+ * <p>
+ * Once a request has been evaluated, the response is handed back to the
+ * channel's event loop through {@link PlayerSession#completeLogin}.
+ */
+public final class LoginService {
+
+    /**
+     * The stages of a login which are timed.
+     */
+    public enum Stage {
+        /**
+         * The time spent waiting for a login worker.
+         */
+        QUEUED,
+        /**
+         * The time spent loading the player's save.
+         */
+        LOAD,
+        /**
+         * The time spent verifying the player's credentials.
+         */
+        CREDENTIALS,
+        /**
+         * The time spent evaluating the request, including loading and
+         * verification.
+         */
+        EVALUATE,
+        /**
+         * The time between the request being evaluated and the response being
+         * written.
+         */
+        RESPONSE,
+        /**
+         * The time between the request being received and the response being
+         * written.
+         */
+        TOTAL
+    }
+
+    /**
+     * The login workers.
+     */
+    private static final ThreadPoolExecutor workers = new ThreadPoolExecutor(NetworkConstants.LOGIN_THREADS,
+            NetworkConstants.LOGIN_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(NetworkConstants.LOGIN_QUEUE_CAPACITY),
+            new ThreadFactoryBuilder().setNameFormat("LoginThread-%d").setDaemon(true).build());
+
+    /**
+     * The timings of every stage.
+     */
+    private static final Map<Stage, LatencyHistogram> timings = new EnumMap<>(Stage.class);
+
+    /**
+     * The amount of requests which were rejected because the queue was full.
+     */
+    private static final LongAdder rejected = new LongAdder();
+
+    static {
+        for (Stage stage : Stage.values()) {
+            timings.put(stage, new LatencyHistogram());
+        }
+    }
+
+    private LoginService() {
+    }
+
+    /**
+     * Queues a login request to be evaluated by a login worker. This does not
+     * block the calling thread.
+     *
+     * @param session the session requesting to log in.
+     * @param msg     the login request.
+     */
+    public static void submit(PlayerSession session, LoginDetailsMessage msg) {
+        Channel channel = msg.getContext().channel();
+        long received = System.nanoTime();
+        try {
+            workers.execute(() -> evaluate(session, msg, received));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            channel.eventLoop().execute(() -> session.completeLogin(msg, LoginResponses.LOGIN_REJECT_SESSION));
+        }
+    }
+
+    /**
+     * Evaluates a login request, and then completes it on the channel's event
+     * loop. This is executed by a login worker.
+     *
+     * @param session  the session requesting to log in.
+     * @param msg      the login request.
+     * @param received the time the request was received, in nanoseconds.
+     */
+    private static void evaluate(PlayerSession session, LoginDetailsMessage msg, long received) {
+        long start = record(Stage.QUEUED, received);
+        int response;
+        try {
+            response = LoginResponses.evaluate(session.getPlayer(), msg);
+        } catch (Exception e) {
+            Server.getLogger().log(Level.SEVERE, "Unable to evaluate the login of " + msg.getUsername() + "!", e);
+            response = LoginResponses.LOGIN_REJECT_SESSION;
+        }
+        long evaluated = record(Stage.EVALUATE, start);
+        int result = response;
+        msg.getContext().channel().eventLoop().execute(() -> {
+            session.completeLogin(msg, result);
+            record(Stage.RESPONSE, evaluated);
+            record(Stage.TOTAL, received);
+        });
+    }
+
+    /**
+     * Records the duration of a stage.
+     *
+     * @param stage the stage.
+     * @param start the time the stage started, in nanoseconds.
+     * @return the current time, in nanoseconds.
+     */
+    public static long record(Stage stage, long start) {
+        long now = System.nanoTime();
+        timings.get(stage).record(now - start);
+        return now;
+    }
+
+    /**
+     * Gets the timing of a stage.
+     *
+     * @param stage the stage.
+     * @return the histogram of the stage's durations.
+     */
+    public static LatencyHistogram getTiming(Stage stage) {
+        return timings.get(stage);
+    }
+
+    /**
+     * @return the amount of requests waiting for a login worker.
+     */
+    public static int getQueuedCount() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * @return the amount of requests being evaluated.
+     */
+    public static int getActiveCount() {
+        return workers.getActiveCount();
+    }
+
+    /**
+     * @return the amount of requests which were rejected because the queue
+     * was full.
+     */
+    public static long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Clears the timings of every stage.
+     */
+    public static void reset() {
+        for (LatencyHistogram timing : timings.values()) {
+            timing.reset();
+        }
+    }
+}
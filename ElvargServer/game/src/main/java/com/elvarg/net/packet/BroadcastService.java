@@ -0,0 +1,122 @@
+package com.elvarg.net.packet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.elvarg.game.World;
+import com.elvarg.game.entity.impl.player.Player;
+import com.elvarg.game.entity.impl.playerbot.PlayerBot;
+import com.elvarg.game.model.Location;
+import com.elvarg.game.model.areas.impl.PrivateArea;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Sends the same packet to several players.
+ * <p>
+ * The recipients of a broadcast are resolved from an index of the players who
+ * are interested, such as the {@link World#getPlayers() players' grid} or a
+ * shop's viewers, rather than by filtering every player in the world. The
+ * packet is then encoded once, and every recipient is handed a retained
+ * duplicate of the same buffer, which is released when it has been written to
+ * their channel.
+ */
+public final class BroadcastService {
+
+    private BroadcastService() {
+    }
+
+    /**
+     * Gets the players on the same height as {@code center} and within
+     * {@code distance} tiles of it, in no particular order.
+     *
+     * @param center   the location to search around.
+     * @param distance the maximum distance, in tiles.
+     * @return the players found.
+     */
+    public static List<Player> getLocalPlayers(Location center, int distance) {
+        List<Player> local = new ArrayList<>();
+        World.getPlayers().getGrid().collect(center, distance, local);
+        return local;
+    }
+
+    /**
+     * Gets the players in {@code area} who are on the same height as
+     * {@code center} and within {@code distance} tiles of it, in no particular
+     * order.
+     *
+     * @param center   the location to search around.
+     * @param distance the maximum distance, in tiles.
+     * @param area     the private area, or {@code null} for players who
+     *                 aren't in one.
+     * @return the players found.
+     */
+    public static List<Player> getLocalPlayers(Location center, int distance, PrivateArea area) {
+        List<Player> local = getLocalPlayers(center, distance);
+        local.removeIf(player -> player.getPrivateArea() != area);
+        return local;
+    }
+
+    /**
+     * Sends a packet to every recipient. The builder is released afterwards,
+     * so it must not be used again.
+     *
+     * @param out        the packet to send.
+     * @param recipients the players to send it to.
+     */
+    public static void send(PacketBuilder out, Collection<Player> recipients) {
+        send(null, out, recipients);
+    }
+
+    /**
+     * Sends a packet about a tile to every recipient, preceded by the tile's
+     * position relative to each recipient's map region. The builder is
+     * released afterwards, so it must not be used again.
+     *
+     * @param position   the tile the packet is about, or {@code null}.
+     * @param out        the packet to send.
+     * @param recipients the players to send it to.
+     */
+    public static void send(Location position, PacketBuilder out, Collection<Player> recipients) {
+        Packet packet = out.toPacket();
+        ByteBuf buffer = packet.getBuffer();
+        try {
+            for (Player player : recipients) {
+                if (player == null || player.isPlayerBot()) {
+                    continue;
+                }
+                if (position != null) {
+                    player.getPacketSender().sendPosition(position);
+                }
+                player.getSession().write(new Packet(packet.getOpcode(), packet.getType(), buffer.retainedDuplicate()));
+            }
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Sends a game message to every recipient.
+     *
+     * @param message    the message to send.
+     * @param recipients the players to send it to.
+     */
+    public static void sendMessage(String message, Iterable<Player> recipients) {
+        List<Player> readers = new ArrayList<>();
+        for (Player player : recipients) {
+            if (player == null) {
+                continue;
+            }
+            if (player instanceof PlayerBot) {
+                // Bots are told about the message directly.
+                player.getPacketSender().sendMessage(message);
+                continue;
+            }
+            readers.add(player);
+        }
+        if (!readers.isEmpty()) {
+            send(PacketSender.buildMessage(message), readers);
+        }
+    }
+}
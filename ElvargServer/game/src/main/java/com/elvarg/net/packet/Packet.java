@@ -25,6 +25,11 @@ public class Packet {
      */
     private ByteBuf buffer;
 
+    /**
+     * Whether the buffer has been released by this packet.
+     */
+    private boolean released;
+
     /**
      * The Packet constructor.
      *
@@ -79,6 +84,18 @@ public class Packet {
         return buffer.capacity();
     }
 
+    /**
+     * Releases this packet's share of its buffer, if it hasn't already. The
+     * buffer may be a duplicate which is shared with other packets, so it must
+     * never be released more than once per packet.
+     */
+    public void release() {
+        if (!released) {
+            released = true;
+            buffer.release();
+        }
+    }
+
     /**
      * Reads an unsigned byte from the packet.
      *
@@ -1,11 +1,15 @@
 package com.elvarg.net.packet;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.PooledByteBufAllocator;
 
 /**
  * The {@link Message} implementation that functions as a dynamic buffer wrapper
  * backed by a {@link ByteBuf} that is used for reading and writing data.
+ * <p>
+ * The buffer is taken from the pooled allocator, so a builder must either be
+ * written to a session, which releases it once it has been encoded, or be
+ * {@link #release() released} explicitly.
  *
  * @author lare96 <http://github.com/lare96>
  * @author blakeman8192
@@ -36,7 +40,7 @@ public final class PacketBuilder {
     /**
      * The buffer used to write the packet information.
      */
-    private ByteBuf buffer = Unpooled.buffer();
+    private ByteBuf buffer = PooledByteBufAllocator.DEFAULT.heapBuffer();
 
     
     /**
@@ -74,9 +78,7 @@ public final class PacketBuilder {
      * @return an instance of this message builder.
      */
     public PacketBuilder putBytes(ByteBuf from) {
-        for (int i = 0; i < from.writerIndex(); i++) {
-            put(from.getByte(i));
-        }
+        buffer.writeBytes(from, 0, from.writerIndex());
         return this;
     }
 
@@ -154,7 +156,7 @@ public final class PacketBuilder {
 
         final byte[] buffer = this.buffer.array();
 
-        int bytePos = bitPosition >> 3;
+        int bytePos = this.buffer.arrayOffset() + (bitPosition >> 3);
         int bitOffset = 8 - (bitPosition & 7);
         bitPosition += numBits;
 
@@ -500,6 +502,14 @@ public final class PacketBuilder {
         return buffer;
     }
 
+    /**
+     * Releases the buffer of this builder back to the pool. This must only be
+     * called for builders which are never written to a session.
+     */
+    public void release() {
+        buffer.release();
+    }
+
     /**
      * Creates the actual packet from this builder
      *
@@ -185,10 +185,17 @@ public class PacketSender {
 			return this;
 		}
 
+		player.getSession().write(buildMessage(message));
+		return this;
+	}
+
+	/**
+	 * Encodes a game message, so that it can be sent to several players.
+	 */
+	public static PacketBuilder buildMessage(String message) {
 		PacketBuilder out = new PacketBuilder(253, PacketType.VARIABLE);
 		out.putString(message);
-		player.getSession().write(out);
-		return this;
+		return out;
 	}
 
 	public PacketSender sendSpecialMessage(String name, int type, String message) {
@@ -652,6 +659,15 @@ public class PacketSender {
 			return this;
 		}
 
+		player.getSession().write(buildInterfaceItems(interfaceId, items));
+		return this;
+	}
+
+	/**
+	 * Encodes the items on an interface, so that they can be sent to several
+	 * players.
+	 */
+	public static PacketBuilder buildInterfaceItems(int interfaceId, List<Item> items) {
 		PacketBuilder out = new PacketBuilder(53, PacketType.VARIABLE_SHORT);
 		out.putInt(interfaceId);
 		out.putShort(items.size());
@@ -663,8 +679,7 @@ public class PacketSender {
 			out.putInt(item.getAmount());
 			out.putShort(item.getId() + 1);
 		}
-		player.getSession().write(out);
-		return this;
+		return out;
 	}
 
 	public PacketSender sendItemOnInterface(int interfaceId, int item, int amount) {
@@ -856,12 +871,19 @@ public class PacketSender {
 	}
 
 	public PacketSender sendFriend(long name, int world) {
+		player.getSession().write(buildFriend(name, world));
+		return this;
+	}
+
+	/**
+	 * Encodes a friend's world, so that it can be sent to several players.
+	 */
+	public static PacketBuilder buildFriend(long name, int world) {
 		world = world != 0 ? world + 9 : world;
 		PacketBuilder out = new PacketBuilder(50);
 		out.putLong(name);
 		out.put(world);
-		player.getSession().write(out);
-		return this;
+		return out;
 	}
 
 	public PacketSender sendDeleteFriend(long name) {
@@ -900,13 +922,21 @@ public class PacketSender {
 
 	public PacketSender sendGraphic(Graphic graphic, Location position) {
 		sendPosition(position);
+		player.getSession().write(buildGraphic(graphic, position));
+		return this;
+	}
+
+	/**
+	 * Encodes a graphic on a tile, so that it can be sent to several players.
+	 * The graphic's position has to be sent to each of them first.
+	 */
+	public static PacketBuilder buildGraphic(Graphic graphic, Location position) {
 		PacketBuilder out = new PacketBuilder(4);
 		out.put(0);
 		out.putShort(graphic.getId());
 		out.put(position.getZ());
 		out.putShort(graphic.getDelay());
-		player.getSession().write(out);
-		return this;
+		return out;
 	}
 
 	public PacketSender sendGlobalGraphic(Graphic graphic, Location position) {
@@ -987,6 +1017,53 @@ public class PacketSender {
 		return this;
 	}
 
+	/**
+	 * Clears every ground item and server-spawned object within a chunk on the
+	 * client, on the player's current height level.
+	 *
+	 * @param localX
+	 *            The x coordinate of the chunk's south-west tile, relative to the
+	 *            player's map region.
+	 * @param localY
+	 *            The y coordinate of the chunk's south-west tile, relative to the
+	 *            player's map region.
+	 * @return The PacketSender instance.
+	 */
+	public PacketSender sendChunkClear(int localX, int localY) {
+		PacketBuilder out = new PacketBuilder(64);
+		out.put(localX, ValueType.C);
+		out.put(localY, ValueType.S);
+		player.getSession().write(out);
+		return this;
+	}
+
+	/**
+	 * Creates every given ground item within a single chunk, with one packet.
+	 *
+	 * @param localX
+	 *            The x coordinate of the chunk's south-west tile, relative to the
+	 *            player's map region.
+	 * @param localY
+	 *            The y coordinate of the chunk's south-west tile, relative to the
+	 *            player's map region.
+	 * @param items
+	 *            The ground items, which must all be within the chunk.
+	 * @return The PacketSender instance.
+	 */
+	public PacketSender createGroundItems(int localX, int localY, List<ItemOnGround> items) {
+		PacketBuilder out = new PacketBuilder(60, PacketType.VARIABLE_SHORT);
+		out.put(localY);
+		out.put(localX, ValueType.C);
+		for (ItemOnGround item : items) {
+			out.put(44);
+			out.putShort(item.getItem().getId(), ValueType.A, ByteOrder.LITTLE);
+			out.putInt(item.getItem().getAmount());
+			out.put(((item.getLocation().getX() & 7) << 4) | (item.getLocation().getY() & 7));
+		}
+		player.getSession().write(out);
+		return this;
+	}
+
 	public PacketSender sendPosition(final Location position) {
 		final Location other = player.getLastKnownRegion();
 		PacketBuilder out = new PacketBuilder(85);
@@ -1020,6 +1097,18 @@ public class PacketSender {
 	public PacketSender sendProjectile(Location start, Location end, int offset, int speed, int projectileId,
 			int startHeight, int endHeight, Mobile lockon, int delay, int angle, int distanceOffset) {
 		sendPosition(start);
+		player.getSession().write(buildProjectile(start, end, offset, speed, projectileId, startHeight, endHeight,
+				lockon, delay, angle, distanceOffset));
+		return this;
+	}
+
+	/**
+	 * Encodes a projectile, so that it can be sent to several players. The
+	 * projectile's start position has to be sent to each of them first.
+	 */
+	public static PacketBuilder buildProjectile(Location start, Location end, int offset, int speed,
+			int projectileId, int startHeight, int endHeight, Mobile lockon, int delay, int angle,
+			int distanceOffset) {
 		PacketBuilder out = new PacketBuilder(117);
 		out.put(offset);
 		out.put((end.getX() - start.getX()));
@@ -1036,8 +1125,7 @@ public class PacketSender {
 		out.putShort(speed);
 		out.put(angle);
 		out.put(distanceOffset);
-		player.getSession().write(out);
-		return this;
+		return out;
 	}
 
 	/*
@@ -14,6 +14,8 @@ import com.elvarg.game.model.rights.PlayerRights;
 import com.elvarg.game.task.impl.WalkToTask;
 import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketExecutor;
+import com.elvarg.plugin.event.EventManager;
+import com.elvarg.plugin.event.impl.ItemPickupEvent;
 
 /**
  * This packet listener is used to pick up ground items that exist in the world.
@@ -89,6 +91,10 @@ public class PickupItemPacketListener implements PacketExecutor {
 			player.getInventory().add(item.get().getItem());
 			SoundManager.sendSound(player, Sound.PICK_UP_ITEM);
 			player.getLastItemPickup().reset();
+
+			if (EventManager.INSTANCE.hasListeners(ItemPickupEvent.class)) {
+				EventManager.INSTANCE.dispatch(new ItemPickupEvent(player, item.get().getItem(), position));
+			}
 		}
 	}
 }
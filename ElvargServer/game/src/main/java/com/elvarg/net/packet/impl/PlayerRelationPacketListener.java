@@ -5,7 +5,6 @@ import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketConstants;
 import com.elvarg.net.packet.PacketExecutor;
-import com.elvarg.util.Misc;
 
 import java.util.Optional;
 
@@ -44,7 +43,7 @@ public class PlayerRelationPacketListener implements PacketExecutor {
 			case PacketConstants.SEND_PM_OPCODE:
 			    int size = packet.getSize();
                 byte[] message = packet.readBytes(size);
-                Optional<Player> friend = World.getPlayerByName(Misc.formatText(Misc.longToString(username)).replaceAll("_", " "));
+                Optional<Player> friend = World.getPlayerByLongUsername(username);
                 if (friend.isPresent()) {
                     player.getRelations().message(friend.get(), message, size);
                 } else {
@@ -6,6 +6,7 @@ import com.elvarg.game.content.sound.SoundManager;
 import com.elvarg.game.entity.impl.grounditem.ItemOnGroundManager;
 import com.elvarg.game.entity.impl.npc.NpcAggression;
 import com.elvarg.game.entity.impl.object.ObjectManager;
+import com.elvarg.game.entity.impl.player.KnownChunks;
 import com.elvarg.game.entity.impl.player.Player;
 import com.elvarg.net.packet.Packet;
 import com.elvarg.net.packet.PacketExecutor;
@@ -16,13 +17,33 @@ public class RegionChangePacketListener implements PacketExecutor {
     public void execute(Player player, Packet packet) {
         if (player.isAllowRegionChangePacket()) {
             RegionManager.loadMapFiles(player.getLocation().getX(), player.getLocation().getY());
-            player.getPacketSender().deleteRegionalSpawns();
+            KnownChunks chunks = player.getKnownChunks();
+            if (chunks.update(player)) {
+                player.getPacketSender().deleteRegionalSpawns();
+            } else {
+                clearStaleChunks(player, chunks);
+            }
             SoundManager.onRegionChange(player);
             ItemOnGroundManager.onRegionChange(player);
             ObjectManager.onRegionChange(player);
+            chunks.commit();
             Barrows.brotherDespawn(player);
             player.getAggressionTolerance().start(NpcAggression.NPC_TOLERANCE_SECONDS);
             player.setAllowRegionChangePacket(false);
         }
     }
+
+    /**
+     * Clears the chunks which may still hold spawns the client missed updates
+     * for, before they are synced again.
+     */
+    private static void clearStaleChunks(Player player, KnownChunks chunks) {
+        for (int x = 0; x < KnownChunks.SIZE; x++) {
+            for (int y = 0; y < KnownChunks.SIZE; y++) {
+                if (chunks.isStale(x, y)) {
+                    player.getPacketSender().sendChunkClear(x * 8, y * 8);
+                }
+            }
+        }
+    }
 }
@@ -3,9 +3,17 @@ package com.elvarg.util;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Queue;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -17,6 +25,13 @@ import java.util.logging.Logger;
  * asynchronously in the background.
  * <p>
  * <p>
+ * Tasks declare the tasks they depend on, and are run on a pool of threads
+ * sized to the amount of cores as soon as all of their dependencies have
+ * completed. Tasks whose dependency failed are skipped. Once every task has
+ * completed, the time each task took is logged along with the critical path,
+ * the chain of dependencies which the load couldn't have finished before.
+ * <p>
+ * <p>
  * Please note that a single background loader instance can only be used once.
  * Once the background load finishes awaiting completion, the executor is
  * shutdown and therefore cannot be reused. Subsequent attempts to reuse
@@ -27,17 +42,29 @@ import java.util.logging.Logger;
  */
 public final class BackgroundLoader {
 
+    private static final Logger logger = Logger.getLogger(BackgroundLoader.class.getSimpleName());
+
     /**
-     * The executor that will execute the queue of tasks asynchronously in the
+     * The executor that will execute the tasks asynchronously in the
      * background.
      */
-    private final ExecutorService service = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(
-            "BackgroundLoaderThread").setDaemon(true).build());
+    private final ExecutorService service = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder().setNameFormat("BackgroundLoaderThread-%d").setDaemon(true).build());
+
+    /**
+     * The tasks that are being executed, in the order they were submitted.
+     */
+    private final List<Task> tasks = new ArrayList<>();
 
     /**
-     * The queue of tasks that will be executed by the executor.
+     * The completion of every task, by name.
      */
-    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+
+    /**
+     * The {@link System#nanoTime()} this background loader was started at.
+     */
+    private long start;
 
     /**
      * The flag that determines if this background loader has been shutdown.
@@ -45,23 +72,32 @@ public final class BackgroundLoader {
     private boolean shutdown;
 
     /**
-     * Starts this background loader by polling the queue of tasks into the
-     * executor.
+     * Starts this background loader by submitting every task to the executor
+     * once its dependencies have completed.
      * <p>
      * <p>
      * Please note that {@code awaitCompletion()} can be called after this in
      * order to block the underlying thread until the tasks are completed.
      *
      * @param backgroundTasks the collection of tasks to execute in the background.
-     * @throws IllegalStateException if this background loader has been shutdown.
+     *                        A task can only depend on tasks before it.
+     * @throws IllegalStateException if this background loader has been shutdown,
+     *                               or a task depends on an unknown task.
      */
-    public void init(Collection<Runnable> backgroundTasks) {
+    public void init(Collection<Task> backgroundTasks) {
         Preconditions.checkState(!shutdown && !service.isShutdown(), "This background loader has been shutdown!");
-        tasks.addAll(backgroundTasks);
-        Runnable t;
-        while ((t = tasks.poll()) != null)
-            service.execute(t);
-        service.shutdown();
+        start = System.nanoTime();
+        for (Task task : backgroundTasks) {
+            Preconditions.checkState(!futures.containsKey(task.name), "Duplicate background task " + task.name + "!");
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[task.dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                dependencies[i] = futures.get(task.dependencies[i]);
+                Preconditions.checkState(dependencies[i] != null, "Background task " + task.name
+                        + " depends on " + task.dependencies[i] + ", which isn't before it!");
+            }
+            futures.put(task.name, CompletableFuture.allOf(dependencies).thenRunAsync(task::execute, service));
+            tasks.add(task);
+        }
     }
 
     /**
@@ -74,19 +110,143 @@ public final class BackgroundLoader {
      * Please note that {@code start()} must be called before this in order to
      * submit the tasks to the executor.
      *
-     * @return {@code true} if the tasks complete and this loader is shutdown
+     * @return {@code true} if every task completes and this loader is shutdown
      * normally, {@code false} otherwise.
      * @throws IllegalStateException if this background loader has been shutdown.
      */
     public boolean awaitCompletion() {
         Preconditions.checkState(!shutdown, "This background loader has been shutdown!");
+        boolean completed = true;
         try {
-            service.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            for (Task task : tasks) {
+                try {
+                    futures.get(task.name).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                    if (task.failure == null) {
+                        logger.log(Level.SEVERE, "Background task " + task.name + " was skipped, as a dependency failed.");
+                    } else {
+                        logger.log(Level.SEVERE, "Background task " + task.name + " failed.", cause);
+                    }
+                    completed = false;
+                }
+            }
         } catch (InterruptedException e) {
-            Logger.getLogger(BackgroundLoader.class.getSimpleName()).log(Level.SEVERE, "The background service loader was interrupted.", e);
+            logger.log(Level.SEVERE, "The background service loader was interrupted.", e);
             return false;
+        } finally {
+            service.shutdown();
         }
         shutdown = true;
-        return true;
+        report(System.nanoTime() - start);
+        return completed;
+    }
+
+    /**
+     * Logs the time every task took and the critical path through them.
+     */
+    private void report(long elapsed) {
+        Map<String, Task> byName = new HashMap<>();
+        Map<String, Long> pathTimes = new HashMap<>();
+        Map<String, Task> pathPrevious = new HashMap<>();
+        long busy = 0;
+        for (Task task : tasks) {
+            byName.put(task.name, task);
+            busy += task.duration();
+            long longest = 0;
+            for (String dependency : task.dependencies) {
+                if (pathTimes.get(dependency) > longest) {
+                    longest = pathTimes.get(dependency);
+                    pathPrevious.put(task.name, byName.get(dependency));
+                }
+            }
+            pathTimes.put(task.name, longest + task.duration());
+        }
+
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingLong(Task::duration).reversed());
+        for (Task task : sorted) {
+            if (task.thread == null) {
+                continue;
+            }
+            logger.info(String.format("Background task %s took %dms on %s.", task.name,
+                    TimeUnit.NANOSECONDS.toMillis(task.duration()), task.thread));
+        }
+
+        Task last = tasks.stream().max(Comparator.comparingLong(t -> pathTimes.get(t.name))).orElse(null);
+        if (last == null) {
+            return;
+        }
+        LinkedList<String> path = new LinkedList<>();
+        for (Task task = last; task != null; task = pathPrevious.get(task.name)) {
+            path.addFirst(task.name + " (" + TimeUnit.NANOSECONDS.toMillis(task.duration()) + "ms)");
+        }
+        logger.info(String.format("Background load took %dms for %dms of work. Critical path of %dms: %s.",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(busy),
+                TimeUnit.NANOSECONDS.toMillis(pathTimes.get(last.name)), String.join(" -> ", path)));
+    }
+
+    /**
+     * A task executed by a {@link BackgroundLoader}.
+     */
+    public static final class Task {
+
+        private final String name;
+        private final Action action;
+        private final String[] dependencies;
+        private volatile long started;
+        private volatile long finished;
+        private volatile String thread;
+        private volatile Throwable failure;
+
+        /**
+         * Creates a new task.
+         *
+         * @param name         the name of the task, which other tasks depend on it by.
+         * @param action       the work the task does.
+         * @param dependencies the names of the tasks which have to complete first.
+         */
+        public Task(String name, Action action, String... dependencies) {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+
+        private void execute() {
+            thread = Thread.currentThread().getName();
+            started = System.nanoTime();
+            try {
+                action.run();
+            } catch (Throwable t) {
+                failure = t;
+                throw new CompletionException(t);
+            } finally {
+                finished = System.nanoTime();
+            }
+        }
+
+        /**
+         * @return the time this task took, in nanoseconds, or {@code 0} if it
+         * never ran.
+         */
+        private long duration() {
+            return finished - started;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getDependencies() {
+            return Arrays.asList(dependencies);
+        }
+    }
+
+    /**
+     * The work done by a {@link Task}.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Throwable;
     }
 }
@@ -170,21 +170,33 @@ public class Misc {
         return NumberFormat.getInstance().format(num);
     }
 
+    /**
+     * Capitalizes the first character of the text and every character which
+     * follows one that isn't a letter or digit, and replaces underscores with
+     * spaces. Text which is already formatted is returned as it is, without
+     * copying it.
+     *
+     * @param s the text to format.
+     * @return the formatted text.
+     */
     public static String formatText(String s) {
+        char[] chars = null;
         for (int i = 0; i < s.length(); i++) {
-            if (i == 0) {
-                s = String.format("%s%s", Character.toUpperCase(s.charAt(0)),
-                        s.substring(1));
+            char c = s.charAt(i);
+            char formatted = c;
+            if (c == '_') {
+                formatted = ' ';
+            } else if (i == 0 || !Character.isLetterOrDigit(s.charAt(i - 1))) {
+                formatted = Character.toUpperCase(c);
             }
-            if (!Character.isLetterOrDigit(s.charAt(i))) {
-                if (i + 1 < s.length()) {
-                    s = String.format("%s%s%s", s.subSequence(0, i + 1),
-                            Character.toUpperCase(s.charAt(i + 1)),
-                            s.substring(i + 2));
+            if (formatted != c) {
+                if (chars == null) {
+                    chars = s.toCharArray();
                 }
+                chars[i] = formatted;
             }
         }
-        return s.replace("_", " ");
+        return chars == null ? s : new String(chars);
     }
 
     public static String getTotalAmount(int j) {
@@ -1,9 +1,11 @@
 package com.elvarg.util;
 
+import com.elvarg.game.GameConstants;
 import com.elvarg.game.World;
 import com.elvarg.plugin.event.EventManager;
 import com.elvarg.plugin.event.impl.ServerStoppedEvent;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class ShutdownHook extends Thread {
@@ -18,6 +20,9 @@ public class ShutdownHook extends Thread {
         EventManager.INSTANCE.post(new ServerStoppedEvent());
         logger.info("The shutdown hook is processing all required actions...");
         World.savePlayers();
+        if (!World.getSaveService().flush(GameConstants.PLAYER_SAVE_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+            logger.severe(World.getSaveService().getPendingCount() + " player saves could not be written in time!");
+        }
         logger.info("The shudown hook actions have been completed, shutting the server down...");
     }
 }
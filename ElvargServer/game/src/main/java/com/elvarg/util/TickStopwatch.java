@@ -0,0 +1,74 @@
+package com.elvarg.util;
+
+import com.elvarg.game.GameConstants;
+import com.elvarg.game.World;
+
+/**
+ * A stopwatch which measures time in game ticks rather than wall-clock time,
+ * using {@link World#getTicks()}.
+ * <p>
+ * Game logic which is timed in ticks behaves the same regardless of how long
+ * a tick actually took, so it isn't affected by a tick overrunning and can be
+ * simulated faster than real time. Checking it is also cheaper than asking the
+ * system for the current time.
+ */
+public final class TickStopwatch {
+
+    /**
+     * The tick this stopwatch was last reset on. A stopwatch which was never
+     * reset has been running forever.
+     */
+    private long tick = Long.MIN_VALUE / 2;
+
+    /**
+     * Resets this stopwatch to the current tick.
+     *
+     * @return this stopwatch.
+     */
+    public TickStopwatch reset() {
+        tick = World.getTicks();
+        return this;
+    }
+
+    /**
+     * @return the amount of ticks which have passed since this stopwatch was
+     * last reset.
+     */
+    public long elapsed() {
+        return World.getTicks() - tick;
+    }
+
+    /**
+     * Checks if at least {@code ticks} ticks have passed since this stopwatch
+     * was last reset.
+     *
+     * @param ticks the amount of ticks.
+     * @return {@code true} if they have passed.
+     */
+    public boolean elapsed(int ticks) {
+        return elapsed() >= ticks;
+    }
+
+    /**
+     * Checks if at least {@code millis} milliseconds worth of ticks have passed
+     * since this stopwatch was last reset.
+     *
+     * @param millis the amount of milliseconds.
+     * @return {@code true} if they have passed.
+     */
+    public boolean elapsedMillis(long millis) {
+        return elapsed(toTicks(millis));
+    }
+
+    /**
+     * Converts a duration in milliseconds to the amount of ticks it takes for
+     * it to have passed.
+     *
+     * @param millis the duration, in milliseconds.
+     * @return the amount of ticks, rounded up.
+     */
+    public static int toTicks(long millis) {
+        int rate = GameConstants.GAME_ENGINE_PROCESSING_CYCLE_RATE;
+        return (int) ((millis + rate - 1) / rate);
+    }
+}
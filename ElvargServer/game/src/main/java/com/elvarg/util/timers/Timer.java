@@ -33,4 +33,9 @@ public class Timer {
 			ticks--;
 	}
 
+	public void tick(int amount) {
+		uncappedTicks -= amount;
+		ticks = Math.max(0, ticks - amount);
+	}
+
 }
@@ -89,6 +89,17 @@ public class TimerRepository {
 		}
 	}
 
+	/**
+	 * Processes the given amount of ticks at once.
+	 *
+	 * @param ticks
+	 */
+	public void process(int ticks) {
+		for (Timer timer : timers.values()) {
+			timer.tick(ticks);
+		}
+	}
+
 	public Map<TimerKey, Timer> timers() {
 		return timers;
 	}
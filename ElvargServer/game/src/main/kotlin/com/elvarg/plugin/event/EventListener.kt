@@ -11,6 +11,8 @@ class EventListener<E : Event>(val type: KClass<E>) {
 
     var otherwiseAction: E.() -> Unit = { }
 
+    var syncAction: (E.() -> Unit)? = null
+
     fun where(condition: E.() -> Boolean): EventListener<E> {
         this.condition = condition
         return this
@@ -21,12 +23,26 @@ class EventListener<E : Event>(val type: KClass<E>) {
         return this
     }
 
+    /**
+     * Handle the event on the thread that dispatches it instead of on a coroutine, for events which are dispatched
+     * every tick
+     */
+    fun thenSync(plugin: E.() -> Unit): EventListener<E> {
+        this.syncAction = plugin
+        return this
+    }
+
     fun otherwise(plugin: E.() -> Unit): EventListener<E> {
         this.otherwiseAction = plugin
         return this
     }
 
     fun submit() : EventListener<E> {
+        if (syncAction != null) {
+            EventManager.listenSync(type.java, this)
+            return this
+        }
+
         val oldAction = action
 
         action = {
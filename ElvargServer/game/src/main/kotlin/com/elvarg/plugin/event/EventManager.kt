@@ -2,6 +2,7 @@
 
 package com.elvarg.plugin.event
 
+import com.elvarg.game.profiling.TickProfiler
 import com.elvarg.plugin.event.EventListener
 import kotlinx.coroutines.*
 import kotlinx.coroutines.channels.Channel
@@ -27,6 +28,17 @@ object EventManager {
      */
     private val listeners = ConcurrentHashMap<Class<out Event>, List<EventListener<out Event>>>()
 
+    /**
+     * Listeners which are called on the thread that dispatches their event, by event class. The arrays are replaced
+     * rather than modified, so dispatching never has to copy or lock them
+     */
+    private val syncListeners = ConcurrentHashMap<Class<out Event>, Array<EventListener<Event>>>()
+
+    /**
+     * Copies of [eventFilter] for events which are dispatched synchronously
+     */
+    private val syncFilters = ConcurrentHashMap<Class<out Event>, Array<Predicate<Event>>>()
+
     /**
      * Coroutine context for processing events
      */
@@ -49,6 +61,55 @@ object EventManager {
 
     }
 
+    /**
+     * Dispatch an [Event] to the [EventListener]s that handle it synchronously, on the calling thread, without
+     * allocating anything. Meant for gameplay events which happen every tick, such as hits, so it's usually called on
+     * the game thread, or on a partition thread while players are processed in parallel. Any listeners that handle
+     * the event on a coroutine are still posted to
+     */
+    fun <E : Event> dispatch(event: E) {
+        val clazz = event.javaClass
+        val sync = syncListeners[clazz]
+        if (sync != null && passes(syncFilters[clazz], event)) {
+            val start = if (TickProfiler.isEnabled()) System.nanoTime() else 0L
+            for (listener in sync) {
+                try {
+                    if (listener.condition(event)) {
+                        listener.syncAction!!(event)
+                    } else {
+                        listener.otherwiseAction(event)
+                    }
+                } catch (ex: Exception) {
+                    ex.printStackTrace()
+                }
+            }
+            if (start != 0L) {
+                TickProfiler.recordEvent(clazz, System.nanoTime() - start)
+            }
+        }
+        if (listeners.containsKey(clazz)) {
+            post(event)
+        }
+    }
+
+    /**
+     * Check if anything listens for an event, so events which nobody handles don't have to be created
+     */
+    fun hasListeners(clazz: Class<out Event>): Boolean {
+        return syncListeners.containsKey(clazz) || listeners.containsKey(clazz)
+    }
+
+    private fun passes(filters: Array<Predicate<Event>>?, event: Event): Boolean {
+        if (filters != null) {
+            for (filter in filters) {
+                if (!filter.test(event)) {
+                    return false
+                }
+            }
+        }
+        return true
+    }
+
     /**
      * Post an [Event] to all subscribed [EventListener]s and waits for all subscribers to complete
      */
@@ -102,8 +163,20 @@ object EventManager {
     /**
      * Post an [Event] to all subscribed [EventListener]s
      */
+    @Synchronized
     fun <E : Event> addFilter(clazz: Class<E>, filter: Predicate<E>) {
-        getFilters<E>(clazz).addLast(filter)
+        val filters = getFilters<E>(clazz)
+        filters.addLast(filter)
+        syncFilters[clazz] = (filters as List<Predicate<Event>>).toTypedArray()
+    }
+
+    /**
+     * Listen for events which are dispatched with [dispatch], calling the listener on the dispatching thread
+     */
+    @Synchronized
+    fun <E : Event> listenSync(event: Class<E>, listener: EventListener<E>) {
+        val current = syncListeners[event] ?: emptyArray()
+        syncListeners[event] = current + listener as EventListener<Event>
     }
 
     /**
@@ -0,0 +1,10 @@
+package com.elvarg.plugin.event.impl
+
+import com.elvarg.game.content.combat.hit.PendingHit
+import com.elvarg.plugin.event.Event
+
+/*
+ * Dispatched when a hit lands on its target, once its damage has been queued
+ */
+
+class HitEvent(val hit : PendingHit) : Event
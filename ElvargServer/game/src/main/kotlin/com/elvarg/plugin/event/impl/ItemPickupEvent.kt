@@ -0,0 +1,12 @@
+package com.elvarg.plugin.event.impl
+
+import com.elvarg.game.entity.impl.player.Player
+import com.elvarg.game.model.Item
+import com.elvarg.game.model.Location
+import com.elvarg.plugin.event.Event
+
+/*
+ * Dispatched when a player picks up an item from the ground
+ */
+
+class ItemPickupEvent(val player : Player, val item : Item, val location : Location) : Event
@@ -0,0 +1,11 @@
+package com.elvarg.plugin.event.impl
+
+import com.elvarg.game.entity.impl.Mobile
+import com.elvarg.game.entity.impl.player.Player
+import com.elvarg.plugin.event.Event
+
+/*
+ * Dispatched when a player kills an npc or another player
+ */
+
+class KillEvent(val killer : Player, val victim : Mobile) : Event
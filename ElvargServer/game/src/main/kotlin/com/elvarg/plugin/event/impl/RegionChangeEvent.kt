@@ -0,0 +1,11 @@
+package com.elvarg.plugin.event.impl
+
+import com.elvarg.game.entity.impl.player.Player
+import com.elvarg.plugin.event.Event
+
+/*
+ * Dispatched when a player's map region is rebuilt, either because they moved
+ * far enough or because they changed height
+ */
+
+class RegionChangeEvent(val player : Player) : Event